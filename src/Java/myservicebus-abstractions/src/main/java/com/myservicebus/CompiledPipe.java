@@ -0,0 +1,50 @@
+package com.myservicebus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs a fixed array of filters, handing each filter a pre-built continuation
+ * for the rest of the pipe.
+ *
+ * <p>
+ * {@link SyncFilter} stages run inline in a loop, so a run of synchronous
+ * filters costs no futures. A filter that throws instead of returning a failed
+ * future faults the pipe the same way.
+ * </p>
+ */
+final class CompiledPipe<TContext extends PipeContext> implements Pipe<TContext> {
+    private final Filter<TContext>[] filters;
+    private final Pipe<TContext>[] continuations;
+
+    @SuppressWarnings("unchecked")
+    CompiledPipe(List<? extends Filter<TContext>> filters) {
+        this.filters = filters.toArray(new Filter[0]);
+        this.continuations = new Pipe[this.filters.length];
+        for (int i = 0; i < this.filters.length; i++) {
+            int next = i + 1;
+            continuations[i] = context -> run(context, next);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> send(TContext context) {
+        return run(context, 0);
+    }
+
+    private CompletableFuture<Void> run(TContext context, int index) {
+        try {
+            for (int i = index; i < filters.length; i++) {
+                Filter<TContext> filter = filters[i];
+                if (filter instanceof SyncFilter<TContext> sync) {
+                    sync.process(context);
+                } else {
+                    return filter.send(context, continuations[i]);
+                }
+            }
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return Pipes.completed();
+    }
+}
@@ -40,6 +40,8 @@ public class ConsumeContext<T>
     private final UUID correlationId;
     private final UUID conversationId;
     private final UUID initiatorId;
+    private final TransportMessage transportMessage;
+    private volatile int retryAttempt;
 
     public ConsumeContext(T message, Map<String, Object> headers, SendEndpointProvider provider) {
         this(message, headers, null, null, null, CancellationToken.none(), provider, URI.create("loopback://localhost/"));
@@ -83,6 +85,14 @@ public class ConsumeContext<T>
             String errorAddress, CancellationToken cancellationToken, SendEndpointProvider provider, URI busAddress,
             PublishAddressProvider publishAddressProvider, UUID requestId, UUID correlationId, UUID conversationId,
             UUID initiatorId) {
+        this(message, headers, responseAddress, faultAddress, errorAddress, cancellationToken, provider, busAddress,
+                publishAddressProvider, requestId, correlationId, conversationId, initiatorId, null);
+    }
+
+    public ConsumeContext(T message, Map<String, Object> headers, String responseAddress, String faultAddress,
+            String errorAddress, CancellationToken cancellationToken, SendEndpointProvider provider, URI busAddress,
+            PublishAddressProvider publishAddressProvider, UUID requestId, UUID correlationId, UUID conversationId,
+            UUID initiatorId, TransportMessage transportMessage) {
         this.message = message;
         this.headers = headers;
         this.responseAddress = responseAddress;
@@ -96,6 +106,7 @@ public class ConsumeContext<T>
         this.correlationId = correlationId;
         this.conversationId = conversationId;
         this.initiatorId = initiatorId;
+        this.transportMessage = transportMessage;
     }
 
     public T getMessage() {
@@ -106,6 +117,42 @@ public class ConsumeContext<T>
         return headers;
     }
 
+    /**
+     * Returns the message exactly as it was received, or {@code null} when the
+     * message did not come from a transport.
+     */
+    public TransportMessage getTransportMessage() {
+        return transportMessage;
+    }
+
+    /**
+     * Returns the number of in-process retries made so far for this delivery;
+     * zero on the first attempt.
+     */
+    public int getRetryAttempt() {
+        return retryAttempt;
+    }
+
+    /**
+     * Records a retry and mirrors it into the {@link MessageHeaders#RETRY_ATTEMPT}
+     * header when the header map is mutable.
+     */
+    void setRetryAttempt(int retryAttempt) {
+        this.retryAttempt = retryAttempt;
+        if (headers == null) {
+            return;
+        }
+        try {
+            headers.put(MessageHeaders.RETRY_ATTEMPT, retryAttempt);
+        } catch (UnsupportedOperationException ignored) {
+            // Read-only header maps still expose the attempt through getRetryAttempt().
+        }
+    }
+
+    public String getResponseAddress() {
+        return responseAddress;
+    }
+
     public String getFaultAddress() {
         return faultAddress;
     }
@@ -295,8 +342,18 @@ public class ConsumeContext<T>
     }
 
 
+    /**
+     * Forwards {@code message} to {@code destination}. Forwarding the received
+     * message republishes its original bytes and transport headers unchanged.
+     */
     public <TMessage> CompletableFuture<Void> forward(String destination, TMessage message, CancellationToken cancellationToken) {
         SendEndpoint endpoint = getSendEndpoint(destination);
+        if (transportMessage != null && message == this.message) {
+            return endpoint.send(message, ctx -> {
+                ctx.setOriginalMessage(transportMessage);
+                ctx.getHeaders().putAll(transportMessage.getHeaders());
+            }, cancellationToken);
+        }
         return endpoint.send(message, ctx -> ctx.getHeaders().putAll(headers), cancellationToken);
     }
 
@@ -3,7 +3,7 @@ package com.myservicebus;
 import java.lang.reflect.Proxy;
 
 public final class EntityNameFormatter {
-    private static MessageEntityNameFormatter formatter = new DefaultMessageEntityNameFormatter();
+    private static volatile MessageEntityNameFormatter formatter = new DefaultMessageEntityNameFormatter();
 
     private EntityNameFormatter() { }
 
@@ -13,13 +13,11 @@ public final class EntityNameFormatter {
 
     public static void setFormatter(MessageEntityNameFormatter f) {
         formatter = f;
+        MessageTypeMetadata.invalidate();
     }
 
     public static String format(Class<?> messageType) {
-        EntityName attr = messageType.getAnnotation(EntityName.class);
-        if (attr != null)
-            return attr.value();
-        return formatter.formatEntityName(messageType);
+        return MessageTypeMetadata.of(messageType).getEntityName();
     }
 
     static class DefaultMessageEntityNameFormatter implements MessageEntityNameFormatter {
@@ -1,10 +1,50 @@
 package com.myservicebus;
 
+/**
+ * Provides the {@link HostInfo} describing the current process.
+ *
+ * <p>
+ * The host lookup and runtime queries are performed once and the result is
+ * shared for the lifetime of the process. The shared instance is read-only;
+ * call {@link #refresh()} if the host details need to be recomputed, for
+ * example after the machine name changed.
+ * </p>
+ */
 public final class HostInfoProvider {
+    private static volatile HostInfo current;
+
     private HostInfoProvider() {
     }
 
+    /**
+     * Returns the shared host information, computing it on first use.
+     */
     public static HostInfo capture() {
+        HostInfo host = current;
+        if (host == null) {
+            synchronized (HostInfoProvider.class) {
+                host = current;
+                if (host == null) {
+                    host = compute();
+                    current = host;
+                }
+            }
+        }
+        return host;
+    }
+
+    /**
+     * Recomputes the shared host information and returns the new instance.
+     */
+    public static HostInfo refresh() {
+        HostInfo host = compute();
+        synchronized (HostInfoProvider.class) {
+            current = host;
+        }
+        return host;
+    }
+
+    private static HostInfo compute() {
         String machine;
         try {
             machine = java.net.InetAddress.getLocalHost().getHostName();
@@ -30,6 +70,64 @@ public final class HostInfoProvider {
 
         String os = System.getProperty("os.name") + " " + System.getProperty("os.version");
 
-        return new HostInfo(machine, processName, pid, command, assemblyVersion, framework, massTransitVersion, os);
+        return new SharedHostInfo(machine, processName, pid, command, assemblyVersion, framework, massTransitVersion,
+                os);
+    }
+
+    /**
+     * The process-wide {@link HostInfo}; rejects modification since every
+     * message shares it.
+     */
+    private static final class SharedHostInfo extends HostInfo {
+        SharedHostInfo(String machineName, String processName, int processId, String assembly,
+                String assemblyVersion, String frameworkVersion, String massTransitVersion,
+                String operatingSystemVersion) {
+            super(machineName, processName, processId, assembly, assemblyVersion, frameworkVersion,
+                    massTransitVersion, operatingSystemVersion);
+        }
+
+        @Override
+        public void setMachineName(String machineName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setProcessName(String processName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setProcessId(int processId) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setAssembly(String assembly) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setAssemblyVersion(String assemblyVersion) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setFrameworkVersion(String frameworkVersion) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setMassTransitVersion(String massTransitVersion) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setOperatingSystemVersion(String operatingSystemVersion) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("The shared host info is read-only");
+        }
     }
 }
@@ -10,6 +10,11 @@ public final class MessageHeaders {
     public static final String EXCEPTION_STACKTRACE = "MT-ExceptionStackTrace";
     public static final String REASON = "MT-Reason";
     public static final String REDELIVERY_COUNT = "MT-RedeliveryCount";
+    /** The delay before the last redelivery, in milliseconds. */
+    public static final String REDELIVERY_DELAY = "MT-Redelivery-Delay";
+    /** When the first delivery of a redelivered message failed, as an ISO-8601 instant. */
+    public static final String REDELIVERY_FIRST_FAULT_TIME = "MT-Redelivery-FirstFaultTime";
+    public static final String RETRY_ATTEMPT = "MT-Retry-Attempt";
 
     public static final String HOST_MACHINE = "MT-Host-MachineName";
     public static final String HOST_PROCESS = "MT-Host-ProcessName";
@@ -0,0 +1,123 @@
+package com.myservicebus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Per-class message naming data: the message URN, its fault URN, the URNs of
+ * every type the message implements, and its entity name.
+ *
+ * <p>
+ * Metadata is computed once per class and cached in a {@link ClassValue}, so
+ * sending a message does not repeat reflection or string formatting. Proxies
+ * created by {@link MessageProxy} are described by the interface they
+ * implement. The cache is discarded when the entity name formatter changes.
+ * </p>
+ */
+public final class MessageTypeMetadata {
+    private static volatile ClassValue<MessageTypeMetadata> cache = newCache();
+
+    private final Class<?> messageType;
+    private final String urn;
+    private final String faultUrn;
+    private final List<String> messageTypeUrns;
+    private volatile String entityName;
+
+    private MessageTypeMetadata(Class<?> messageType) {
+        this.messageType = messageType;
+        this.urn = "urn:message:TestApp:" + messageType.getSimpleName();
+        this.faultUrn = "urn:message:MassTransit:Fault[[TestApp:" + messageType.getSimpleName() + "]]";
+        this.messageTypeUrns = implementedTypes(messageType).stream()
+                .map(type -> type == messageType ? urn : of(type).getUrn())
+                .toList();
+    }
+
+    public static MessageTypeMetadata of(Class<?> type) {
+        return cache.get(type);
+    }
+
+    /**
+     * Discards all cached metadata. Called when the entity name formatter changes.
+     */
+    static void invalidate() {
+        cache = newCache();
+    }
+
+    /**
+     * The message type, with proxy classes replaced by their interface.
+     */
+    public Class<?> getMessageType() {
+        return messageType;
+    }
+
+    public String getUrn() {
+        return urn;
+    }
+
+    public String getFaultUrn() {
+        return faultUrn;
+    }
+
+    /**
+     * URNs of the message type, its base classes and its interfaces, in the
+     * order they are written to the envelope.
+     */
+    public List<String> getMessageTypeUrns() {
+        return messageTypeUrns;
+    }
+
+    public String getEntityName() {
+        String name = entityName;
+        if (name == null) {
+            EntityName attr = messageType.getAnnotation(EntityName.class);
+            name = attr != null ? attr.value() : EntityNameFormatter.getFormatter().formatEntityName(messageType);
+            entityName = name;
+        }
+        return name;
+    }
+
+    private static ClassValue<MessageTypeMetadata> newCache() {
+        return new ClassValue<>() {
+            @Override
+            protected MessageTypeMetadata computeValue(Class<?> type) {
+                Class<?> unwrapped = unwrap(type);
+                return unwrapped == type ? new MessageTypeMetadata(type) : of(unwrapped);
+            }
+        };
+    }
+
+    private static Class<?> unwrap(Class<?> type) {
+        if (Proxy.isProxyClass(type) && type.getInterfaces().length > 0) {
+            return type.getInterfaces()[0];
+        }
+        return type;
+    }
+
+    private static LinkedHashSet<Class<?>> implementedTypes(Class<?> messageType) {
+        LinkedHashSet<Class<?>> types = new LinkedHashSet<>();
+        types.add(messageType);
+        for (Class<?> baseType = messageType.getSuperclass(); baseType != null && baseType != Object.class;
+                baseType = baseType.getSuperclass()) {
+            types.add(baseType);
+        }
+        LinkedHashSet<Class<?>> discoveredInterfaces = new LinkedHashSet<>();
+        for (Class<?> type = messageType; type != null && type != Object.class; type = type.getSuperclass()) {
+            collectInterfaces(type, discoveredInterfaces);
+        }
+        List<Class<?>> interfaces = new ArrayList<>(discoveredInterfaces);
+        interfaces.sort(Comparator.comparing(Class::getName));
+        types.addAll(interfaces);
+        return types;
+    }
+
+    private static void collectInterfaces(Class<?> type, LinkedHashSet<Class<?>> interfaces) {
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            if (interfaces.add(interfaceType)) {
+                collectInterfaces(interfaceType, interfaces);
+            }
+        }
+    }
+}
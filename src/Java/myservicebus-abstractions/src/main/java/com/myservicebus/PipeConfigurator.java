@@ -69,26 +69,25 @@ public class PipeConfigurator<TContext extends PipeContext> {
     }
 
     public void useRetry(int retryCount, Duration delay) {
-        if (retryCount < 0) {
-            throw new IllegalArgumentException("retryCount");
+        useRetry(RetryPolicy.interval(retryCount, delay));
+    }
+
+    public void useRetry(RetryPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy");
         }
-        Map<String, String> configuration = delay == null
-                ? Map.of("retryCount", Integer.toString(retryCount))
-                : Map.of(
-                        "retryCount", Integer.toString(retryCount),
-                        "delayMilliseconds", Long.toString(delay.toMillis()));
         addFilter(
-                sp -> new RetryFilter<>(retryCount, delay),
+                sp -> new RetryFilter<>(policy),
                 "retry",
                 RetryFilter.class,
                 FilterLifetime.PIPE,
-                configuration);
+                policy.describe());
     }
 
     public void useMessageRetry(java.util.function.Consumer<RetryConfigurator> configure) {
         RetryConfigurator rc = new RetryConfigurator();
         configure.accept(rc);
-        useRetry(rc.getRetryCount(), rc.getDelay());
+        useRetry(rc.getPolicy());
     }
 
     public Pipe<TContext> build() {
@@ -96,13 +95,11 @@ public class PipeConfigurator<TContext extends PipeContext> {
     }
 
     public Pipe<TContext> build(ServiceProvider provider) {
-        Pipe<TContext> next = Pipes.empty();
-        for (int i = filters.size() - 1; i >= 0; i--) {
-            Filter<TContext> filter = filters.get(i).factory().apply(provider);
-            Pipe<TContext> current = next;
-            next = ctx -> filter.send(ctx, current);
+        List<Filter<TContext>> instances = new ArrayList<>(filters.size());
+        for (FilterRegistration<TContext> registration : filters) {
+            instances.add(registration.factory().apply(provider));
         }
-        return next;
+        return new CompiledPipe<>(instances);
     }
 
     public PipelineDescriptor getDescriptor() {
@@ -140,7 +137,11 @@ public class PipeConfigurator<TContext extends PipeContext> {
 
         @Override
         public CompletableFuture<Void> send(TContext context, Pipe<TContext> next) {
-            return callback.apply(context).thenCompose(v -> next.send(context));
+            CompletableFuture<Void> result = callback.apply(context);
+            if (Pipes.isCompletedSuccessfully(result)) {
+                return next.send(context);
+            }
+            return result.thenCompose(v -> next.send(context));
         }
     }
 }
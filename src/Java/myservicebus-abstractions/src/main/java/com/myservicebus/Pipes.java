@@ -7,6 +7,8 @@ import java.util.function.Function;
  * Utility methods for creating simple pipes.
  */
 public final class Pipes {
+    private static final CompletableFuture<Void> COMPLETED = CompletableFuture.completedFuture(null);
+
     private Pipes() {
     }
 
@@ -14,7 +16,22 @@ public final class Pipes {
      * Returns a pipe that does nothing.
      */
     public static <TContext extends PipeContext> Pipe<TContext> empty() {
-        return ctx -> CompletableFuture.completedFuture(null);
+        return ctx -> COMPLETED;
+    }
+
+    /**
+     * Returns a shared, already completed future.
+     */
+    public static CompletableFuture<Void> completed() {
+        return COMPLETED;
+    }
+
+    /**
+     * Returns {@code true} when the future has already completed without an
+     * exception, so callers can continue inline instead of chaining a stage.
+     */
+    public static boolean isCompletedSuccessfully(CompletableFuture<?> future) {
+        return future.isDone() && !future.isCompletedExceptionally();
     }
 
     /**
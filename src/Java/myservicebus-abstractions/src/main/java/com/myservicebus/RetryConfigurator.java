@@ -5,15 +5,68 @@ import java.time.Duration;
 public class RetryConfigurator {
     private int retryCount;
     private Duration delay;
+    private RetryPolicy policy = RetryPolicy.none();
+    private Duration maxElapsedTime;
+    private Class<? extends Throwable>[] handled;
+    private Class<? extends Throwable>[] ignored;
 
     public void immediate(int retryCount) {
         this.retryCount = retryCount;
         this.delay = null;
+        this.policy = RetryPolicy.immediate(retryCount);
     }
 
     public void interval(int retryCount, Duration delay) {
         this.retryCount = retryCount;
         this.delay = delay;
+        this.policy = RetryPolicy.interval(retryCount, delay);
+    }
+
+    public void intervals(Duration... intervals) {
+        this.policy = RetryPolicy.intervals(intervals);
+        this.retryCount = policy.getRetryLimit();
+        this.delay = intervals.length > 0 ? intervals[0] : null;
+    }
+
+    public void incremental(int retryCount, Duration initialInterval, Duration intervalIncrement) {
+        this.retryCount = retryCount;
+        this.delay = initialInterval;
+        this.policy = RetryPolicy.incremental(retryCount, initialInterval, intervalIncrement);
+    }
+
+    public void exponential(int retryCount, Duration minInterval, Duration maxInterval, Duration intervalDelta) {
+        this.retryCount = retryCount;
+        this.delay = minInterval;
+        this.policy = RetryPolicy.exponential(retryCount, minInterval, maxInterval, intervalDelta);
+    }
+
+    public void decorrelatedJitter(int retryCount, Duration baseDelay, Duration maxDelay) {
+        this.retryCount = retryCount;
+        this.delay = baseDelay;
+        this.policy = RetryPolicy.decorrelatedJitter(retryCount, baseDelay, maxDelay);
+    }
+
+    /**
+     * Stops retrying once this much time has passed since the first failure.
+     */
+    public void maxElapsedTime(Duration maxElapsedTime) {
+        this.maxElapsedTime = maxElapsedTime;
+    }
+
+    /**
+     * Retries only the given exception types; anything else fails immediately.
+     */
+    @SafeVarargs
+    public final void handle(Class<? extends Throwable>... exceptionTypes) {
+        this.handled = exceptionTypes;
+    }
+
+    /**
+     * Never retries the given exception types.
+     */
+    @SafeVarargs
+    public final void ignore(Class<? extends Throwable>... exceptionTypes) {
+        this.ignored = exceptionTypes;
     }
 
     public int getRetryCount() {
@@ -23,4 +76,22 @@ public class RetryConfigurator {
     public Duration getDelay() {
         return delay;
     }
+
+    /**
+     * Returns the configured policy, including the elapsed-time limit and
+     * exception filters.
+     */
+    public RetryPolicy getPolicy() {
+        RetryPolicy result = policy;
+        if (maxElapsedTime != null) {
+            result = result.withMaxElapsedTime(maxElapsedTime);
+        }
+        if (handled != null) {
+            result = result.handle(handled);
+        }
+        if (ignored != null) {
+            result = result.ignore(ignored);
+        }
+        return result;
+    }
 }
@@ -3,78 +3,99 @@ package com.myservicebus;
 import java.time.Duration;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
-import com.myservicebus.tasks.CancellationRegistration;
+import com.myservicebus.tasks.TimerService;
 
 /**
- * Filter that retries the next stage on failure.
+ * Filter that retries the next stage on failure according to a
+ * {@link RetryPolicy}.
+ *
+ * <p>
+ * When the context is a {@link ConsumeContext} each retry is recorded on it and
+ * in its {@link MessageHeaders#RETRY_ATTEMPT} header.
+ * </p>
  */
 public class RetryFilter<TContext extends PipeContext> implements Filter<TContext> {
-    private final int retryCount;
-    private final Duration delay;
+    private final RetryPolicy policy;
 
     public RetryFilter(int retryCount, Duration delay) {
-        if (retryCount < 0)
-            throw new IllegalArgumentException("retryCount");
-        this.retryCount = retryCount;
-        this.delay = delay;
+        this(RetryPolicy.interval(retryCount, delay));
+    }
+
+    public RetryFilter(RetryPolicy policy) {
+        if (policy == null)
+            throw new IllegalArgumentException("policy");
+        this.policy = policy;
     }
 
     @Override
     public CompletableFuture<Void> send(TContext context, Pipe<TContext> next) {
+        if (context.getCancellationToken().isCancelled()) {
+            return CompletableFuture.failedFuture(new CancellationException());
+        }
+
+        CompletableFuture<Void> first = next.send(context);
+        if (Pipes.isCompletedSuccessfully(first)) {
+            return first;
+        }
         CompletableFuture<Void> promise = new CompletableFuture<>();
-        attempt(context, next, retryCount, promise);
+        handle(first, context, next, new Attempts(), promise);
         return promise;
     }
 
-    private void attempt(TContext context, Pipe<TContext> next, int remaining, CompletableFuture<Void> promise) {
+    private void attempt(TContext context, Pipe<TContext> next, Attempts attempts, CompletableFuture<Void> promise) {
         if (context.getCancellationToken().isCancelled()) {
             promise.completeExceptionally(new CancellationException());
             return;
         }
 
-        next.send(context).whenComplete((v, ex) -> {
+        if (context instanceof ConsumeContext<?> consumeContext) {
+            consumeContext.setRetryAttempt(attempts.retries);
+        }
+        handle(next.send(context), context, next, attempts, promise);
+    }
+
+    private void handle(CompletableFuture<Void> result, TContext context, Pipe<TContext> next, Attempts attempts,
+            CompletableFuture<Void> promise) {
+        result.whenComplete((v, ex) -> {
             if (ex == null) {
                 promise.complete(null);
-            } else if (remaining > 0) {
-                Runnable retry = () -> attempt(context, next, remaining - 1, promise);
-                if (delay != null && !delay.isZero()) {
-                    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-                    AtomicReference<CancellationRegistration> registrationReference = new AtomicReference<>();
-                    ScheduledFuture<?> scheduled = scheduler.schedule(() -> {
-                        try {
-                            CancellationRegistration registration = registrationReference.getAndSet(null);
-                            if (registration != null) {
-                                registration.close();
-                            }
-                            retry.run();
-                        } finally {
-                            scheduler.shutdown();
-                        }
-                    }, Math.max(1, delay.toMillis()), TimeUnit.MILLISECONDS);
-                    CancellationRegistration registration = context.getCancellationToken().onCancel(() -> {
-                        scheduled.cancel(false);
-                        promise.completeExceptionally(new CancellationException());
-                        scheduler.shutdown();
-                    });
-                    registrationReference.set(registration);
-                    if (scheduled.isDone()) {
-                        CancellationRegistration completedRegistration = registrationReference.getAndSet(null);
-                        if (completedRegistration != null) {
-                            completedRegistration.close();
-                        }
-                    }
-                } else {
-                    retry.run();
-                }
-            } else {
+                return;
+            }
+            long now = System.nanoTime();
+            if (attempts.retries == 0) {
+                attempts.firstFailure = now;
+            }
+            Duration elapsed = Duration.ofNanos(now - attempts.firstFailure);
+            Duration delay = policy.nextDelay(attempts.retries + 1, attempts.previousDelay, ex, elapsed);
+            if (delay == null) {
                 promise.completeExceptionally(ex);
+                return;
+            }
+            attempts.retries++;
+            attempts.previousDelay = delay;
+            if (delay.isZero()) {
+                attempt(context, next, attempts, promise);
+                return;
             }
+            TimerService.shared().delay(delay, context.getCancellationToken())
+                    .whenComplete((ignored, failure) -> {
+                        if (failure != null) {
+                            promise.completeExceptionally(failure);
+                        } else {
+                            attempt(context, next, attempts, promise);
+                        }
+                    });
         });
     }
+
+    /**
+     * Retry state for one message. Attempts never overlap, so plain fields
+     * suffice: each write happens before the next attempt is started.
+     */
+    private static final class Attempts {
+        long firstFailure;
+        int retries;
+        Duration previousDelay;
+    }
 }
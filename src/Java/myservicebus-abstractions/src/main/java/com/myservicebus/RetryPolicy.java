@@ -0,0 +1,285 @@
+package com.myservicebus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a failed attempt is retried and how long to wait first.
+ *
+ * <p>
+ * A policy combines a retry limit, an interval strategy (immediate, fixed,
+ * interval list, incremental, exponential or decorrelated jitter), an optional
+ * limit on the total time spent retrying, and exception filters. When
+ * {@link #handle} types are configured only those exceptions are retried;
+ * {@link #ignore} types are never retried. Policies are immutable.
+ * </p>
+ */
+public final class RetryPolicy {
+    private static final RetryPolicy NONE = new RetryPolicy(0, (attempt, previous) -> Duration.ZERO,
+            Map.of("retryCount", "0"), null, List.of(), List.of());
+
+    private final int retryLimit;
+    private final IntervalStrategy intervals;
+    private final Map<String, String> configuration;
+    private final Duration maxElapsedTime;
+    private final List<Class<? extends Throwable>> handled;
+    private final List<Class<? extends Throwable>> ignored;
+
+    private RetryPolicy(int retryLimit, IntervalStrategy intervals, Map<String, String> configuration,
+            Duration maxElapsedTime, List<Class<? extends Throwable>> handled,
+            List<Class<? extends Throwable>> ignored) {
+        if (retryLimit < 0) {
+            throw new IllegalArgumentException("retryCount");
+        }
+        this.retryLimit = retryLimit;
+        this.intervals = intervals;
+        this.configuration = configuration;
+        this.maxElapsedTime = maxElapsedTime;
+        this.handled = List.copyOf(handled);
+        this.ignored = List.copyOf(ignored);
+    }
+
+    /**
+     * Computes the delay before a retry attempt.
+     */
+    @FunctionalInterface
+    public interface IntervalStrategy {
+        /**
+         * @param retryAttempt the retry about to be made, starting at 1
+         * @param previousDelay the delay used before the previous retry, or
+         *                      {@code null} for the first retry
+         */
+        Duration next(int retryAttempt, Duration previousDelay);
+    }
+
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    public static RetryPolicy immediate(int retryLimit) {
+        return new RetryPolicy(retryLimit, (attempt, previous) -> Duration.ZERO,
+                Map.of("retryCount", Integer.toString(retryLimit)), null, List.of(), List.of());
+    }
+
+    public static RetryPolicy interval(int retryLimit, Duration delay) {
+        if (delay == null) {
+            return immediate(retryLimit);
+        }
+        requireNonNegative(delay, "delay");
+        return new RetryPolicy(retryLimit, (attempt, previous) -> delay,
+                Map.of(
+                        "retryCount", Integer.toString(retryLimit),
+                        "delayMilliseconds", Long.toString(delay.toMillis())),
+                null, List.of(), List.of());
+    }
+
+    /**
+     * Retries once per interval, waiting the given intervals in order.
+     */
+    public static RetryPolicy intervals(Duration... intervals) {
+        List<Duration> delays = List.of(intervals);
+        delays.forEach(d -> requireNonNegative(d, "intervals"));
+        return new RetryPolicy(delays.size(), (attempt, previous) -> delays.get(attempt - 1),
+                Map.of(
+                        "retryCount", Integer.toString(delays.size()),
+                        "policy", "intervals",
+                        "intervalsMilliseconds", String.join(",",
+                                delays.stream().map(d -> Long.toString(d.toMillis())).toList())),
+                null, List.of(), List.of());
+    }
+
+    /**
+     * Waits {@code initialInterval}, then adds {@code intervalIncrement} before
+     * each further retry.
+     */
+    public static RetryPolicy incremental(int retryLimit, Duration initialInterval, Duration intervalIncrement) {
+        requireNonNegative(initialInterval, "initialInterval");
+        requireNonNegative(intervalIncrement, "intervalIncrement");
+        return new RetryPolicy(retryLimit,
+                (attempt, previous) -> initialInterval.plus(intervalIncrement.multipliedBy(attempt - 1L)),
+                Map.of(
+                        "retryCount", Integer.toString(retryLimit),
+                        "policy", "incremental",
+                        "initialIntervalMilliseconds", Long.toString(initialInterval.toMillis()),
+                        "intervalIncrementMilliseconds", Long.toString(intervalIncrement.toMillis())),
+                null, List.of(), List.of());
+    }
+
+    /**
+     * Waits {@code minInterval + intervalDelta * (2^(attempt-1) - 1)}, capped at
+     * {@code maxInterval}.
+     */
+    public static RetryPolicy exponential(int retryLimit, Duration minInterval, Duration maxInterval,
+            Duration intervalDelta) {
+        requireNonNegative(minInterval, "minInterval");
+        requireNonNegative(maxInterval, "maxInterval");
+        requireNonNegative(intervalDelta, "intervalDelta");
+        if (maxInterval.compareTo(minInterval) < 0) {
+            throw new IllegalArgumentException("maxInterval must not be less than minInterval");
+        }
+        return new RetryPolicy(retryLimit, (attempt, previous) -> {
+            int exponent = Math.min(attempt - 1, 62);
+            long factor = (1L << exponent) - 1;
+            long deltaMillis = intervalDelta.toMillis();
+            long extra = deltaMillis != 0 && factor > Long.MAX_VALUE / deltaMillis ? Long.MAX_VALUE
+                    : factor * deltaMillis;
+            long delay = Math.min(maxInterval.toMillis(), saturatedAdd(minInterval.toMillis(), extra));
+            return Duration.ofMillis(delay);
+        }, Map.of(
+                "retryCount", Integer.toString(retryLimit),
+                "policy", "exponential",
+                "minIntervalMilliseconds", Long.toString(minInterval.toMillis()),
+                "maxIntervalMilliseconds", Long.toString(maxInterval.toMillis()),
+                "intervalDeltaMilliseconds", Long.toString(intervalDelta.toMillis())),
+                null, List.of(), List.of());
+    }
+
+    /**
+     * Decorrelated jitter: each delay is random between {@code baseDelay} and
+     * three times the previous delay, capped at {@code maxDelay}, so retries
+     * from many consumers spread out instead of arriving in lockstep.
+     */
+    public static RetryPolicy decorrelatedJitter(int retryLimit, Duration baseDelay, Duration maxDelay) {
+        requireNonNegative(baseDelay, "baseDelay");
+        requireNonNegative(maxDelay, "maxDelay");
+        if (maxDelay.compareTo(baseDelay) < 0) {
+            throw new IllegalArgumentException("maxDelay must not be less than baseDelay");
+        }
+        return new RetryPolicy(retryLimit, (attempt, previous) -> {
+            long base = baseDelay.toMillis();
+            long last = previous != null ? previous.toMillis() : base;
+            long upper = Math.max(base, saturatedAdd(last, saturatedAdd(last, last)));
+            long delay = upper > base ? ThreadLocalRandom.current().nextLong(base, upper + 1) : base;
+            return Duration.ofMillis(Math.min(maxDelay.toMillis(), delay));
+        }, Map.of(
+                "retryCount", Integer.toString(retryLimit),
+                "policy", "decorrelatedJitter",
+                "baseDelayMilliseconds", Long.toString(baseDelay.toMillis()),
+                "maxDelayMilliseconds", Long.toString(maxDelay.toMillis())),
+                null, List.of(), List.of());
+    }
+
+    /**
+     * Stops retrying once the next attempt would start later than
+     * {@code maxElapsedTime} after the first attempt failed.
+     */
+    public RetryPolicy withMaxElapsedTime(Duration maxElapsedTime) {
+        requireNonNegative(maxElapsedTime, "maxElapsedTime");
+        return new RetryPolicy(retryLimit, intervals, configuration, maxElapsedTime, handled, ignored);
+    }
+
+    /**
+     * Restricts retries to the given exception types and their subclasses.
+     */
+    @SafeVarargs
+    public final RetryPolicy handle(Class<? extends Throwable>... exceptionTypes) {
+        List<Class<? extends Throwable>> types = new ArrayList<>(handled);
+        types.addAll(List.of(exceptionTypes));
+        return new RetryPolicy(retryLimit, intervals, configuration, maxElapsedTime, types, ignored);
+    }
+
+    /**
+     * Never retries the given exception types and their subclasses.
+     */
+    @SafeVarargs
+    public final RetryPolicy ignore(Class<? extends Throwable>... exceptionTypes) {
+        List<Class<? extends Throwable>> types = new ArrayList<>(ignored);
+        types.addAll(List.of(exceptionTypes));
+        return new RetryPolicy(retryLimit, intervals, configuration, maxElapsedTime, handled, types);
+    }
+
+    public int getRetryLimit() {
+        return retryLimit;
+    }
+
+    public Duration getMaxElapsedTime() {
+        return maxElapsedTime;
+    }
+
+    /**
+     * Returns whether {@code exception} passes the handle and ignore filters.
+     */
+    public boolean canRetry(Throwable exception) {
+        Throwable cause = unwrap(exception);
+        for (Class<? extends Throwable> type : ignored) {
+            if (type.isInstance(cause)) {
+                return false;
+            }
+        }
+        if (handled.isEmpty()) {
+            return true;
+        }
+        for (Class<? extends Throwable> type : handled) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the delay before {@code retryAttempt}, or {@code null} when the
+     * failure should not be retried.
+     *
+     * @param retryAttempt  the retry about to be made, starting at 1
+     * @param previousDelay the delay used before the previous retry, if any
+     * @param exception     the failure of the last attempt
+     * @param elapsed       time since the first attempt failed
+     */
+    public Duration nextDelay(int retryAttempt, Duration previousDelay, Throwable exception, Duration elapsed) {
+        if (retryAttempt > retryLimit || !canRetry(exception)) {
+            return null;
+        }
+        Duration delay = intervals.next(retryAttempt, previousDelay);
+        if (maxElapsedTime != null && elapsed.plus(delay).compareTo(maxElapsedTime) > 0) {
+            return null;
+        }
+        return delay;
+    }
+
+    /**
+     * Describes the policy for pipeline descriptors.
+     */
+    public Map<String, String> describe() {
+        if (maxElapsedTime == null && handled.isEmpty() && ignored.isEmpty()) {
+            return configuration;
+        }
+        Map<String, String> description = new LinkedHashMap<>(configuration);
+        if (maxElapsedTime != null) {
+            description.put("maxElapsedMilliseconds", Long.toString(maxElapsedTime.toMillis()));
+        }
+        if (!handled.isEmpty()) {
+            description.put("handle", String.join(",", handled.stream().map(Class::getName).toList()));
+        }
+        if (!ignored.isEmpty()) {
+            description.put("ignore", String.join(",", ignored.stream().map(Class::getName).toList()));
+        }
+        return description;
+    }
+
+    private static Throwable unwrap(Throwable exception) {
+        Throwable cause = exception;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static void requireNonNegative(Duration duration, String name) {
+        Objects.requireNonNull(duration, name);
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+    }
+
+    private static long saturatedAdd(long left, long right) {
+        long sum = left + right;
+        return ((left ^ sum) & (right ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+}
@@ -1,5 +1,6 @@
 package com.myservicebus;
 
+import com.myservicebus.serialization.MessageBuffer;
 import com.myservicebus.serialization.MessageSerializationContext;
 import com.myservicebus.serialization.MessageSerializer;
 import java.net.URI;
@@ -24,6 +25,9 @@ public class SendContext implements PipeContext, ScheduledMessage {
     private UUID correlationId;
     private UUID conversationId = UUID.randomUUID();
     private UUID initiatorId;
+    private URI responseAddress;
+    private URI faultAddress;
+    private TransportMessage originalMessage;
     private List<String> messageTypes;
 
     public SendContext(Object message) {
@@ -95,10 +99,52 @@ public class SendContext implements PipeContext, ScheduledMessage {
         this.initiatorId = initiatorId;
     }
 
+    public URI getResponseAddress() {
+        return responseAddress;
+    }
+
+    public void setResponseAddress(URI responseAddress) {
+        this.responseAddress = responseAddress;
+    }
+
+    public URI getFaultAddress() {
+        return faultAddress;
+    }
+
+    public void setFaultAddress(URI faultAddress) {
+        this.faultAddress = faultAddress;
+    }
+
+    public TransportMessage getOriginalMessage() {
+        return originalMessage;
+    }
+
+    /**
+     * Sends the body of a received message as-is instead of serializing
+     * {@link #getMessage()}. Headers on this context are still added.
+     */
+    public void setOriginalMessage(TransportMessage originalMessage) {
+        this.originalMessage = originalMessage;
+    }
+
     public void setMessageTypes(List<String> messageTypes) {
         this.messageTypes = messageTypes;
     }
 
+    /**
+     * Returns the primary message type URN the message is sent as. A forwarded
+     * message keeps the type it was received as.
+     */
+    public String getMessageType() {
+        if (messageTypes != null && !messageTypes.isEmpty()) {
+            return messageTypes.get(0);
+        }
+        if (originalMessage != null && originalMessage.getMessageType() != null) {
+            return originalMessage.getMessageType();
+        }
+        return MessageUrn.forClass(message.getClass());
+    }
+
     @Override
     public Instant getScheduledEnqueueTime() {
         return scheduledEnqueueTime;
@@ -110,6 +156,24 @@ public class SendContext implements PipeContext, ScheduledMessage {
     }
 
     public byte[] serialize(MessageSerializer serializer) throws Exception {
+        if (originalMessage != null) {
+            return originalMessage.getBody();
+        }
+        return serializer.serialize(createSerializationContext());
+    }
+
+    /**
+     * Serializes the message into {@code buffer} instead of a new array.
+     */
+    public void serialize(MessageSerializer serializer, MessageBuffer buffer) throws Exception {
+        if (originalMessage != null) {
+            buffer.write(originalMessage.getBody());
+            return;
+        }
+        serializer.serialize(createSerializationContext(), buffer);
+    }
+
+    private MessageSerializationContext<Object> createSerializationContext() {
         MessageSerializationContext<Object> context = new MessageSerializationContext<>(message);
         context.setMessageId(UUID.randomUUID());
         context.setRequestId(requestId);
@@ -117,8 +181,8 @@ public class SendContext implements PipeContext, ScheduledMessage {
         context.setConversationId(conversationId);
         context.setInitiatorId(initiatorId);
         context.setMessageType(messageTypes != null ? messageTypes : MessageUrn.forMessageTypes(message.getClass()));
-        context.setResponseAddress(null);
-        context.setFaultAddress(null);
+        context.setResponseAddress(responseAddress);
+        context.setFaultAddress(faultAddress);
         context.setSourceAddress(sourceAddress != null ? sourceAddress : URI.create("loopback://localhost/source"));
         context.setDestinationAddress(
                 destinationAddress != null ? destinationAddress
@@ -126,7 +190,7 @@ public class SendContext implements PipeContext, ScheduledMessage {
         context.setHeaders(headers);
         context.setSentTime(OffsetDateTime.now());
         context.setHostInfo(HostInfoProvider.capture());
-        return serializer.serialize(context);
+        return context;
     }
 
     @Override
@@ -3,10 +3,10 @@ package com.myservicebus;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import com.myservicebus.tasks.CancellationToken;
+import com.myservicebus.tasks.TimerService;
 
 public interface SendEndpoint {
     <T> CompletableFuture<Void> send(T message, CancellationToken cancellationToken);
@@ -23,17 +23,8 @@ public interface SendEndpoint {
             if (delay.isNegative()) {
                 delay = Duration.ZERO;
             }
-            CompletableFuture<Void> future = new CompletableFuture<>();
-            CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS)
-                    .execute(() -> send(context.getMessage(), context.getCancellationToken())
-                            .whenComplete((r, e) -> {
-                                if (e != null) {
-                                    future.completeExceptionally(e);
-                                } else {
-                                    future.complete(r);
-                                }
-                            }));
-            return future;
+            return TimerService.shared().delay(delay, context.getCancellationToken())
+                    .thenCompose(v -> send(context.getMessage(), context.getCancellationToken()));
         }
         return send(context.getMessage(), context.getCancellationToken());
     }
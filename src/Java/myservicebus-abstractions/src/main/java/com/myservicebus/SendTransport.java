@@ -1,6 +1,8 @@
 package com.myservicebus;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface SendTransport {
     default void send(byte[] data) {
@@ -8,4 +10,32 @@ public interface SendTransport {
     }
 
     void send(byte[] data, Map<String, Object> headers, String contentType);
+
+    /**
+     * Sends the message and returns a future that completes once the transport
+     * considers it delivered. Transports without delivery acknowledgements
+     * complete as soon as the write returns.
+     */
+    default CompletableFuture<Void> sendAsync(byte[] data, Map<String, Object> headers, String contentType) {
+        try {
+            send(data, headers, contentType);
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Sends a body held in a buffer, typically a pooled
+     * {@link com.myservicebus.serialization.MessageBuffer}. Transports must be
+     * done reading {@code body} when this method returns: the caller releases
+     * the buffer straight away, even if the returned future is still pending.
+     * The default copies the remaining bytes and delegates to
+     * {@link #sendAsync(byte[], Map, String)}.
+     */
+    default CompletableFuture<Void> sendAsync(ByteBuffer body, Map<String, Object> headers, String contentType) {
+        byte[] data = new byte[body.remaining()];
+        body.duplicate().get(data);
+        return sendAsync(data, headers, contentType);
+    }
 }
@@ -0,0 +1,27 @@
+package com.myservicebus;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A filter whose work completes synchronously before the context moves on to
+ * the next stage.
+ *
+ * <p>
+ * Pipes built by {@link PipeConfigurator} call {@link #process} inline and
+ * continue with the next filter without creating a future for this stage.
+ * Throwing from {@code process} faults the pipe.
+ * </p>
+ */
+public interface SyncFilter<TContext extends PipeContext> extends Filter<TContext> {
+    void process(TContext context) throws Exception;
+
+    @Override
+    default CompletableFuture<Void> send(TContext context, Pipe<TContext> next) {
+        try {
+            process(context);
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return next.send(context);
+    }
+}
@@ -0,0 +1,39 @@
+package com.myservicebus;
+
+import java.util.Map;
+
+/**
+ * A message as received from the transport: the raw body and the transport
+ * headers.
+ */
+public class TransportMessage {
+    private final byte[] body;
+    private final Map<String, Object> headers;
+    private final String messageType;
+
+    public TransportMessage(byte[] body, Map<String, Object> headers) {
+        this(body, headers, null);
+    }
+
+    public TransportMessage(byte[] body, Map<String, Object> headers, String messageType) {
+        this.body = body;
+        this.headers = headers;
+        this.messageType = messageType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public Map<String, Object> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Returns the message type URN the transport resolved on receipt, or
+     * {@code null} when it did not resolve one.
+     */
+    public String getMessageType() {
+        return messageType;
+    }
+}
@@ -0,0 +1,125 @@
+package com.myservicebus.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable, reusable output buffer for serialized message bodies.
+ *
+ * <p>
+ * Buffers are leased per thread with {@link #acquire()} and handed back with
+ * {@link #release()}, so a thread that sends many messages keeps writing into
+ * the same array instead of allocating a new one for every message. Each
+ * thread keeps up to {@link #POOL_DEPTH} buffers so a serializer decorator can
+ * lease a second buffer while the outer one is in use. Buffers
+ * that grew beyond {@link #MAX_RETAINED_CAPACITY} are dropped on release so a
+ * single large message does not pin memory. A buffer is not thread-safe and
+ * must not be used after it has been released.
+ * </p>
+ */
+public final class MessageBuffer extends OutputStream {
+    static final int INITIAL_CAPACITY = 8 * 1024;
+    static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+    static final int POOL_DEPTH = 2;
+
+    private static final ThreadLocal<MessageBuffer[]> POOL = ThreadLocal.withInitial(() -> new MessageBuffer[POOL_DEPTH]);
+
+    private byte[] buffer;
+    private int count;
+    private boolean leased;
+
+    private MessageBuffer(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Leases one of the calling thread's pooled buffers, or a new one when none
+     * is free. The returned buffer is empty.
+     */
+    public static MessageBuffer acquire() {
+        MessageBuffer[] pool = POOL.get();
+        MessageBuffer pooled = null;
+        for (int i = 0; i < pool.length; i++) {
+            if (pool[i] != null) {
+                pooled = pool[i];
+                pool[i] = null;
+                break;
+            }
+        }
+        if (pooled == null) {
+            pooled = new MessageBuffer(INITIAL_CAPACITY);
+        }
+        pooled.count = 0;
+        pooled.leased = true;
+        return pooled;
+    }
+
+    /**
+     * Returns the buffer to the calling thread's pool. Releasing twice has no
+     * effect.
+     */
+    public void release() {
+        if (!leased) {
+            return;
+        }
+        leased = false;
+        count = 0;
+        if (buffer.length <= MAX_RETAINED_CAPACITY) {
+            MessageBuffer[] pool = POOL.get();
+            for (int i = 0; i < pool.length; i++) {
+                if (pool[i] == null) {
+                    pool[i] = this;
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns a view of the written bytes backed by this buffer. The view must
+     * not be modified and is only valid until the buffer is released.
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buffer, 0, count);
+    }
+
+    public void writeTo(OutputStream output) throws IOException {
+        output.write(buffer, 0, count);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required < 0) {
+            throw new OutOfMemoryError("Message body too large");
+        }
+        if (required > buffer.length) {
+            int grown = Math.max(required, buffer.length << 1);
+            buffer = Arrays.copyOf(buffer, grown < 0 ? required : grown);
+        }
+    }
+}
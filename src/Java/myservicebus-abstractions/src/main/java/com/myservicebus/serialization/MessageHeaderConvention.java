@@ -3,6 +3,13 @@ package com.myservicebus.serialization;
 public interface MessageHeaderConvention {
     String getContentTypeHeader();
 
+    /**
+     * Names the header carrying the body's compression, such as {@code gzip}.
+     */
+    default String getContentEncodingHeader() {
+        return "content_encoding";
+    }
+
     String getFaultAddressHeader();
 
     boolean isHostHeader(String headerName);
@@ -1,9 +1,20 @@
 package com.myservicebus.serialization;
 
+import java.io.OutputStream;
+
 public interface MessageSerializer {
     String getContentType();
 
     MessageEnvelopeMode getEnvelopeMode();
 
     <T> byte[] serialize(MessageSerializationContext<T> context) throws Exception;
+
+    /**
+     * Writes the serialized message to {@code output}, usually a pooled
+     * {@link MessageBuffer}. Implementations should stream into the output
+     * rather than building an intermediate array.
+     */
+    default <T> void serialize(MessageSerializationContext<T> context, OutputStream output) throws Exception {
+        output.write(serialize(context));
+    }
 }
@@ -0,0 +1,87 @@
+package com.myservicebus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.tasks.CancellationToken;
+
+class CompiledPipeTest {
+    static class TestContext implements PipeContext {
+        final List<String> calls = new ArrayList<>();
+
+        @Override
+        public CancellationToken getCancellationToken() {
+            return CancellationToken.none();
+        }
+    }
+
+    @Test
+    void syncFiltersRunInlineAndCompleteWithSharedFuture() {
+        PipeConfigurator<TestContext> configurator = new PipeConfigurator<>();
+        configurator.useFilter((SyncFilter<TestContext>) ctx -> ctx.calls.add("first"));
+        configurator.useFilter((SyncFilter<TestContext>) ctx -> ctx.calls.add("second"));
+
+        TestContext ctx = new TestContext();
+        CompletableFuture<Void> result = configurator.build().send(ctx);
+
+        assertSame(Pipes.completed(), result);
+        assertEquals(List.of("first", "second"), ctx.calls);
+    }
+
+    @Test
+    void syncFilterFailureFaultsThePipe() {
+        IllegalStateException expected = new IllegalStateException("invalid");
+        PipeConfigurator<TestContext> configurator = new PipeConfigurator<>();
+        configurator.useFilter((SyncFilter<TestContext>) ctx -> {
+            throw expected;
+        });
+        configurator.useExecute(ctx -> {
+            ctx.calls.add("downstream");
+            return CompletableFuture.completedFuture(null);
+        });
+
+        TestContext ctx = new TestContext();
+        CompletionException actual = assertThrows(CompletionException.class,
+                () -> configurator.build().send(ctx).join());
+
+        assertSame(expected, actual.getCause());
+        assertTrue(ctx.calls.isEmpty());
+    }
+
+    @Test
+    void thrownFilterExceptionBecomesFailedFuture() {
+        RuntimeException expected = new RuntimeException("thrown");
+        PipeConfigurator<TestContext> configurator = new PipeConfigurator<>();
+        configurator.useFilter((ctx, next) -> {
+            throw expected;
+        });
+
+        CompletableFuture<Void> result = configurator.build().send(new TestContext());
+
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    @Test
+    void mixesSyncAndAsyncFiltersInOrder() {
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        PipeConfigurator<TestContext> configurator = new PipeConfigurator<>();
+        configurator.useFilter((SyncFilter<TestContext>) ctx -> ctx.calls.add("sync"));
+        configurator.useExecute(ctx -> gate.thenRun(() -> ctx.calls.add("async")));
+        configurator.useFilter((SyncFilter<TestContext>) ctx -> ctx.calls.add("after"));
+
+        TestContext ctx = new TestContext();
+        CompletableFuture<Void> result = configurator.build().send(ctx);
+        assertFalse(result.isDone());
+
+        gate.complete(null);
+        result.join();
+
+        assertEquals(List.of("sync", "async", "after"), ctx.calls);
+    }
+}
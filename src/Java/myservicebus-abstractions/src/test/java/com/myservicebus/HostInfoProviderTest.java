@@ -0,0 +1,30 @@
+package com.myservicebus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class HostInfoProviderTest {
+    @Test
+    void captureReturnsSharedInstance() {
+        assertSame(HostInfoProvider.capture(), HostInfoProvider.capture());
+    }
+
+    @Test
+    void refreshReplacesSharedInstance() {
+        HostInfo before = HostInfoProvider.capture();
+
+        HostInfo refreshed = HostInfoProvider.refresh();
+
+        assertNotSame(before, refreshed);
+        assertSame(refreshed, HostInfoProvider.capture());
+        assertEquals(before.getMachineName(), refreshed.getMachineName());
+    }
+
+    @Test
+    void sharedInstanceIsReadOnly() {
+        HostInfo host = HostInfoProvider.capture();
+
+        assertThrows(UnsupportedOperationException.class, () -> host.setMachineName("other"));
+    }
+}
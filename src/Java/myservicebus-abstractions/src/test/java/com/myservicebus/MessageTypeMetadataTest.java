@@ -0,0 +1,45 @@
+package com.myservicebus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class MessageTypeMetadataTest {
+    public interface OrderSubmitted {
+        String getOrderId();
+    }
+
+    static class SampleMessage {
+    }
+
+    @Test
+    void metadataIsComputedOncePerClass() {
+        assertSame(MessageTypeMetadata.of(SampleMessage.class), MessageTypeMetadata.of(SampleMessage.class));
+        assertSame(MessageUrn.forMessageTypes(SampleMessage.class),
+                MessageUrn.forMessageTypes(SampleMessage.class));
+    }
+
+    @Test
+    void proxiesAreDescribedByTheirInterface() {
+        OrderSubmitted proxy = MessageProxy.create(OrderSubmitted.class, java.util.Map.of("orderId", "1"));
+
+        MessageTypeMetadata metadata = MessageTypeMetadata.of(proxy.getClass());
+
+        assertSame(OrderSubmitted.class, metadata.getMessageType());
+        assertEquals("urn:message:TestApp:OrderSubmitted", metadata.getUrn());
+        assertEquals("urn:message:MassTransit:Fault[[TestApp:OrderSubmitted]]", metadata.getFaultUrn());
+    }
+
+    @Test
+    void entityNameFollowsFormatterChanges() {
+        MessageEntityNameFormatter original = EntityNameFormatter.getFormatter();
+        assertEquals("TestApp:SampleMessage", EntityNameFormatter.format(SampleMessage.class));
+        try {
+            EntityNameFormatter.setFormatter(type -> "custom-" + type.getSimpleName());
+            assertEquals("custom-SampleMessage", EntityNameFormatter.format(SampleMessage.class));
+        } finally {
+            EntityNameFormatter.setFormatter(original);
+        }
+        assertEquals("TestApp:SampleMessage", EntityNameFormatter.format(SampleMessage.class));
+    }
+}
@@ -0,0 +1,160 @@
+package com.myservicebus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.tasks.CancellationToken;
+
+class RetryPolicyTest {
+    @Test
+    void intervalsAreUsedInOrder() {
+        RetryPolicy policy = RetryPolicy.intervals(Duration.ofMillis(10), Duration.ofMillis(50));
+        RuntimeException failure = new RuntimeException();
+
+        assertEquals(2, policy.getRetryLimit());
+        assertEquals(Duration.ofMillis(10), policy.nextDelay(1, null, failure, Duration.ZERO));
+        assertEquals(Duration.ofMillis(50), policy.nextDelay(2, null, failure, Duration.ZERO));
+        assertNull(policy.nextDelay(3, null, failure, Duration.ZERO));
+    }
+
+    @Test
+    void incrementalAddsIncrementPerRetry() {
+        RetryPolicy policy = RetryPolicy.incremental(3, Duration.ofMillis(100), Duration.ofMillis(50));
+        RuntimeException failure = new RuntimeException();
+
+        assertEquals(Duration.ofMillis(100), policy.nextDelay(1, null, failure, Duration.ZERO));
+        assertEquals(Duration.ofMillis(150), policy.nextDelay(2, null, failure, Duration.ZERO));
+        assertEquals(Duration.ofMillis(200), policy.nextDelay(3, null, failure, Duration.ZERO));
+    }
+
+    @Test
+    void exponentialGrowsAndIsCapped() {
+        RetryPolicy policy = RetryPolicy.exponential(100, Duration.ofMillis(10), Duration.ofSeconds(1),
+                Duration.ofMillis(20));
+        RuntimeException failure = new RuntimeException();
+
+        assertEquals(Duration.ofMillis(10), policy.nextDelay(1, null, failure, Duration.ZERO));
+        assertEquals(Duration.ofMillis(30), policy.nextDelay(2, null, failure, Duration.ZERO));
+        assertEquals(Duration.ofMillis(70), policy.nextDelay(3, null, failure, Duration.ZERO));
+        assertEquals(Duration.ofSeconds(1), policy.nextDelay(100, null, failure, Duration.ZERO));
+    }
+
+    @Test
+    void decorrelatedJitterStaysWithinBounds() {
+        RetryPolicy policy = RetryPolicy.decorrelatedJitter(50, Duration.ofMillis(10), Duration.ofMillis(500));
+        RuntimeException failure = new RuntimeException();
+        Duration previous = null;
+        for (int attempt = 1; attempt <= 50; attempt++) {
+            Duration delay = policy.nextDelay(attempt, previous, failure, Duration.ZERO);
+            assertTrue(delay.toMillis() >= 10 && delay.toMillis() <= 500, delay.toString());
+            if (previous != null) {
+                assertTrue(delay.toMillis() <= Math.max(10, previous.toMillis() * 3));
+            }
+            previous = delay;
+        }
+    }
+
+    @Test
+    void maxElapsedTimeStopsRetries() {
+        RetryPolicy policy = RetryPolicy.interval(10, Duration.ofMillis(100))
+                .withMaxElapsedTime(Duration.ofMillis(250));
+        RuntimeException failure = new RuntimeException();
+
+        assertNotNull(policy.nextDelay(2, null, failure, Duration.ofMillis(150)));
+        assertNull(policy.nextDelay(3, null, failure, Duration.ofMillis(200)));
+    }
+
+    @Test
+    void maxElapsedTimeStartsWhenTheFirstAttemptFails() {
+        PipeConfigurator<ConsumeContext<String>> configurator = new PipeConfigurator<>();
+        AtomicInteger attempts = new AtomicInteger();
+        configurator.useRetry(RetryPolicy.immediate(1).withMaxElapsedTime(Duration.ofMillis(100)));
+        configurator.useExecute(ctx -> {
+            if (attempts.incrementAndGet() > 1) {
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> slow = new CompletableFuture<>();
+            CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS)
+                    .execute(() -> slow.completeExceptionally(new RuntimeException("slow failure")));
+            return slow;
+        });
+
+        ConsumeContext<String> context = new ConsumeContext<>("hi", new HashMap<>(), null);
+        configurator.build().send(context).join();
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void handleAndIgnoreFilterExceptions() {
+        RetryPolicy policy = RetryPolicy.immediate(3)
+                .handle(IllegalStateException.class, java.io.IOException.class)
+                .ignore(java.io.FileNotFoundException.class);
+
+        assertTrue(policy.canRetry(new IllegalStateException()));
+        assertTrue(policy.canRetry(new CompletionException(new java.io.IOException())));
+        assertFalse(policy.canRetry(new java.io.FileNotFoundException()));
+        assertFalse(policy.canRetry(new IllegalArgumentException()));
+    }
+
+    @Test
+    void describeKeepsRetryCountAndDelayKeys() {
+        assertEquals(Map.of("retryCount", "2", "delayMilliseconds", "100"),
+                RetryPolicy.interval(2, Duration.ofMillis(100)).describe());
+        assertEquals("exponential",
+                RetryPolicy.exponential(2, Duration.ZERO, Duration.ofSeconds(1), Duration.ofMillis(5))
+                        .describe().get("policy"));
+    }
+
+    @Test
+    void ignoredExceptionFailsWithoutRetrying() {
+        PipeConfigurator<ConsumeContext<String>> configurator = new PipeConfigurator<>();
+        AtomicInteger attempts = new AtomicInteger();
+        configurator.useMessageRetry(r -> {
+            r.immediate(5);
+            r.ignore(IllegalArgumentException.class);
+        });
+        configurator.useExecute(ctx -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalArgumentException("invalid"));
+        });
+
+        ConsumeContext<String> context = new ConsumeContext<>("hi", new HashMap<>(), null);
+        CompletableFuture<Void> result = configurator.build().send(context);
+
+        assertThrows(CompletionException.class, result::join);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void retryAttemptIsExposedOnConsumeContext() {
+        PipeConfigurator<ConsumeContext<String>> configurator = new PipeConfigurator<>();
+        List<Integer> seen = new java.util.ArrayList<>();
+        configurator.useMessageRetry(r -> r.immediate(2));
+        configurator.useExecute(ctx -> {
+            seen.add(ctx.getRetryAttempt());
+            if (seen.size() < 3) {
+                return CompletableFuture.failedFuture(new RuntimeException("fail"));
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+
+        Map<String, Object> headers = new HashMap<>();
+        ConsumeContext<String> context = new ConsumeContext<>("hi", headers, null, null,
+                CancellationToken.none(), null);
+        configurator.build().send(context).join();
+
+        assertEquals(List.of(0, 1, 2), seen);
+        assertEquals(2, headers.get(MessageHeaders.RETRY_ATTEMPT));
+    }
+}
@@ -0,0 +1,95 @@
+package com.myservicebus.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.SendTransport;
+
+class MessageBufferTest {
+    @Test
+    void releasedBufferIsReusedOnTheSameThread() {
+        MessageBuffer first = MessageBuffer.acquire();
+        first.write(new byte[] { 1, 2, 3 }, 0, 3);
+        first.release();
+
+        MessageBuffer second = MessageBuffer.acquire();
+        assertSame(first, second);
+        assertEquals(0, second.size());
+        second.release();
+    }
+
+    @Test
+    void nestedAcquireReturnsDistinctBuffer() {
+        MessageBuffer outer = MessageBuffer.acquire();
+        MessageBuffer inner = MessageBuffer.acquire();
+
+        assertNotSame(outer, inner);
+        inner.release();
+        outer.release();
+    }
+
+    @Test
+    void nestedBuffersAreBothReused() {
+        MessageBuffer outer = MessageBuffer.acquire();
+        MessageBuffer inner = MessageBuffer.acquire();
+        inner.release();
+        outer.release();
+
+        MessageBuffer first = MessageBuffer.acquire();
+        MessageBuffer second = MessageBuffer.acquire();
+        assertTrue((first == outer && second == inner) || (first == inner && second == outer));
+        second.release();
+        first.release();
+    }
+
+    @Test
+    void oversizedBufferIsNotRetained() {
+        MessageBuffer large = MessageBuffer.acquire();
+        large.write(new byte[MessageBuffer.MAX_RETAINED_CAPACITY + 1], 0, MessageBuffer.MAX_RETAINED_CAPACITY + 1);
+        large.release();
+
+        MessageBuffer next = MessageBuffer.acquire();
+        assertNotSame(large, next);
+        next.release();
+    }
+
+    @Test
+    void byteBufferExposesWrittenBytes() {
+        MessageBuffer buffer = MessageBuffer.acquire();
+        for (int i = 0; i < MessageBuffer.INITIAL_CAPACITY + 10; i++) {
+            buffer.write(i);
+        }
+
+        ByteBuffer view = buffer.toByteBuffer();
+        assertEquals(MessageBuffer.INITIAL_CAPACITY + 10, view.remaining());
+        assertEquals((byte) 5, view.get(5));
+        assertArrayEquals(buffer.toByteArray(), copy(view));
+        buffer.release();
+    }
+
+    @Test
+    void sendTransportCopiesBufferBeforeDelegating() {
+        AtomicReference<byte[]> sent = new AtomicReference<>();
+        SendTransport transport = (data, headers, contentType) -> sent.set(data);
+        MessageBuffer buffer = MessageBuffer.acquire();
+        buffer.write(new byte[] { 7, 8 }, 0, 2);
+
+        CompletableFuture<Void> result = transport.sendAsync(buffer.toByteBuffer(), Map.of(), "application/json");
+        buffer.release();
+
+        assertTrue(result.isDone());
+        assertArrayEquals(new byte[] { 7, 8 }, sent.get());
+    }
+
+    private static byte[] copy(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,110 @@
+package com.myservicebus.rabbitmq;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import com.myservicebus.tasks.TimerService;
+import com.rabbitmq.client.Channel;
+
+/**
+ * Coalesces acknowledgements for the deliveries of a single channel.
+ *
+ * <p>
+ * Completed delivery tags are collected and flushed once {@code batchSize} of
+ * them are pending, when no delivery is left in flight, or at the latest
+ * {@code flushInterval} after the first one completed. Completed tags that no
+ * in-flight delivery precedes are acknowledged with a single
+ * {@code basicAck(tag, true)}; tags behind a delivery that is still being
+ * handled are acknowledged individually, so one slow message never holds back
+ * the acknowledgements of the messages after it. Negative acknowledgements are
+ * sent immediately for the individual delivery.
+ * </p>
+ */
+public class AckCoordinator {
+    static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(100);
+
+    private final Channel channel;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private final TreeSet<Long> completed = new TreeSet<>();
+    private TimerService.Timeout flushTimer;
+
+    public AckCoordinator(Channel channel, int batchSize) {
+        this(channel, batchSize, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    AckCoordinator(Channel channel, int batchSize, Duration flushInterval) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Ack batch size must be positive");
+        }
+        this.channel = channel;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Records a delivery that has been received but not yet settled.
+     */
+    public synchronized void delivered(long deliveryTag) {
+        inFlight.add(deliveryTag);
+    }
+
+    public synchronized void ack(long deliveryTag) throws IOException {
+        if (inFlight.remove(deliveryTag)) {
+            completed.add(deliveryTag);
+        }
+        if (completed.size() >= batchSize || inFlight.isEmpty()) {
+            flush();
+        } else if (!completed.isEmpty() && flushTimer == null) {
+            flushTimer = TimerService.shared().schedule(this::flushQuietly, flushInterval);
+        }
+    }
+
+    public synchronized void nack(long deliveryTag, boolean requeue) throws IOException {
+        if (!inFlight.remove(deliveryTag)) {
+            return;
+        }
+        channel.basicNack(deliveryTag, false, requeue);
+        if (inFlight.isEmpty()) {
+            flush();
+        }
+    }
+
+    /**
+     * Acknowledges every completed delivery.
+     */
+    public synchronized void flush() throws IOException {
+        if (flushTimer != null) {
+            flushTimer.cancel();
+            flushTimer = null;
+        }
+        if (completed.isEmpty()) {
+            return;
+        }
+
+        // Every unsettled tag at or below the boundary is completed, so a multiple ack covers exactly them.
+        long boundary = inFlight.isEmpty() ? Long.MAX_VALUE : inFlight.first() - 1;
+        NavigableSet<Long> contiguous = completed.headSet(boundary, true);
+        if (!contiguous.isEmpty()) {
+            long last = contiguous.last();
+            boolean multiple = contiguous.size() > 1;
+            contiguous.clear();
+            channel.basicAck(last, multiple);
+        }
+        while (!completed.isEmpty()) {
+            channel.basicAck(completed.pollFirst(), false);
+        }
+    }
+
+    private synchronized void flushQuietly() {
+        flushTimer = null;
+        try {
+            flush();
+        } catch (IOException | RuntimeException ex) {
+            // The channel is closing; the broker redelivers whatever was not acknowledged.
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.myservicebus.rabbitmq;
+
+import java.util.List;
+
+import com.myservicebus.ReceiveTransport;
+
+/**
+ * Starts and stops several consumers of the same receive endpoint together.
+ *
+ * <p>
+ * Used when an endpoint is configured with more than one consumer so that each
+ * consumer gets its own channel and deliveries are dispatched in parallel, or
+ * when the consumers share a dispatch executor that must be shut down with them.
+ * </p>
+ */
+class CompositeReceiveTransport implements ReceiveTransport {
+    private final List<ReceiveTransport> transports;
+    private final AutoCloseable resource;
+
+    CompositeReceiveTransport(List<ReceiveTransport> transports) {
+        this(transports, null);
+    }
+
+    /**
+     * @param resource closed after every transport has stopped, e.g. a dispatcher shared by the consumers
+     */
+    CompositeReceiveTransport(List<ReceiveTransport> transports, AutoCloseable resource) {
+        this.transports = List.copyOf(transports);
+        this.resource = resource;
+    }
+
+    @Override
+    public void start() throws Exception {
+        for (ReceiveTransport transport : transports) {
+            transport.start();
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        Exception failure = null;
+        for (ReceiveTransport transport : transports) {
+            try {
+                transport.stop();
+            } catch (Exception ex) {
+                if (failure == null) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        if (resource != null) {
+            try {
+                resource.close();
+            } catch (Exception ex) {
+                if (failure == null) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
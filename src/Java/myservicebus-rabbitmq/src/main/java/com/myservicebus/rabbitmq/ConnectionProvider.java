@@ -4,37 +4,53 @@ import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Opens and recovers the broker connections used by the bus.
+ *
+ * <p>
+ * Connections are kept in a separate pool per {@link ConnectionRole}, and callers
+ * are handed the connections of a role in turn so that channels spread across them.
+ * A closed connection is replaced the next time its slot is used.
+ * </p>
+ */
 public class ConnectionProvider {
     private final ConnectionFactory connectionFactory;
-    private Connection connection;
+    private final Map<ConnectionRole, ConnectionPool> pools = new EnumMap<>(ConnectionRole.class);
 
     public ConnectionProvider(ConnectionFactory connectionFactory) {
+        this(connectionFactory, Map.of());
+    }
+
+    /**
+     * @param connectionCounts number of connections per role; roles that are not listed get one
+     */
+    public ConnectionProvider(ConnectionFactory connectionFactory, Map<ConnectionRole, Integer> connectionCounts) {
         this.connectionFactory = connectionFactory;
         this.connectionFactory.setAutomaticRecoveryEnabled(true);
         this.connectionFactory.setTopologyRecoveryEnabled(true);
+        for (ConnectionRole role : ConnectionRole.values()) {
+            int count = connectionCounts.getOrDefault(role, 1);
+            if (count < 1) {
+                throw new IllegalArgumentException("Connection count must be positive");
+            }
+            pools.put(role, new ConnectionPool(role, count));
+        }
     }
 
-    public synchronized Connection getOrCreateConnection() throws Exception {
-        if (connection != null && connection.isOpen()) {
-            return connection;
-        }
+    /**
+     * Returns a consume connection.
+     */
+    public Connection getOrCreateConnection() throws Exception {
+        return getOrCreateConnection(ConnectionRole.CONSUME);
+    }
 
-        long delay = 100;
-        while (true) {
-            try {
-                connection = connectionFactory.newConnection();
-                connection.addShutdownListener(cause -> {
-                    synchronized (ConnectionProvider.this) {
-                        connection = null;
-                    }
-                });
-                return connection;
-            } catch (Exception ex) {
-                Thread.sleep(delay);
-                delay = Math.min(delay * 2, 5000);
-            }
-        }
+    public Connection getOrCreateConnection(ConnectionRole role) throws Exception {
+        return pools.get(role).next();
     }
 
     public String getPublishAddress(String exchange) {
@@ -59,4 +75,44 @@ public class ConnectionProvider {
             throw new IllegalArgumentException("Invalid RabbitMQ address", exception);
         }
     }
+
+    private final class ConnectionPool {
+        private final String name;
+        private final Connection[] connections;
+        private final AtomicInteger next = new AtomicInteger();
+
+        ConnectionPool(ConnectionRole role, int count) {
+            this.name = "myservicebus-" + role.name().toLowerCase(Locale.ROOT);
+            this.connections = new Connection[count];
+        }
+
+        Connection next() throws Exception {
+            int slot = Math.floorMod(next.getAndIncrement(), connections.length);
+            synchronized (this) {
+                Connection connection = connections[slot];
+                if (connection != null && connection.isOpen()) {
+                    return connection;
+                }
+
+                long delay = 100;
+                while (true) {
+                    try {
+                        Connection created = connectionFactory.newConnection(name + "-" + slot);
+                        created.addShutdownListener(cause -> {
+                            synchronized (ConnectionPool.this) {
+                                if (connections[slot] == created) {
+                                    connections[slot] = null;
+                                }
+                            }
+                        });
+                        connections[slot] = created;
+                        return created;
+                    } catch (Exception ex) {
+                        Thread.sleep(delay);
+                        delay = Math.min(delay * 2, 5000);
+                    }
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package com.myservicebus.rabbitmq;
+
+/**
+ * The kind of work a broker connection is used for. Each role gets its own
+ * connections so that flow control applied to publishers does not stall consumers.
+ */
+public enum ConnectionRole {
+    PUBLISH,
+    CONSUME,
+    REQUEST
+}
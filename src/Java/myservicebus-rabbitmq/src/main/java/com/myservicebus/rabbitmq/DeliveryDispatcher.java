@@ -0,0 +1,95 @@
+package com.myservicebus.rabbitmq;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.myservicebus.logging.Logger;
+
+/**
+ * Moves consume pipelines off the RabbitMQ consumer dispatch thread.
+ *
+ * <p>
+ * Dispatching never blocks the RabbitMQ client's consumer work pool, which is
+ * shared by every channel of the connection. The receive endpoint caps its
+ * prefetch window at the concurrent message limit instead, so the broker holds
+ * further deliveries back until handlers complete and are acknowledged.
+ * </p>
+ */
+class DeliveryDispatcher implements AutoCloseable {
+    private final ExecutorService executor;
+
+    DeliveryDispatcher(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    static DeliveryDispatcher create(String queueName, DispatchSettings settings, Logger logger) {
+        int limit = settings.concurrentMessageLimit();
+        ExecutorService executor = switch (settings.mode()) {
+            case FIXED_POOL -> Executors.newFixedThreadPool(limit, threadFactory(queueName));
+            case FORK_JOIN -> new ForkJoinPool(limit, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+            case VIRTUAL_THREADS -> {
+                ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+                if (virtual == null) {
+                    logger.warn("Virtual threads are not available; dispatching {} on a fixed pool", queueName);
+                    virtual = Executors.newFixedThreadPool(limit, threadFactory(queueName));
+                }
+                yield virtual;
+            }
+            case CONSUMER_THREAD -> null;
+        };
+        return executor != null ? new DeliveryDispatcher(executor) : null;
+    }
+
+    CompletableFuture<Void> dispatch(Supplier<CompletableFuture<Void>> work) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                CompletableFuture<Void> handled;
+                try {
+                    handled = work.get();
+                } catch (Throwable t) {
+                    handled = CompletableFuture.failedFuture(t);
+                }
+                handled.whenComplete((v, ex) -> {
+                    if (ex != null) {
+                        result.completeExceptionally(ex);
+                    } else {
+                        result.complete(null);
+                    }
+                });
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory(String queueName) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "myservicebus-" + queueName + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // The build targets Java 17, so the Java 21 factory method is looked up at runtime.
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
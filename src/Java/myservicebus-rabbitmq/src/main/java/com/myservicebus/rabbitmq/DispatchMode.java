@@ -0,0 +1,15 @@
+package com.myservicebus.rabbitmq;
+
+/**
+ * Selects which threads run the consume pipeline for a receive endpoint.
+ */
+public enum DispatchMode {
+    /** Run handlers on the RabbitMQ client's consumer dispatch thread. */
+    CONSUMER_THREAD,
+    /** Run handlers on a fixed pool sized to the concurrent message limit. */
+    FIXED_POOL,
+    /** Run handlers on a work-stealing fork-join pool. */
+    FORK_JOIN,
+    /** Run each handler on its own virtual thread (Java 21 or later). */
+    VIRTUAL_THREADS
+}
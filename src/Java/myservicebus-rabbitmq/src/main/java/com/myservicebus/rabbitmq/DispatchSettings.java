@@ -0,0 +1,15 @@
+package com.myservicebus.rabbitmq;
+
+/**
+ * Dispatch executor and concurrency limit used by a receive endpoint.
+ */
+public record DispatchSettings(DispatchMode mode, int concurrentMessageLimit) {
+    public DispatchSettings {
+        if (mode == null) {
+            throw new IllegalArgumentException("Dispatch mode must not be null");
+        }
+        if (concurrentMessageLimit < 1) {
+            throw new IllegalArgumentException("Concurrent message limit must be positive");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.myservicebus.rabbitmq;
+
+/**
+ * Determines how a delivery is settled with the broker when its handler fails.
+ *
+ * <p>
+ * Only {@link #ACK} forwards failed messages to the endpoint's error queue
+ * before the delivery is settled. {@link #REQUEUE} and {@link #REJECT} leave
+ * the failed message to the broker and do not copy it to the error queue.
+ * </p>
+ */
+public enum FailedDeliveryAction {
+    /** Acknowledge the delivery; the error queue holds the failed message. */
+    ACK,
+    /**
+     * Negatively acknowledge the delivery and return it to the queue. A message
+     * that always fails is redelivered until it is removed or the handler is
+     * fixed, so use it only for transient failures.
+     */
+    REQUEUE,
+    /**
+     * Negatively acknowledge the delivery without requeueing so it is
+     * dead-lettered. Without a dead-letter exchange on the queue the message is
+     * dropped.
+     */
+    REJECT
+}
@@ -0,0 +1,74 @@
+package com.myservicebus.rabbitmq;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+
+/**
+ * A channel used for publishing, together with its publisher confirm tracker.
+ *
+ * <p>
+ * AMQP channels must not be used for concurrent publishes, so every publish
+ * through this type is serialized on the channel.
+ * </p>
+ */
+public class PublishChannel {
+    private final Channel channel;
+    private final PublisherConfirmTracker confirms;
+
+    public PublishChannel(Channel channel) {
+        this(channel, null);
+    }
+
+    public PublishChannel(Channel channel, PublisherConfirmTracker confirms) {
+        this.channel = channel;
+        this.confirms = confirms;
+    }
+
+    public Channel getChannel() {
+        return channel;
+    }
+
+    public PublisherConfirmTracker getConfirms() {
+        return confirms;
+    }
+
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    public void publish(String exchange, String routingKey, AMQP.BasicProperties props, byte[] body)
+            throws IOException {
+        synchronized (channel) {
+            channel.basicPublish(exchange, routingKey, props, body);
+        }
+    }
+
+    /**
+     * Publishes and returns a future that completes on broker confirmation.
+     * Requires the channel to have been created with a confirm tracker.
+     */
+    public CompletableFuture<Void> publishConfirmed(String exchange, String routingKey, AMQP.BasicProperties props,
+            byte[] body) {
+        try {
+            confirms.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to send message", e));
+        }
+
+        // The sequence number must be read and consumed by the same publish.
+        synchronized (channel) {
+            long sequenceNumber = channel.getNextPublishSeqNo();
+            CompletableFuture<Void> confirmation = confirms.track(sequenceNumber);
+            try {
+                channel.basicPublish(exchange, routingKey, props, body);
+            } catch (Exception e) {
+                confirms.fail(sequenceNumber, new RuntimeException("Failed to send message", e));
+            }
+            return confirmation;
+        }
+    }
+}
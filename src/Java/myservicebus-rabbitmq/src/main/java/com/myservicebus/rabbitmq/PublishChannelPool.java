@@ -0,0 +1,74 @@
+package com.myservicebus.rabbitmq;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded set of publish channels shared by all send transports of a factory.
+ *
+ * <p>
+ * Publishing threads are striped across the channels by thread id, so producers
+ * on different cores use different channels instead of contending for a single
+ * one. Channels are opened lazily and replaced once they close.
+ * </p>
+ */
+public class PublishChannelPool {
+    private final ChannelSource source;
+    private final AtomicReferenceArray<PublishChannel> channels;
+    private final PublishChannel fixed;
+
+    public PublishChannelPool(ChannelSource source, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Publish channel pool size must be positive");
+        }
+        this.source = source;
+        this.channels = new AtomicReferenceArray<>(size);
+        this.fixed = null;
+    }
+
+    private PublishChannelPool(PublishChannel fixed) {
+        this.source = () -> fixed;
+        this.channels = new AtomicReferenceArray<>(1);
+        this.fixed = fixed;
+    }
+
+    /**
+     * Creates a pool that always hands out the given channel, without replacing it.
+     */
+    public static PublishChannelPool of(PublishChannel channel) {
+        return new PublishChannelPool(channel);
+    }
+
+    public int size() {
+        return channels.length();
+    }
+
+    public PublishChannel acquire() throws Exception {
+        if (fixed != null) {
+            return fixed;
+        }
+
+        int index = (int) (Thread.currentThread().getId() % channels.length());
+        PublishChannel channel = channels.get(index);
+        if (channel != null && channel.isOpen()) {
+            return channel;
+        }
+        return replace(index, channel);
+    }
+
+    private PublishChannel replace(int index, PublishChannel stale) throws Exception {
+        synchronized (channels) {
+            PublishChannel current = channels.get(index);
+            if (current != null && current != stale) {
+                return current;
+            }
+            PublishChannel created = source.create();
+            channels.set(index, created);
+            return created;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ChannelSource {
+        PublishChannel create() throws Exception;
+    }
+}
@@ -0,0 +1,112 @@
+package com.myservicebus.rabbitmq;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Semaphore;
+
+import com.rabbitmq.client.ConfirmListener;
+
+/**
+ * Tracks outstanding publisher confirms for a single channel.
+ *
+ * <p>
+ * Each publish registers its sequence number and receives a future that completes
+ * when the broker acknowledges it. Acks with {@code multiple=true} resolve every
+ * outstanding publish up to and including the acknowledged sequence number. The
+ * number of unconfirmed publishes is bounded so that a slow broker applies
+ * backpressure to the publishing threads.
+ * </p>
+ */
+public class PublisherConfirmTracker implements ConfirmListener {
+    private final ConcurrentSkipListMap<Long, CompletableFuture<Void>> outstanding = new ConcurrentSkipListMap<>();
+    private final Semaphore permits;
+
+    public PublisherConfirmTracker(int maxUnconfirmed) {
+        if (maxUnconfirmed < 1) {
+            throw new IllegalArgumentException("maxUnconfirmed must be positive");
+        }
+        this.permits = new Semaphore(maxUnconfirmed);
+    }
+
+    /**
+     * Blocks until another publish may be issued without exceeding the unconfirmed limit.
+     */
+    public void acquire() throws InterruptedException {
+        permits.acquire();
+    }
+
+    /**
+     * Returns a permit obtained with {@link #acquire()} when the publish was not issued.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    public CompletableFuture<Void> track(long sequenceNumber) {
+        CompletableFuture<Void> confirmation = new CompletableFuture<>();
+        outstanding.put(sequenceNumber, confirmation);
+        return confirmation;
+    }
+
+    public void fail(long sequenceNumber, Throwable cause) {
+        CompletableFuture<Void> confirmation = outstanding.remove(sequenceNumber);
+        if (confirmation != null) {
+            permits.release();
+            confirmation.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Fails every outstanding publish, typically because the channel was closed
+     * before the broker confirmed them.
+     */
+    public void failAll(Throwable cause) {
+        Map.Entry<Long, CompletableFuture<Void>> entry;
+        while ((entry = outstanding.pollFirstEntry()) != null) {
+            permits.release();
+            entry.getValue().completeExceptionally(cause);
+        }
+    }
+
+    public int getOutstandingCount() {
+        return outstanding.size();
+    }
+
+    @Override
+    public void handleAck(long deliveryTag, boolean multiple) {
+        resolve(deliveryTag, multiple, null);
+    }
+
+    @Override
+    public void handleNack(long deliveryTag, boolean multiple) {
+        resolve(deliveryTag, multiple, new IOException("Broker rejected publish " + deliveryTag));
+    }
+
+    private void resolve(long deliveryTag, boolean multiple, Throwable failure) {
+        if (!multiple) {
+            complete(outstanding.remove(deliveryTag), failure);
+            return;
+        }
+
+        ConcurrentNavigableMap<Long, CompletableFuture<Void>> confirmed = outstanding.headMap(deliveryTag, true);
+        Map.Entry<Long, CompletableFuture<Void>> entry;
+        while ((entry = confirmed.pollFirstEntry()) != null) {
+            complete(entry.getValue(), failure);
+        }
+    }
+
+    private void complete(CompletableFuture<Void> confirmation, Throwable failure) {
+        if (confirmation == null) {
+            return;
+        }
+        permits.release();
+        if (failure == null) {
+            confirmation.complete(null);
+        } else {
+            confirmation.completeExceptionally(failure);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.myservicebus.ConsumeContext;
 import com.myservicebus.EndpointNameFormatter;
 import com.myservicebus.PipeConfigurator;
 import com.myservicebus.RetryConfigurator;
+import com.myservicebus.RetryPolicy;
 import com.myservicebus.EntityNameFormatter;
 import com.myservicebus.MessageEntityNameFormatter;
 import com.myservicebus.ConsumerFactory;
@@ -19,7 +20,6 @@ import com.myservicebus.topology.ConsumerTopology;
 import com.myservicebus.topology.MessageBinding;
 import com.myservicebus.topology.TopologyRegistry;
 import com.myservicebus.serialization.MessageSerializer;
-import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -34,6 +34,17 @@ public class RabbitMqFactoryConfigurator implements BusFactoryConfigurator {
     private MessageEntityNameFormatter entityNameFormatter;
     private final java.util.List<HandlerRegistration<?>> handlerRegistrations = new java.util.ArrayList<>();
     private int prefetchCount;
+    private boolean publisherConfirms;
+    private int maxUnconfirmedPublishes = 1000;
+    private int publishChannelCount = Runtime.getRuntime().availableProcessors();
+    private int ackBatchSize = 32;
+    private int topologyParallelism = 4;
+    private final Map<ConnectionRole, Integer> connectionCounts = new java.util.EnumMap<>(ConnectionRole.class);
+    private boolean verifyTopologyOnly;
+    private FailedDeliveryAction failedDeliveryAction = FailedDeliveryAction.ACK;
+    private DispatchSettings dispatchSettings = new DispatchSettings(DispatchMode.CONSUMER_THREAD,
+            Runtime.getRuntime().availableProcessors());
+    private final Map<String, DispatchSettings> endpointDispatchSettings = new HashMap<>();
     private java.util.function.BiFunction<ServiceProvider, Class<?>, ConsumerFactory> consumerFactory =
             (sp, type) -> new DefaultConstructorConsumerFactory();
 
@@ -69,7 +80,8 @@ public class RabbitMqFactoryConfigurator implements BusFactoryConfigurator {
 
     public void receiveEndpoint(String queueName, Consumer<ReceiveEndpointConfigurator> configure) {
         if (configure != null) {
-            ReceiveEndpointConfiguratorImpl cfg = new ReceiveEndpointConfiguratorImpl(queueName, exchangeNames, handlerRegistrations);
+            ReceiveEndpointConfiguratorImpl cfg = new ReceiveEndpointConfiguratorImpl(queueName, exchangeNames,
+                    handlerRegistrations, endpointDispatchSettings);
             configure.accept(cfg);
         }
     }
@@ -99,10 +111,16 @@ public class RabbitMqFactoryConfigurator implements BusFactoryConfigurator {
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     private static <T> void applyHandler(com.myservicebus.MessageBusImpl bus, HandlerRegistration<T> reg) throws Exception {
-        MessageSerializer serializer = reg.serializerClass != null
-                ? reg.serializerClass.getDeclaredConstructor().newInstance()
-                : null;
-        bus.addHandler(reg.queueName, reg.messageType, reg.exchange, reg.handler, reg.retryCount, reg.retryDelay, reg.prefetchCount, reg.queueArguments, serializer);
+        com.myservicebus.HandlerOptions options = new com.myservicebus.HandlerOptions();
+        options.setRetryPolicy(reg.retryPolicy);
+        options.setRedeliveryPolicy(reg.redeliveryPolicy);
+        options.setPrefetchCount(reg.prefetchCount);
+        options.setConsumerCount(reg.consumerCount);
+        options.setQueueArguments(reg.queueArguments);
+        if (reg.serializerClass != null) {
+            options.setSerializer(reg.serializerClass.getDeclaredConstructor().newInstance());
+        }
+        bus.addHandler(reg.queueName, reg.messageType, reg.exchange, reg.handler, options);
     }
 
     public String getClientHost() {
@@ -138,6 +156,134 @@ public class RabbitMqFactoryConfigurator implements BusFactoryConfigurator {
         return prefetchCount;
     }
 
+    /**
+     * Completes send and publish futures only once the broker has confirmed the message.
+     */
+    public void setPublisherConfirms(boolean publisherConfirms) {
+        this.publisherConfirms = publisherConfirms;
+    }
+
+    public boolean isPublisherConfirms() {
+        return publisherConfirms;
+    }
+
+    /**
+     * Limits the number of unconfirmed publishes per channel before publishers block.
+     */
+    public void setMaxUnconfirmedPublishes(int maxUnconfirmedPublishes) {
+        if (maxUnconfirmedPublishes < 1) {
+            throw new IllegalArgumentException("Max unconfirmed publishes must be positive");
+        }
+        this.maxUnconfirmedPublishes = maxUnconfirmedPublishes;
+    }
+
+    public int getMaxUnconfirmedPublishes() {
+        return maxUnconfirmedPublishes;
+    }
+
+    /**
+     * Sets how many channels publishing threads are striped across.
+     */
+    public void setPublishChannelCount(int publishChannelCount) {
+        if (publishChannelCount < 1) {
+            throw new IllegalArgumentException("Publish channel count must be positive");
+        }
+        this.publishChannelCount = publishChannelCount;
+    }
+
+    public int getPublishChannelCount() {
+        return publishChannelCount;
+    }
+
+    /**
+     * Sets how many contiguous deliveries are acknowledged with a single multiple ack.
+     * The effective batch never exceeds half the prefetch count.
+     */
+    public void setAckBatchSize(int ackBatchSize) {
+        if (ackBatchSize < 1) {
+            throw new IllegalArgumentException("Ack batch size must be positive");
+        }
+        this.ackBatchSize = ackBatchSize;
+    }
+
+    public int getAckBatchSize() {
+        return ackBatchSize;
+    }
+
+    /**
+     * Sets how deliveries are settled with the broker when their handler fails.
+     */
+    public void setFailedDeliveryAction(FailedDeliveryAction failedDeliveryAction) {
+        if (failedDeliveryAction == null) {
+            throw new IllegalArgumentException("Failed delivery action must not be null");
+        }
+        this.failedDeliveryAction = failedDeliveryAction;
+    }
+
+    public FailedDeliveryAction getFailedDeliveryAction() {
+        return failedDeliveryAction;
+    }
+
+    /**
+     * Sets how many broker connections are opened for the given role. Channels of
+     * that role are spread across the connections in turn.
+     */
+    public void setConnectionCount(ConnectionRole role, int connectionCount) {
+        if (connectionCount < 1) {
+            throw new IllegalArgumentException("Connection count must be positive");
+        }
+        connectionCounts.put(role, connectionCount);
+    }
+
+    public int getConnectionCount(ConnectionRole role) {
+        return connectionCounts.getOrDefault(role, 1);
+    }
+
+    public Map<ConnectionRole, Integer> getConnectionCounts() {
+        return Map.copyOf(connectionCounts);
+    }
+
+    /**
+     * Sets how many channels topology declarations are spread over during startup.
+     */
+    public void setTopologyParallelism(int topologyParallelism) {
+        if (topologyParallelism < 1) {
+            throw new IllegalArgumentException("Topology parallelism must be positive");
+        }
+        this.topologyParallelism = topologyParallelism;
+    }
+
+    public int getTopologyParallelism() {
+        return topologyParallelism;
+    }
+
+    /**
+     * Only checks that exchanges and queues exist instead of declaring them, for
+     * brokers whose topology is managed separately.
+     */
+    public void setVerifyTopologyOnly(boolean verifyTopologyOnly) {
+        this.verifyTopologyOnly = verifyTopologyOnly;
+    }
+
+    public boolean isVerifyTopologyOnly() {
+        return verifyTopologyOnly;
+    }
+
+    /**
+     * Sets the executor receive endpoints run their consume pipelines on and how many
+     * messages each endpoint handles at once. Endpoints can override this individually.
+     */
+    public void setDispatch(DispatchMode mode, int concurrentMessageLimit) {
+        this.dispatchSettings = new DispatchSettings(mode, concurrentMessageLimit);
+    }
+
+    /**
+     * Returns the dispatch settings for the given receive endpoint.
+     */
+    public DispatchSettings getDispatchSettings(String queueName) {
+        return endpointDispatchSettings.getOrDefault(queueName, dispatchSettings);
+    }
+
     public void setConsumerFactory(java.util.function.BiFunction<ServiceProvider, Class<?>, ConsumerFactory> factory) {
         this.consumerFactory = factory;
     }
@@ -187,27 +333,41 @@ public class RabbitMqFactoryConfigurator implements BusFactoryConfigurator {
         private final String queueName;
         private final Map<Class<?>, String> exchangeNames;
         private final java.util.List<HandlerRegistration<?>> handlers;
-        private Integer retryCount;
-        private Duration retryDelay;
-        private java.util.function.Consumer<RetryConfigurator> retry;
+        private final Map<String, DispatchSettings> dispatchSettings;
+        private RetryPolicy retryPolicy;
+        private RetryPolicy redeliveryPolicy;
         private Integer prefetchCount;
+        private Integer consumerCount;
         private Map<String, Object> queueArguments;
         private Class<? extends MessageSerializer> serializerClass;
 
-        ReceiveEndpointConfiguratorImpl(String queueName, Map<Class<?>, String> exchangeNames, java.util.List<HandlerRegistration<?>> handlers) {
+        ReceiveEndpointConfiguratorImpl(String queueName, Map<Class<?>, String> exchangeNames,
+                java.util.List<HandlerRegistration<?>> handlers, Map<String, DispatchSettings> dispatchSettings) {
             this.queueName = queueName;
             this.exchangeNames = exchangeNames;
             this.handlers = handlers;
+            this.dispatchSettings = dispatchSettings;
         }
 
         @Override
         public void useMessageRetry(java.util.function.Consumer<RetryConfigurator> configure) {
-            this.retry = configure;
             if (configure != null) {
                 RetryConfigurator rc = new RetryConfigurator();
                 configure.accept(rc);
-                this.retryCount = rc.getRetryCount();
-                this.retryDelay = rc.getDelay();
+                this.retryPolicy = rc.getPolicy();
+            } else {
+                this.retryPolicy = null;
+            }
+        }
+
+        @Override
+        public void useDelayedRedelivery(java.util.function.Consumer<RetryConfigurator> configure) {
+            if (configure != null) {
+                RetryConfigurator rc = new RetryConfigurator();
+                configure.accept(rc);
+                this.redeliveryPolicy = rc.getPolicy();
+            } else {
+                this.redeliveryPolicy = null;
             }
         }
 
@@ -216,6 +376,19 @@ public class RabbitMqFactoryConfigurator implements BusFactoryConfigurator {
             this.prefetchCount = prefetchCount;
         }
 
+        @Override
+        public void consumerCount(int consumerCount) {
+            if (consumerCount < 1) {
+                throw new IllegalArgumentException("Consumer count must be positive");
+            }
+            this.consumerCount = consumerCount;
+        }
+
+        @Override
+        public void dispatch(DispatchMode mode, int concurrentMessageLimit) {
+            dispatchSettings.put(queueName, new DispatchSettings(mode, concurrentMessageLimit));
+        }
+
         @Override
         public void setQueueArgument(String key, Object value) {
             if (this.queueArguments == null) {
@@ -247,18 +420,19 @@ public class RabbitMqFactoryConfigurator implements BusFactoryConfigurator {
                     binding.setEntityName(exchange);
                 }
 
-                if (retry != null) {
-                    RetryConfigurator rc = new RetryConfigurator();
-                    retry.accept(rc);
+                if (retryPolicy != null) {
+                    RetryPolicy policy = retryPolicy;
                     java.util.function.Consumer<PipeConfigurator<ConsumeContext<Object>>> existing = def.getConfigure();
                     def.setConfigure(pc -> {
-                        pc.useRetry(rc.getRetryCount(), rc.getDelay());
+                        pc.useRetry(policy);
                         if (existing != null)
                             existing.accept(pc);
                     });
                 }
 
+                def.setRedeliveryPolicy(redeliveryPolicy);
                 def.setPrefetchCount(prefetchCount);
+                def.setConsumerCount(consumerCount);
                 def.setQueueArguments(queueArguments);
                 def.setSerializerClass(serializerClass);
             } catch (Exception ex) {
@@ -272,7 +446,7 @@ public class RabbitMqFactoryConfigurator implements BusFactoryConfigurator {
             String exchange = exchangeNames.containsKey(messageType)
                     ? exchangeNames.get(messageType)
                     : EntityNameFormatter.format(messageType);
-            handlers.add(new HandlerRegistration<>(queueName, messageType, exchange, handler, retryCount, retryDelay, prefetchCount, queueArguments, serializerClass));
+            handlers.add(new HandlerRegistration<>(queueName, messageType, exchange, handler, retryPolicy, redeliveryPolicy, prefetchCount, consumerCount, queueArguments, serializerClass));
         }
     }
 
@@ -281,23 +455,25 @@ public class RabbitMqFactoryConfigurator implements BusFactoryConfigurator {
         final Class<T> messageType;
         final String exchange;
         final java.util.function.Function<ConsumeContext<T>, java.util.concurrent.CompletableFuture<Void>> handler;
-        final Integer retryCount;
-        final Duration retryDelay;
+        final RetryPolicy retryPolicy;
+        final RetryPolicy redeliveryPolicy;
         final Integer prefetchCount;
+        final Integer consumerCount;
         final Map<String, Object> queueArguments;
         final Class<? extends MessageSerializer> serializerClass;
 
         HandlerRegistration(String queueName, Class<T> messageType, String exchange,
                 java.util.function.Function<ConsumeContext<T>, java.util.concurrent.CompletableFuture<Void>> handler,
-                Integer retryCount, Duration retryDelay, Integer prefetchCount, Map<String, Object> queueArguments,
-                Class<? extends MessageSerializer> serializerClass) {
+                RetryPolicy retryPolicy, RetryPolicy redeliveryPolicy, Integer prefetchCount, Integer consumerCount,
+                Map<String, Object> queueArguments, Class<? extends MessageSerializer> serializerClass) {
             this.queueName = queueName;
             this.messageType = messageType;
             this.exchange = exchange;
             this.handler = handler;
-            this.retryCount = retryCount;
-            this.retryDelay = retryDelay;
+            this.retryPolicy = retryPolicy;
+            this.redeliveryPolicy = redeliveryPolicy;
             this.prefetchCount = prefetchCount;
+            this.consumerCount = consumerCount;
             this.queueArguments = queueArguments;
             this.serializerClass = serializerClass;
         }
@@ -2,6 +2,7 @@ package com.myservicebus.rabbitmq;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -12,14 +13,19 @@ import com.myservicebus.TransportMessage;
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.DeliverCallback;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Delivery;
 import com.myservicebus.logging.Logger;
 import com.myservicebus.logging.LoggerFactory;
+import com.myservicebus.serialization.DefaultInboundMessageResolver;
+import com.myservicebus.serialization.EnvelopeMessageDeserializer;
+import com.myservicebus.serialization.EnvelopeMessageTypeReader;
+import com.myservicebus.serialization.InboundMessageResolver;
 import com.myservicebus.serialization.MassTransitHeaderConvention;
 import com.myservicebus.serialization.MessageHeaderConvention;
 
 public class RabbitMqReceiveTransport implements ReceiveTransport {
+    private static final String MESSAGE_URN_PREFIX = "urn:message:";
+
     private final Channel channel;
     private final String queueName;
     private final Function<TransportMessage, CompletableFuture<Void>> handler;
@@ -27,57 +33,80 @@ public class RabbitMqReceiveTransport implements ReceiveTransport {
     private final Function<String, Boolean> isMessageTypeRegistered;
     private final Logger logger;
     private final MessageHeaderConvention headerConvention = MassTransitHeaderConvention.INSTANCE;
+    private final FailedDeliveryAction failedDeliveryAction;
+    private final AckCoordinator acks;
+    private final DeliveryDispatcher dispatcher;
+    private final InboundMessageResolver messageResolver;
 
     public RabbitMqReceiveTransport(Channel channel, String queueName,
             Function<TransportMessage, CompletableFuture<Void>> handler, String faultAddress,
             Function<String, Boolean> isMessageTypeRegistered, LoggerFactory loggerFactory) {
+        this(channel, queueName, handler, faultAddress, isMessageTypeRegistered, loggerFactory,
+                FailedDeliveryAction.ACK, 1);
+    }
+
+    public RabbitMqReceiveTransport(Channel channel, String queueName,
+            Function<TransportMessage, CompletableFuture<Void>> handler, String faultAddress,
+            Function<String, Boolean> isMessageTypeRegistered, LoggerFactory loggerFactory,
+            FailedDeliveryAction failedDeliveryAction, int ackBatchSize) {
+        this(channel, queueName, handler, faultAddress, isMessageTypeRegistered, loggerFactory,
+                failedDeliveryAction, ackBatchSize, null, null);
+    }
+
+    RabbitMqReceiveTransport(Channel channel, String queueName,
+            Function<TransportMessage, CompletableFuture<Void>> handler, String faultAddress,
+            Function<String, Boolean> isMessageTypeRegistered, LoggerFactory loggerFactory,
+            FailedDeliveryAction failedDeliveryAction, int ackBatchSize, DeliveryDispatcher dispatcher,
+            InboundMessageResolver messageResolver) {
         this.channel = channel;
         this.queueName = queueName;
         this.handler = handler;
         this.faultAddress = faultAddress;
         this.isMessageTypeRegistered = isMessageTypeRegistered;
         this.logger = loggerFactory.create(RabbitMqReceiveTransport.class);
+        this.failedDeliveryAction = failedDeliveryAction;
+        this.acks = new AckCoordinator(channel, ackBatchSize);
+        this.dispatcher = dispatcher;
+        this.messageResolver = messageResolver != null
+                ? messageResolver
+                : new DefaultInboundMessageResolver(new EnvelopeMessageDeserializer());
     }
 
     @Override
     public void start() throws Exception {
         DeliverCallback callback = (tag, delivery) -> {
-            final Map<String, Object> headers = delivery.getProperties().getHeaders() != null
-                    ? new HashMap<>(delivery.getProperties().getHeaders())
-                    : new HashMap<>();
-            if (delivery.getProperties().getContentType() != null) {
-                headers.put(headerConvention.getContentTypeHeader(), delivery.getProperties().getContentType());
-            } else {
-                headers.putIfAbsent(headerConvention.getContentTypeHeader(), "application/vnd.masstransit+json");
-            }
+            long deliveryTag = delivery.getEnvelope().getDeliveryTag();
+            acks.delivered(deliveryTag);
+            final Map<String, Object> headers = readHeaders(delivery.getProperties(), headerConvention);
             headers.putIfAbsent(headerConvention.getFaultAddressHeader(), faultAddress);
 
-            TransportMessage tm = new TransportMessage(delivery.getBody(), headers);
-            String messageTypeUrn = null;
-            try {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode node = mapper.readTree(delivery.getBody());
-                if (node.has("messageType") && node.get("messageType").isArray() && node.get("messageType").size() > 0) {
-                    messageTypeUrn = node.get("messageType").get(0).asText();
-                }
-            } catch (Exception e) {
-                logger.error("Failed to parse message type", e);
-            }
+            String messageTypeUrn = resolveMessageType(delivery.getProperties(), delivery.getBody(), headers);
 
             if (messageTypeUrn == null || !isMessageTypeRegistered.apply(messageTypeUrn)) {
-                channel.basicPublish(queueName + "_skipped", "", delivery.getProperties(), delivery.getBody());
-                channel.basicAck(delivery.getEnvelope().getDeliveryTag(), false);
+                moveToSkipped(deliveryTag, delivery);
                 return;
             }
 
+            TransportMessage tm = new TransportMessage(delivery.getBody(), headers, messageTypeUrn);
+
             logger.debug("Received message of type {}", messageTypeUrn);
-            handler.apply(tm).whenComplete((v, ex) -> {
+            CompletableFuture<Void> handled = dispatcher != null
+                    ? dispatcher.dispatch(() -> handler.apply(tm))
+                    : handler.apply(tm);
+            handled.whenComplete((v, ex) -> {
                 try {
-                    if (ex != null) {
-                        Throwable cause = ex instanceof java.util.concurrent.CompletionException ? ex.getCause() : ex;
-                        logger.error("Message handling failed", cause);
+                    if (ex == null) {
+                        acks.ack(deliveryTag);
+                        return;
+                    }
+
+                    Throwable cause = ex instanceof java.util.concurrent.CompletionException ? ex.getCause() : ex;
+                    logger.error("Message handling failed", cause);
+                    switch (failedDeliveryAction) {
+                        case REQUEUE -> acks.nack(deliveryTag, true);
+                        case REJECT -> acks.nack(deliveryTag, false);
+                        default -> acks.ack(deliveryTag);
                     }
-                    channel.basicAck(delivery.getEnvelope().getDeliveryTag(), false);
                 } catch (IOException ioEx) {
                     logger.error("Failed to (n)ack message", ioEx);
                 }
@@ -88,9 +117,90 @@ public class RabbitMqReceiveTransport implements ReceiveTransport {
         });
     }
 
+    /**
+     * Moves a delivery without a registered message type to the skipped queue.
+     * The tag is settled either way; an unsettled tag would stay in flight for the
+     * channel's lifetime. A failed move rejects the delivery instead of requeueing
+     * it, which would hand it straight back to the same failing publish.
+     */
+    private void moveToSkipped(long deliveryTag, Delivery delivery) {
+        String skippedQueue = queueName + "_skipped";
+        try {
+            try {
+                channel.basicPublish(skippedQueue, "", delivery.getProperties(), delivery.getBody());
+            } catch (IOException | RuntimeException ex) {
+                logger.error("Failed to move message to " + skippedQueue + "; rejecting it", ex);
+                acks.nack(deliveryTag, false);
+                return;
+            }
+            acks.ack(deliveryTag);
+        } catch (IOException ioEx) {
+            logger.error("Failed to (n)ack message", ioEx);
+        }
+    }
+
+    /**
+     * Returns the AMQP headers of a delivery together with its content type and
+     * content encoding properties under the convention's header names.
+     */
+    static Map<String, Object> readHeaders(AMQP.BasicProperties properties, MessageHeaderConvention headerConvention) {
+        Map<String, Object> headers = properties.getHeaders() != null
+                ? new HashMap<>(properties.getHeaders())
+                : new HashMap<>();
+        if (properties.getContentType() != null) {
+            headers.put(headerConvention.getContentTypeHeader(), properties.getContentType());
+        } else {
+            headers.putIfAbsent(headerConvention.getContentTypeHeader(), "application/vnd.masstransit+json");
+        }
+        if (properties.getContentEncoding() != null) {
+            headers.put(headerConvention.getContentEncodingHeader(), properties.getContentEncoding());
+        }
+        return headers;
+    }
+
+    /**
+     * Resolves the message type from the AMQP {@code type} property when the sender
+     * stamped one. Otherwise plain JSON bodies are scanned for the envelope's type
+     * without materializing them as a tree, while compressed and binary bodies are
+     * resolved the way the consume pipeline reads them.
+     */
+    private String resolveMessageType(AMQP.BasicProperties properties, byte[] body, Map<String, Object> headers) {
+        String type = properties.getType();
+        if (type != null && type.startsWith(MESSAGE_URN_PREFIX)) {
+            return type;
+        }
+
+        if (isPlainJson(headers)) {
+            try {
+                return EnvelopeMessageTypeReader.readMessageType(body);
+            } catch (Exception e) {
+                logger.error("Failed to parse message type", e);
+                return null;
+            }
+        }
+
+        try {
+            return messageResolver.resolve(new TransportMessage(body, headers)).getMessageType();
+        } catch (Exception e) {
+            logger.debug("Could not resolve the message type of a {} body: {}",
+                    headers.get(headerConvention.getContentTypeHeader()), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isPlainJson(Map<String, Object> headers) {
+        Object encoding = headers.get(headerConvention.getContentEncodingHeader());
+        if (encoding != null && !encoding.toString().isBlank() && !"identity".equalsIgnoreCase(encoding.toString())) {
+            return false;
+        }
+        Object contentType = headers.get(headerConvention.getContentTypeHeader());
+        return contentType == null || contentType.toString().toLowerCase(Locale.ROOT).contains("json");
+    }
+
     @Override
     public void stop() throws Exception {
         if (channel != null && channel.isOpen()) {
+            acks.flush();
             channel.close();
         }
     }
@@ -3,11 +3,13 @@ package com.myservicebus.rabbitmq;
 import java.time.OffsetDateTime;
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.myservicebus.Envelope;
 import com.myservicebus.Fault;
 import com.myservicebus.HostInfoProvider;
@@ -17,84 +19,114 @@ import com.myservicebus.RequestFaultException;
 import com.myservicebus.Response2;
 import com.myservicebus.RequestClientTransport;
 import com.myservicebus.SendContext;
+import com.myservicebus.TransportMessage;
+import com.myservicebus.serialization.DefaultInboundMessageResolver;
+import com.myservicebus.serialization.EnvelopeMessageDeserializer;
+import com.myservicebus.serialization.InboundMessage;
+import com.myservicebus.serialization.InboundMessageResolver;
+import com.myservicebus.serialization.MassTransitHeaderConvention;
+import com.myservicebus.serialization.SerializationRuntime;
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.BuiltinExchangeType;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
-import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
 
 /**
  * RabbitMQ transport implementation for request/response.
+ *
+ * <p>
+ * All requests share one long-lived reply queue per connection. Responses are
+ * matched to their pending request by request id, so a request costs a single
+ * publish plus the response delivery. Responses are read by content type and
+ * content encoding like messages on a receive endpoint; a response that cannot
+ * be read fails its request instead of leaving it to time out.
+ * </p>
  */
 public class RabbitMqRequestClientTransport implements RequestClientTransport {
     private final ConnectionProvider connectionProvider;
-    private final ObjectMapper mapper;
+    private final SerializationRuntime runtime;
+    private final ObjectWriter envelopeWriter;
+    private final InboundMessageResolver responseResolver;
+    private final ConcurrentHashMap<UUID, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+    private ReplyEndpoint replyEndpoint;
 
     public RabbitMqRequestClientTransport(ConnectionProvider connectionProvider) {
+        this(connectionProvider, SerializationRuntime.shared());
+    }
+
+    public RabbitMqRequestClientTransport(ConnectionProvider connectionProvider, SerializationRuntime runtime) {
+        this(connectionProvider, runtime, new DefaultInboundMessageResolver(new EnvelopeMessageDeserializer(runtime),
+                MassTransitHeaderConvention.INSTANCE, runtime));
+    }
+
+    /**
+     * Creates a transport that reads responses with {@code responseResolver}, so
+     * responses in any content type or content encoding the receive endpoints
+     * accept are understood.
+     */
+    public RabbitMqRequestClientTransport(ConnectionProvider connectionProvider, SerializationRuntime runtime,
+            InboundMessageResolver responseResolver) {
         this.connectionProvider = connectionProvider;
-        this.mapper = new ObjectMapper();
-        this.mapper.findAndRegisterModules();
+        this.runtime = runtime;
+        this.envelopeWriter = runtime.writer(Envelope.class);
+        this.responseResolver = responseResolver;
     }
 
     @Override
     public <TRequest, TResponse> CompletableFuture<TResponse> sendRequest(Class<TRequest> requestType,
             SendContext context,
             Class<TResponse> responseType) {
-        CompletableFuture<TResponse> future = new CompletableFuture<>();
-        try {
-            Connection connection = connectionProvider.getOrCreateConnection();
-            Channel channel = connection.createChannel();
-
-            String responseExchange = "resp-" + UUID.randomUUID();
-            String responseQueue = channel.queueDeclare().getQueue();
-            channel.exchangeDeclare(responseExchange, BuiltinExchangeType.FANOUT, false, true, null);
-            channel.queueBind(responseQueue, responseExchange, "");
-            String address = connectionProvider.getPublishAddress(responseExchange)
-                    + "?durable=false&autodelete=true";
-
-            DeliverCallback callback = (tag, delivery) -> {
-                try {
-                    if (hasMessageType(delivery.getBody(), faultUrn(requestType))) {
-                        JavaType faultInner = mapper.getTypeFactory().constructParametricType(Fault.class, requestType);
-                        JavaType faultType = mapper.getTypeFactory().constructParametricType(Envelope.class,
-                                faultInner);
-                        Envelope<Fault<TRequest>> fault = mapper.readValue(delivery.getBody(), faultType);
-                        future.completeExceptionally(
-                                new RequestFaultException(requestType.getSimpleName(), fault.getMessage()));
-                    } else {
-                        JavaType type = mapper.getTypeFactory().constructParametricType(Envelope.class, responseType);
-                        Envelope<TResponse> envelope = mapper.readValue(delivery.getBody(), type);
-                        future.complete(envelope.getMessage());
-                    }
-                } catch (Exception ex) {
-                    future.completeExceptionally(ex);
-                } finally {
-                    try {
-                        channel.basicCancel(tag);
-                        channel.queueDelete(responseQueue);
-                        channel.close();
-                    } catch (Exception ignore) {
-                    }
-                }
-            };
+        return sendRequest(requestType, context, response -> response.getMessage(responseType));
+    }
+
+    @Override
+    public <TRequest, T1, T2> CompletableFuture<Response2<T1, T2>> sendRequest(Class<TRequest> requestType,
+            SendContext context,
+            Class<T1> responseType1, Class<T2> responseType2) {
+        return sendRequest(requestType, context, response -> {
+            if (hasMessageType(response, MessageUrn.forClass(responseType1))) {
+                T1 message = response.getMessage(responseType1);
+                return Response2.fromT1(message);
+            }
+            T2 message = response.getMessage(responseType2);
+            return Response2.fromT2(message);
+        });
+    }
 
-            channel.basicConsume(responseQueue, true, callback, consumerTag -> {
-            });
+    private <TRequest, TResult> CompletableFuture<TResult> sendRequest(Class<TRequest> requestType,
+            SendContext context, ResponseReader<TResult> reader) {
+        CompletableFuture<TResult> future = new CompletableFuture<>();
+        UUID requestId = context.getRequestId() != null ? context.getRequestId() : UUID.randomUUID();
+        pendingRequests.put(requestId, new PendingRequest(future, response -> {
+            if (hasMessageType(response, faultUrn(requestType))) {
+                JavaType faultType = runtime.getMapper().getTypeFactory().constructParametricType(Fault.class,
+                        requestType);
+                Fault<TRequest> fault = response.getMessage(faultType);
+                future.completeExceptionally(new RequestFaultException(requestType.getSimpleName(), fault));
+            } else {
+                future.complete(reader.read(response));
+            }
+        }));
+        // Timed out and cancelled requests must not linger in the correlation table.
+        future.whenComplete((result, exception) -> pendingRequests.remove(requestId));
+
+        try {
+            ReplyEndpoint endpoint = getReplyEndpoint();
 
             String destinationAddress = requestAddress(requestType, context);
             String exchange = exchangeName(destinationAddress);
-            channel.exchangeDeclare(exchange, BuiltinExchangeType.FANOUT, true);
 
             Envelope<TRequest> envelope = new Envelope<>();
             envelope.setMessageId(UUID.randomUUID());
-            envelope.setRequestId(context.getRequestId() != null ? context.getRequestId() : UUID.randomUUID());
+            envelope.setRequestId(requestId);
             envelope.setCorrelationId(context.getCorrelationId());
             envelope.setConversationId(context.getConversationId());
             envelope.setInitiatorId(context.getInitiatorId());
             envelope.setSentTime(OffsetDateTime.now());
             envelope.setDestinationAddress(destinationAddress);
-            envelope.setResponseAddress(address);
-            envelope.setFaultAddress(address);
+            envelope.setResponseAddress(endpoint.address());
+            envelope.setFaultAddress(endpoint.address());
             envelope.setMessageType(List.of(MessageUrn.forClass(requestType)));
             @SuppressWarnings("unchecked")
             TRequest request = (TRequest) context.getMessage();
@@ -103,102 +135,98 @@ public class RabbitMqRequestClientTransport implements RequestClientTransport {
             envelope.setContentType("application/json");
             envelope.setHost(HostInfoProvider.capture());
 
-            byte[] body = mapper.writeValueAsBytes(envelope);
+            byte[] body = envelopeWriter.writeValueAsBytes(envelope);
             AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
                     .contentType("application/vnd.masstransit+json")
+                    .type(MessageUrn.forClass(requestType))
                     .build();
-            channel.basicPublish(exchange, "", props, body);
+            endpoint.publish(exchange, props, body);
         } catch (Exception ex) {
             future.completeExceptionally(ex);
         }
         return future;
     }
 
-    @Override
-    public <TRequest, T1, T2> CompletableFuture<Response2<T1, T2>> sendRequest(Class<TRequest> requestType,
-            SendContext context,
-            Class<T1> responseType1, Class<T2> responseType2) {
-        CompletableFuture<Response2<T1, T2>> future = new CompletableFuture<>();
-        try {
-            Connection connection = connectionProvider.getOrCreateConnection();
-            Channel channel = connection.createChannel();
-
-            String responseExchange = "resp-" + UUID.randomUUID();
-            String responseQueue = channel.queueDeclare().getQueue();
-            channel.exchangeDeclare(responseExchange, BuiltinExchangeType.FANOUT, false, true, null);
-            channel.queueBind(responseQueue, responseExchange, "");
-            String address = connectionProvider.getPublishAddress(responseExchange)
-                    + "?durable=false&autodelete=true";
-
-            DeliverCallback callback = (tag, delivery) -> {
-                try {
-                    if (hasMessageType(delivery.getBody(), faultUrn(requestType))) {
-                        JavaType faultInner = mapper.getTypeFactory().constructParametricType(Fault.class, requestType);
-                        JavaType faultType = mapper.getTypeFactory().constructParametricType(Envelope.class,
-                                faultInner);
-                        Envelope<Fault<TRequest>> fault = mapper.readValue(delivery.getBody(), faultType);
-                        future.completeExceptionally(
-                                new RequestFaultException(requestType.getSimpleName(), fault.getMessage()));
-                    } else if (hasMessageType(delivery.getBody(), MessageUrn.forClass(responseType1))) {
-                        JavaType type1 = mapper.getTypeFactory().constructParametricType(Envelope.class, responseType1);
-                        Envelope<T1> env1 = mapper.readValue(delivery.getBody(), type1);
-                        future.complete(Response2.fromT1(env1.getMessage()));
-                    } else {
-                        JavaType type2 = mapper.getTypeFactory().constructParametricType(Envelope.class, responseType2);
-                        Envelope<T2> env2 = mapper.readValue(delivery.getBody(), type2);
-                        future.complete(Response2.fromT2(env2.getMessage()));
-                    }
-                } catch (Exception ex) {
-                    future.completeExceptionally(ex);
-                } finally {
-                    try {
-                        channel.basicCancel(tag);
-                        channel.queueDelete(responseQueue);
-                        channel.close();
-                    } catch (Exception ignore) {
-                    }
-                }
-            };
+    /**
+     * Returns the shared reply endpoint, declaring the reply queue and exchange
+     * and starting its consumer the first time or after the channel closed.
+     */
+    private synchronized ReplyEndpoint getReplyEndpoint() throws Exception {
+        if (replyEndpoint != null && replyEndpoint.channel().isOpen()) {
+            return replyEndpoint;
+        }
 
-            channel.basicConsume(responseQueue, true, callback, consumerTag -> {
-            });
+        Connection connection = connectionProvider.getOrCreateConnection(ConnectionRole.REQUEST);
+        Channel channel = connection.createChannel();
 
-            String destinationAddress = requestAddress(requestType, context);
-            String exchange = exchangeName(destinationAddress);
-            channel.exchangeDeclare(exchange, BuiltinExchangeType.FANOUT, true);
+        String responseExchange = "resp-" + UUID.randomUUID();
+        String responseQueue = channel.queueDeclare().getQueue();
+        channel.exchangeDeclare(responseExchange, BuiltinExchangeType.FANOUT, false, true, null);
+        channel.queueBind(responseQueue, responseExchange, "");
+        channel.addShutdownListener(this::failPendingRequests);
+        channel.basicConsume(responseQueue, true, this::handleResponse, consumerTag -> {
+        });
 
-            Envelope<TRequest> envelope = new Envelope<>();
-            envelope.setMessageId(UUID.randomUUID());
-            envelope.setRequestId(context.getRequestId() != null ? context.getRequestId() : UUID.randomUUID());
-            envelope.setCorrelationId(context.getCorrelationId());
-            envelope.setConversationId(context.getConversationId());
-            envelope.setInitiatorId(context.getInitiatorId());
-            envelope.setSentTime(OffsetDateTime.now());
-            envelope.setDestinationAddress(destinationAddress);
-            envelope.setResponseAddress(address);
-            envelope.setFaultAddress(address);
-            envelope.setMessageType(List.of(MessageUrn.forClass(requestType)));
-            @SuppressWarnings("unchecked")
-            TRequest request = (TRequest) context.getMessage();
-            envelope.setMessage(request);
-            envelope.setHeaders(context.getHeaders());
-            envelope.setContentType("application/json");
-            envelope.setHost(HostInfoProvider.capture());
+        String address = connectionProvider.getPublishAddress(responseExchange)
+                + "?durable=false&autodelete=true";
+        replyEndpoint = new ReplyEndpoint(channel, address, ConcurrentHashMap.newKeySet());
+        return replyEndpoint;
+    }
 
-            byte[] body = mapper.writeValueAsBytes(envelope);
-            AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
-                    .contentType("application/vnd.masstransit+json")
-                    .build();
-            channel.basicPublish(exchange, "", props, body);
+    private void handleResponse(String consumerTag, Delivery delivery) {
+        InboundMessage response;
+        UUID requestId;
+        try {
+            response = responseResolver.resolve(new TransportMessage(delivery.getBody(),
+                    RabbitMqReceiveTransport.readHeaders(delivery.getProperties(), MassTransitHeaderConvention.INSTANCE)));
+            requestId = response.getRequestId();
         } catch (Exception ex) {
-            future.completeExceptionally(ex);
+            // Without a readable envelope the request id can only come from the AMQP correlation id.
+            PendingRequest pending = removePending(parseUuid(delivery.getProperties().getCorrelationId()));
+            if (pending != null) {
+                pending.future().completeExceptionally(ex);
+            }
+            return;
+        }
+
+        PendingRequest pending = removePending(requestId);
+        if (pending == null) {
+            return;
+        }
+
+        try {
+            pending.callback().handle(response);
+        } catch (Exception ex) {
+            pending.future().completeExceptionally(ex);
         }
-        return future;
     }
 
-    private boolean hasMessageType(byte[] body, String expectedUrn) throws Exception {
-        Envelope<?> envelope = mapper.readValue(body, Envelope.class);
-        return envelope.getMessageType() != null && envelope.getMessageType().contains(expectedUrn);
+    private PendingRequest removePending(UUID requestId) {
+        return requestId != null ? pendingRequests.remove(requestId) : null;
+    }
+
+    private static UUID parseUuid(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private void failPendingRequests(Throwable cause) {
+        for (UUID requestId : pendingRequests.keySet()) {
+            PendingRequest pending = pendingRequests.remove(requestId);
+            if (pending != null) {
+                pending.future().completeExceptionally(cause);
+            }
+        }
+    }
+
+    private static boolean hasMessageType(InboundMessage response, String expectedUrn) {
+        return response.getMessageTypes() != null && response.getMessageTypes().contains(expectedUrn);
     }
 
     private static String faultUrn(Class<?> requestType) {
@@ -225,4 +253,29 @@ public class RabbitMqRequestClientTransport implements RequestClientTransport {
 
         throw new IllegalArgumentException("RabbitMQ request destination must identify an exchange: " + address);
     }
+
+    @FunctionalInterface
+    private interface ResponseReader<TResult> {
+        TResult read(InboundMessage response) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface ResponseCallback {
+        void handle(InboundMessage response) throws Exception;
+    }
+
+    private record PendingRequest(CompletableFuture<?> future, ResponseCallback callback) {
+    }
+
+    private record ReplyEndpoint(Channel channel, String address, Set<String> declaredExchanges) {
+        void publish(String exchange, AMQP.BasicProperties props, byte[] body) throws Exception {
+            synchronized (channel) {
+                if (!declaredExchanges.contains(exchange)) {
+                    channel.exchangeDeclare(exchange, BuiltinExchangeType.FANOUT, true);
+                    declaredExchanges.add(exchange);
+                }
+                channel.basicPublish(exchange, "", props, body);
+            }
+        }
+    }
 }
@@ -2,8 +2,12 @@ package com.myservicebus.rabbitmq;
 
 import com.myservicebus.SendContext;
 import com.myservicebus.SendTransport;
+import com.myservicebus.serialization.MessageBuffer;
+import com.myservicebus.serialization.MessageEnvelopeMode;
 import com.myservicebus.serialization.MessageSerializer;
 import com.myservicebus.logging.LoggerFactory;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 public class RabbitMqSendEndpoint {
@@ -16,15 +20,39 @@ public class RabbitMqSendEndpoint {
     }
 
     public CompletableFuture<Void> send(SendContext context) {
+        if (context.getOriginalMessage() != null) {
+            try {
+                byte[] body = context.serialize(serializer);
+                return transport.sendAsync(body, transportHeaders(context), contentType(context));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        // The body is written into the thread's pooled buffer, which the transport
+        // has finished reading by the time sendAsync returns.
+        MessageBuffer buffer = MessageBuffer.acquire();
         try {
-            byte[] body = context.serialize(serializer);
-            String contentType = context.getHeaders().getOrDefault("content_type", "application/vnd.masstransit+json").toString();
-            transport.send(body, context.getHeaders(), contentType);
-            return CompletableFuture.completedFuture(null);
+            context.serialize(serializer, buffer);
+            return transport.sendAsync(buffer.toByteBuffer(), transportHeaders(context), contentType(context));
         } catch (Exception e) {
-            CompletableFuture<Void> future = new CompletableFuture<>();
-            future.completeExceptionally(e);
-            return future;
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static String contentType(SendContext context) {
+        return context.getHeaders().getOrDefault("content_type", "application/vnd.masstransit+json").toString();
+    }
+
+    private Map<String, Object> transportHeaders(SendContext context) {
+        Map<String, Object> headers = context.getHeaders();
+        if (serializer.getEnvelopeMode() == MessageEnvelopeMode.ENVELOPE) {
+            // Lets receivers route on the AMQP type property without parsing the body.
+            headers = new HashMap<>(headers);
+            headers.putIfAbsent("_type", context.getMessageType());
         }
+        return headers;
     }
 }
@@ -8,17 +8,28 @@ import com.myservicebus.SendContextFactory;
 import com.myservicebus.TransportSendEndpointProvider;
 import com.myservicebus.serialization.MessageSerializer;
 import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import com.myservicebus.logging.LoggerFactory;
 
 public class RabbitMqSendEndpointProvider implements TransportSendEndpointProvider {
+    static final int MAX_CACHED_ENDPOINTS = 1024;
+
     private final RabbitMqTransportFactory transportFactory;
     private final SendPipe sendPipe;
     private final MessageSerializer serializer;
     private final URI busAddress;
     private final SendContextFactory sendContextFactory;
     private final LoggerFactory loggerFactory;
+    // Least recently used addresses, such as per-request reply addresses, are evicted once the cache is full.
+    private final Map<String, SendEndpoint> endpoints = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SendEndpoint> eldest) {
+            return size() > MAX_CACHED_ENDPOINTS;
+        }
+    };
 
     public RabbitMqSendEndpointProvider(RabbitMqTransportFactory transportFactory, SendPipe sendPipe,
             MessageSerializer serializer, URI busAddress, SendContextFactory sendContextFactory, LoggerFactory loggerFactory) {
@@ -37,114 +48,96 @@ public class RabbitMqSendEndpointProvider implements TransportSendEndpointProvid
 
     @Override
     public SendEndpoint getSendEndpoint(String uri) {
+        SendEndpoint endpoint;
+        synchronized (endpoints) {
+            endpoint = endpoints.get(uri);
+        }
+        if (endpoint != null) {
+            return endpoint;
+        }
+
+        // Resolved outside the lock; the transport may have to declare the destination first.
+        endpoint = createSendEndpoint(uri);
+        synchronized (endpoints) {
+            SendEndpoint existing = endpoints.putIfAbsent(uri, endpoint);
+            return existing != null ? existing : endpoint;
+        }
+    }
+
+    private SendEndpoint createSendEndpoint(String uri) {
         URI target = URI.create(uri);
         String path = target.getPath();
         SendTransport transport;
-        if ("exchange".equalsIgnoreCase(target.getScheme())) {
+        if ("exchange".equalsIgnoreCase(target.getScheme()) || "queue".equalsIgnoreCase(target.getScheme())) {
             String spec = target.getSchemeSpecificPart();
-            String exchange = spec;
-            boolean durable = true;
-            boolean autoDelete = false;
             int idx = spec.indexOf('?');
-            if (idx >= 0) {
-                String query = spec.substring(idx + 1);
-                exchange = spec.substring(0, idx);
-                String[] parts = query.split("&");
-                for (String part : parts) {
-                    String[] kv = part.split("=", 2);
-                    if (kv.length == 2) {
-                        if (kv[0].equalsIgnoreCase("durable")) {
-                            durable = Boolean.parseBoolean(kv[1]);
-                        } else if (kv[0].equalsIgnoreCase("autodelete")) {
-                            autoDelete = Boolean.parseBoolean(kv[1]);
-                        }
-                    }
-                }
-            }
-            transport = transportFactory.getSendTransport(exchange, durable, autoDelete);
-        } else if ("queue".equalsIgnoreCase(target.getScheme())) {
-            String spec = target.getSchemeSpecificPart();
-            String queue = spec;
-            boolean durable = true;
-            boolean autoDelete = false;
-            int idx = spec.indexOf('?');
-            if (idx >= 0) {
-                String query = spec.substring(idx + 1);
-                queue = spec.substring(0, idx);
-                String[] parts = query.split("&");
-                for (String part : parts) {
-                    String[] kv = part.split("=", 2);
-                    if (kv.length == 2) {
-                        if (kv[0].equalsIgnoreCase("durable")) {
-                            durable = Boolean.parseBoolean(kv[1]);
-                        } else if (kv[0].equalsIgnoreCase("autodelete")) {
-                            autoDelete = Boolean.parseBoolean(kv[1]);
-                        }
-                    }
-                }
-            }
-            transport = transportFactory.getQueueTransport(queue, durable, autoDelete);
+            String name = idx >= 0 ? spec.substring(0, idx) : spec;
+            String query = idx >= 0 ? spec.substring(idx + 1) : null;
+            transport = "exchange".equalsIgnoreCase(target.getScheme())
+                    ? transportFactory.getSendTransport(name, queryFlag(query, "durable", true),
+                            queryFlag(query, "autodelete", false))
+                    : transportFactory.getQueueTransport(name, queryFlag(query, "durable", true),
+                            queryFlag(query, "autodelete", false));
         } else if (path != null && path.startsWith("/exchange/")) {
-            String exchange = path.substring("/exchange/".length());
-            boolean durable = true;
-            boolean autoDelete = false;
             String query = target.getQuery();
-            if (query != null) {
-                String[] parts = query.split("&");
-                for (String part : parts) {
-                    String[] kv = part.split("=", 2);
-                    if (kv.length == 2) {
-                        if (kv[0].equalsIgnoreCase("durable")) {
-                            durable = Boolean.parseBoolean(kv[1]);
-                        } else if (kv[0].equalsIgnoreCase("autodelete")) {
-                            autoDelete = Boolean.parseBoolean(kv[1]);
-                        }
-                    }
-                }
-            }
-            transport = transportFactory.getSendTransport(exchange, durable, autoDelete);
+            transport = transportFactory.getSendTransport(path.substring("/exchange/".length()),
+                    queryFlag(query, "durable", true), queryFlag(query, "autodelete", false));
         } else {
-            String queue = path != null && path.startsWith("/") ? path.substring(1) : path;
-            boolean durable = true;
-            boolean autoDelete = false;
             String query = target.getQuery();
-            if (query != null) {
-                String[] parts = query.split("&");
-                for (String part : parts) {
-                    String[] kv = part.split("=", 2);
-                    if (kv.length == 2) {
-                        if (kv[0].equalsIgnoreCase("durable")) {
-                            durable = Boolean.parseBoolean(kv[1]);
-                        } else if (kv[0].equalsIgnoreCase("autodelete")) {
-                            autoDelete = Boolean.parseBoolean(kv[1]);
-                        }
-                    }
-                }
-            }
-            transport = transportFactory.getQueueTransport(queue, durable, autoDelete);
+            String queue = path != null && path.startsWith("/") ? path.substring(1) : path;
+            transport = transportFactory.getQueueTransport(queue,
+                    queryFlag(query, "durable", true), queryFlag(query, "autodelete", false));
         }
-        RabbitMqSendEndpoint endpoint = new RabbitMqSendEndpoint(transport, serializer, loggerFactory);
-        return new SendEndpoint() {
-            @Override
-            public CompletableFuture<Void> send(SendContext ctx) {
-                ctx.setSourceAddress(busAddress);
-                ctx.setDestinationAddress(target);
-                return sendPipe.send(ctx).thenCompose(v -> endpoint.send(ctx));
-            }
+        return new CachedSendEndpoint(target, new RabbitMqSendEndpoint(transport, serializer, loggerFactory));
+    }
 
-            @Override
-            public <T> CompletableFuture<Void> send(T message,
-                    com.myservicebus.tasks.CancellationToken cancellationToken) {
-                return send(sendContextFactory.create(message, cancellationToken));
-            }
+    private static boolean queryFlag(String query, String name, boolean defaultValue) {
+        if (query == null) {
+            return defaultValue;
+        }
 
-            @Override
-            public <T> CompletableFuture<Void> send(T message, Consumer<SendContext> contextCallback,
-                    com.myservicebus.tasks.CancellationToken cancellationToken) {
-                SendContext ctx = sendContextFactory.create(message, cancellationToken);
-                contextCallback.accept(ctx);
-                return send(ctx);
+        boolean value = defaultValue;
+        for (String part : query.split("&")) {
+            String[] kv = part.split("=", 2);
+            if (kv.length == 2 && kv[0].equalsIgnoreCase(name)) {
+                value = Boolean.parseBoolean(kv[1]);
             }
-        };
+        }
+        return value;
+    }
+
+    /**
+     * A send endpoint whose address has been parsed and whose transport has been
+     * resolved once, so repeated sends to the same address skip both steps.
+     */
+    private final class CachedSendEndpoint implements SendEndpoint {
+        private final URI target;
+        private final RabbitMqSendEndpoint endpoint;
+
+        CachedSendEndpoint(URI target, RabbitMqSendEndpoint endpoint) {
+            this.target = target;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public CompletableFuture<Void> send(SendContext ctx) {
+            ctx.setSourceAddress(busAddress);
+            ctx.setDestinationAddress(target);
+            return sendPipe.send(ctx).thenCompose(v -> endpoint.send(ctx));
+        }
+
+        @Override
+        public <T> CompletableFuture<Void> send(T message,
+                com.myservicebus.tasks.CancellationToken cancellationToken) {
+            return send(sendContextFactory.create(message, cancellationToken));
+        }
+
+        @Override
+        public <T> CompletableFuture<Void> send(T message, Consumer<SendContext> contextCallback,
+                com.myservicebus.tasks.CancellationToken cancellationToken) {
+            SendContext ctx = sendContextFactory.create(message, cancellationToken);
+            contextCallback.accept(ctx);
+            return send(ctx);
+        }
     }
 }
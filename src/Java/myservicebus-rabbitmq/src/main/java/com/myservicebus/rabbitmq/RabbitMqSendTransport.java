@@ -1,80 +1,149 @@
 package com.myservicebus.rabbitmq;
 
 import com.myservicebus.SendTransport;
+import com.myservicebus.serialization.MassTransitHeaderConvention;
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class RabbitMqSendTransport implements SendTransport {
-    private final Channel channel;
+    private static final String CONTENT_ENCODING_HEADER = MassTransitHeaderConvention.INSTANCE.getContentEncodingHeader();
+
+    private final PublishChannelPool channels;
     private final String exchange;
     private final String routingKey;
 
     public RabbitMqSendTransport(Channel channel, String exchange, String routingKey) {
-        this.channel = channel;
+        this(channel, exchange, routingKey, null);
+    }
+
+    /**
+     * Creates a transport whose asynchronous sends complete on broker confirmation.
+     * The channel must already be in confirm mode with {@code confirms} registered
+     * as its confirm listener.
+     */
+    public RabbitMqSendTransport(Channel channel, String exchange, String routingKey,
+            PublisherConfirmTracker confirms) {
+        this(PublishChannelPool.of(new PublishChannel(channel, confirms)), exchange, routingKey);
+    }
+
+    /**
+     * Creates a transport that publishes through a shared channel pool. The
+     * destination must already be declared.
+     */
+    public RabbitMqSendTransport(PublishChannelPool channels, String exchange, String routingKey) {
+        this.channels = channels;
         this.exchange = exchange;
         this.routingKey = routingKey;
     }
 
     @Override
     public void send(byte[] data, Map<String, Object> headers, String contentType) {
-        try {
-            Map<String, Object> amqpHeaders = new HashMap<>();
-            AMQP.BasicProperties.Builder builder = new AMQP.BasicProperties.Builder().contentType(contentType);
+        PublishChannel channel = acquire();
+        if (channel.getConfirms() != null) {
+            // Confirmation is not awaited here; only failures to write the publish are surfaced.
+            CompletableFuture<Void> confirmation = channel.publishConfirmed(
+                    exchange, routingKey, buildProperties(headers, contentType), data);
+            if (confirmation.isCompletedExceptionally()) {
+                confirmation.join();
+            }
+            return;
+        }
 
-            headers.forEach((k, v) -> {
-                if (k.startsWith("_")) {
-                    String key = k.substring(1);
-                    String value = v == null ? null : v.toString();
-                    switch (key) {
-                        case "content_type":
-                            builder.contentType(value);
-                            break;
-                        case "correlation_id":
-                            builder.correlationId(value);
-                            break;
-                        case "message_id":
-                            builder.messageId(value);
-                            break;
-                        case "reply_to":
-                            builder.replyTo(value);
-                            break;
-                        case "type":
-                            builder.type(value);
-                            break;
-                        case "user_id":
-                            builder.userId(value);
-                            break;
-                        case "app_id":
-                            builder.appId(value);
-                            break;
-                        case "expiration":
-                            builder.expiration(value);
-                            break;
-                        default:
-                            if (v instanceof String s)
-                                amqpHeaders.put(key, s.getBytes(StandardCharsets.UTF_8));
-                            else
-                                amqpHeaders.put(key, v);
-                            break;
-                    }
-                } else {
-                    if (v instanceof String s)
-                        amqpHeaders.put(k, s.getBytes(StandardCharsets.UTF_8));
-                    else
-                        amqpHeaders.put(k, v);
-                }
-            });
+        try {
+            channel.publish(exchange, routingKey, buildProperties(headers, contentType), data);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to send message", e);
+        }
+    }
 
-            if (!amqpHeaders.isEmpty())
-                builder.headers(amqpHeaders);
+    @Override
+    public CompletableFuture<Void> sendAsync(byte[] data, Map<String, Object> headers, String contentType) {
+        PublishChannel channel;
+        try {
+            channel = acquire();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (channel.getConfirms() == null) {
+            try {
+                channel.publish(exchange, routingKey, buildProperties(headers, contentType), data);
+                return CompletableFuture.completedFuture(null);
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(new RuntimeException("Failed to send message", e));
+            }
+        }
+        return channel.publishConfirmed(exchange, routingKey, buildProperties(headers, contentType), data);
+    }
 
-            AMQP.BasicProperties props = builder.build();
-            channel.basicPublish(exchange, routingKey, props, data);
+    PublishChannel acquire() {
+        try {
+            return channels.acquire();
         } catch (Exception e) {
             throw new RuntimeException("Failed to send message", e);
         }
     }
+
+    private static AMQP.BasicProperties buildProperties(Map<String, Object> headers, String contentType) {
+        Map<String, Object> amqpHeaders = new HashMap<>();
+        AMQP.BasicProperties.Builder builder = new AMQP.BasicProperties.Builder().contentType(contentType);
+
+        headers.forEach((k, v) -> {
+            if (k.equals(CONTENT_ENCODING_HEADER)) {
+                // Sent as the AMQP property so other clients see how the body is encoded.
+                builder.contentEncoding(v == null ? null : v.toString());
+            } else if (k.startsWith("_")) {
+                String key = k.substring(1);
+                String value = v == null ? null : v.toString();
+                switch (key) {
+                    case "content_type":
+                        builder.contentType(value);
+                        break;
+                    case "content_encoding":
+                        builder.contentEncoding(value);
+                        break;
+                    case "correlation_id":
+                        builder.correlationId(value);
+                        break;
+                    case "message_id":
+                        builder.messageId(value);
+                        break;
+                    case "reply_to":
+                        builder.replyTo(value);
+                        break;
+                    case "type":
+                        builder.type(value);
+                        break;
+                    case "user_id":
+                        builder.userId(value);
+                        break;
+                    case "app_id":
+                        builder.appId(value);
+                        break;
+                    case "expiration":
+                        builder.expiration(value);
+                        break;
+                    default:
+                        if (v instanceof String s)
+                            amqpHeaders.put(key, s.getBytes(StandardCharsets.UTF_8));
+                        else
+                            amqpHeaders.put(key, v);
+                        break;
+                }
+            } else {
+                if (v instanceof String s)
+                    amqpHeaders.put(k, s.getBytes(StandardCharsets.UTF_8));
+                else
+                    amqpHeaders.put(k, v);
+            }
+        });
+
+        if (!amqpHeaders.isEmpty())
+            builder.headers(amqpHeaders);
+
+        return builder.build();
+    }
 }
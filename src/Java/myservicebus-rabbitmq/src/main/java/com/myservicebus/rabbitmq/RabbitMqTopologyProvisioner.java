@@ -0,0 +1,287 @@
+package com.myservicebus.rabbitmq;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.myservicebus.topology.MessageBinding;
+import com.rabbitmq.client.BuiltinExchangeType;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+
+/**
+ * Declares exchanges, queues and bindings, each at most once while the
+ * connection they were declared on stays open.
+ *
+ * <p>
+ * Declarations are deduplicated by entity name, so the first declaration of an
+ * entity wins. Exchanges and queues are declared before bindings, and each phase
+ * is spread over up to {@code parallelism} short-lived channels. The channels are
+ * driven by one pool owned by the provisioner, whose threads end once they have
+ * been idle for a while and which {@link #close()} shuts down. In verify-only
+ * mode exchanges and queues are declared passively, so startup fails if they are
+ * missing, and bindings are left untouched.
+ * </p>
+ */
+public class RabbitMqTopologyProvisioner implements AutoCloseable {
+    private static final long IDLE_SECONDS = 30;
+
+    private final ConnectionProvider connectionProvider;
+    private final int parallelism;
+    private final boolean verifyOnly;
+    private final ExecutorService executor;
+    private final Set<String> declared = ConcurrentHashMap.newKeySet();
+    private Connection declaredOn;
+
+    public RabbitMqTopologyProvisioner(ConnectionProvider connectionProvider, int parallelism, boolean verifyOnly) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Topology parallelism must be positive");
+        }
+        this.connectionProvider = connectionProvider;
+        this.parallelism = parallelism;
+        this.verifyOnly = verifyOnly;
+        this.executor = parallelism > 1 ? newExecutor(parallelism) : null;
+    }
+
+    /**
+     * Declares every entity in {@code declarations} that has not been declared yet.
+     */
+    public synchronized void provision(Collection<? extends Declaration> declarations) throws Exception {
+        Map<String, Declaration> pending = new LinkedHashMap<>();
+        for (Declaration declaration : declarations) {
+            if (!declared.contains(declaration.key())) {
+                pending.putIfAbsent(declaration.key(), declaration);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Connection connection = connectionProvider.getOrCreateConnection(ConnectionRole.CONSUME);
+        if (declaredOn != null && declaredOn != connection && !declaredOn.isOpen()) {
+            // The broker may have been reset while the previous connection was down.
+            declared.clear();
+        }
+        declaredOn = connection;
+
+        List<Declaration> entities = new ArrayList<>();
+        List<Declaration> bindings = new ArrayList<>();
+        for (Declaration declaration : pending.values()) {
+            if (declaration instanceof BindingDeclaration) {
+                if (!verifyOnly) {
+                    bindings.add(declaration);
+                }
+            } else {
+                entities.add(declaration);
+            }
+        }
+
+        declare(connection, entities);
+        declare(connection, bindings);
+    }
+
+    private void declare(Connection connection, List<Declaration> declarations) throws Exception {
+        int channels = Math.min(parallelism, declarations.size());
+        if (channels <= 1) {
+            if (!declarations.isEmpty()) {
+                declareOn(connection, declarations);
+            }
+            return;
+        }
+
+        List<List<Declaration>> partitions = new ArrayList<>(channels);
+        for (int i = 0; i < channels; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < declarations.size(); i++) {
+            partitions.get(i % channels).add(declarations.get(i));
+        }
+
+        List<Future<?>> futures = new ArrayList<>(channels);
+        for (List<Declaration> partition : partitions) {
+            futures.add(executor.submit(() -> {
+                declareOn(connection, partition);
+                return null;
+            }));
+        }
+
+        Exception failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Exception cause = e.getCause() instanceof Exception ex ? ex : e;
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void declareOn(Connection connection, List<Declaration> declarations) throws Exception {
+        try (Channel channel = connection.createChannel()) {
+            for (Declaration declaration : declarations) {
+                declaration.declare(channel, verifyOnly);
+                declared.add(declaration.key());
+            }
+        }
+    }
+
+    /**
+     * Declares {@code declarations} again even if they were declared before, which
+     * renews the lease of queues declared with {@code x-expires}.
+     */
+    public synchronized void redeclare(Collection<? extends Declaration> declarations) throws Exception {
+        for (Declaration declaration : declarations) {
+            declared.remove(declaration.key());
+        }
+        provision(declarations);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ExecutorService newExecutor(int parallelism) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "myservicebus-topology-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, IDLE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        // Topology is mostly declared at startup, so the pool holds no threads in between.
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Returns the declarations a receive endpoint needs: its bound exchanges, its
+     * queue, and the error, skipped and fault exchanges and queues.
+     */
+    public static List<Declaration> forReceiveEndpoint(RabbitMqReceiveEndpointTopology topology) {
+        String queue = topology.queueName();
+        List<Declaration> declarations = new ArrayList<>();
+        declarations.add(new QueueDeclaration(queue, true, false, topology.queueArguments()));
+        for (MessageBinding binding : topology.bindings()) {
+            declarations.add(new ExchangeDeclaration(binding.getEntityName(), true, false));
+            declarations.add(new BindingDeclaration(queue, binding.getEntityName()));
+        }
+        addCompanionQueues(declarations, queue, true);
+        return declarations;
+    }
+
+    /**
+     * Returns the declarations for sending directly to a queue.
+     */
+    public static List<Declaration> forQueue(String queue, boolean durable, boolean autoDelete) {
+        List<Declaration> declarations = new ArrayList<>();
+        if (!autoDelete) {
+            addCompanionQueues(declarations, queue, durable);
+        }
+        declarations.add(new QueueDeclaration(queue, durable, autoDelete, null));
+        return declarations;
+    }
+
+    /**
+     * Returns the declaration of a delay queue: messages expire after
+     * {@code delayMillis} and are dead-lettered through the default exchange back
+     * to {@code targetQueue}. The queue itself is deleted by the broker once it
+     * has not been declared for {@code expiresMillis}.
+     */
+    public static List<Declaration> forDelayQueue(String queue, String targetQueue, long delayMillis,
+            long expiresMillis) {
+        Map<String, Object> arguments = new LinkedHashMap<>();
+        arguments.put("x-message-ttl", delayMillis);
+        arguments.put("x-expires", expiresMillis);
+        arguments.put("x-dead-letter-exchange", "");
+        arguments.put("x-dead-letter-routing-key", targetQueue);
+        return List.of(new QueueDeclaration(queue, true, false, arguments));
+    }
+
+    public static List<Declaration> forExchange(String exchange, boolean durable, boolean autoDelete) {
+        return List.of(new ExchangeDeclaration(exchange, durable, autoDelete));
+    }
+
+    private static void addCompanionQueues(List<Declaration> declarations, String queue, boolean durable) {
+        for (String suffix : List.of("_error", "_skipped", "_fault")) {
+            String name = queue + suffix;
+            declarations.add(new ExchangeDeclaration(name, durable, false));
+            declarations.add(new QueueDeclaration(name, durable, false, null));
+            declarations.add(new BindingDeclaration(name, name));
+        }
+    }
+
+    public sealed interface Declaration permits ExchangeDeclaration, QueueDeclaration, BindingDeclaration {
+        String key();
+
+        void declare(Channel channel, boolean passive) throws IOException;
+    }
+
+    public record ExchangeDeclaration(String name, boolean durable, boolean autoDelete) implements Declaration {
+        @Override
+        public String key() {
+            return "exchange:" + name;
+        }
+
+        @Override
+        public void declare(Channel channel, boolean passive) throws IOException {
+            if (passive) {
+                channel.exchangeDeclarePassive(name);
+            } else {
+                channel.exchangeDeclare(name, BuiltinExchangeType.FANOUT, durable, autoDelete, null);
+            }
+        }
+    }
+
+    public record QueueDeclaration(String name, boolean durable, boolean autoDelete, Map<String, Object> arguments)
+            implements Declaration {
+        @Override
+        public String key() {
+            return "queue:" + name;
+        }
+
+        @Override
+        public void declare(Channel channel, boolean passive) throws IOException {
+            if (passive) {
+                channel.queueDeclarePassive(name);
+            } else {
+                channel.queueDeclare(name, durable, false, autoDelete, arguments);
+            }
+        }
+    }
+
+    public record BindingDeclaration(String queue, String exchange) implements Declaration {
+        @Override
+        public String key() {
+            return "binding:" + exchange + ":" + queue;
+        }
+
+        @Override
+        public void declare(Channel channel, boolean passive) throws IOException {
+            channel.queueBind(queue, exchange, "");
+        }
+    }
+}
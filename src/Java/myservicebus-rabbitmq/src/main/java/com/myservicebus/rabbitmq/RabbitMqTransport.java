@@ -12,6 +12,7 @@ import com.myservicebus.TransportCapabilityDescriptor;
 import com.myservicebus.TransportCapabilityDescriptors;
 import com.myservicebus.di.ServiceCollection;
 import com.myservicebus.logging.LoggerFactory;
+import com.myservicebus.serialization.SerializationRuntime;
 import com.rabbitmq.client.ConnectionFactory;
 import java.net.URI;
 
@@ -30,7 +31,7 @@ public class RabbitMqTransport {
             factory.setPort(factoryConfigurator.getClientPort());
             factory.setUsername(factoryConfigurator.getUsername());
             factory.setPassword(factoryConfigurator.getPassword());
-            return new ConnectionProvider(factory);
+            return new ConnectionProvider(factory, factoryConfigurator.getConnectionCounts());
         });
         services.addSingleton(URI.class, sp -> () -> URI.create("rabbitmq://" + factoryConfigurator.getClientHost()
                 + ":" + factoryConfigurator.getClientPort() + "/"));
@@ -38,7 +39,8 @@ public class RabbitMqTransport {
             ConnectionProvider provider = sp.getService(ConnectionProvider.class);
             RabbitMqFactoryConfigurator cfgRef = sp.getService(RabbitMqFactoryConfigurator.class);
             LoggerFactory loggerFactory = sp.getService(LoggerFactory.class);
-            return new RabbitMqTransportFactory(provider, cfgRef, loggerFactory);
+            return new RabbitMqTransportFactory(provider, cfgRef, loggerFactory,
+                    sp.getService(com.myservicebus.serialization.InboundMessageResolver.class));
         });
 
         services.addSingleton(com.myservicebus.TransportFactory.class,
@@ -59,7 +61,17 @@ public class RabbitMqTransport {
         services.addSingleton(TransportSendEndpointProvider.class,
                 sp -> () -> sp.getService(RabbitMqSendEndpointProvider.class));
         services.addSingleton(RequestClientTransport.class,
-                sp -> () -> new RabbitMqRequestClientTransport(sp.getService(ConnectionProvider.class)));
+                sp -> () -> {
+                    SerializationRuntime runtime = sp.getService(SerializationRuntime.class);
+                    if (runtime == null) {
+                        runtime = SerializationRuntime.shared();
+                    }
+                    com.myservicebus.serialization.InboundMessageResolver resolver =
+                            sp.getService(com.myservicebus.serialization.InboundMessageResolver.class);
+                    return resolver != null
+                            ? new RabbitMqRequestClientTransport(sp.getService(ConnectionProvider.class), runtime, resolver)
+                            : new RabbitMqRequestClientTransport(sp.getService(ConnectionProvider.class), runtime);
+                });
         services.addScoped(ScopedClientFactory.class,
                 sp -> () -> new RequestClientFactory(sp.getService(RequestClientTransport.class)));
     }
@@ -1,8 +1,11 @@
 package com.myservicebus.rabbitmq;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -13,14 +16,27 @@ import com.myservicebus.TransportFactory;
 import com.myservicebus.TransportCapabilityDescriptor;
 import com.myservicebus.TransportCapabilityDescriptors;
 import com.myservicebus.TransportMessage;
+import com.myservicebus.serialization.InboundMessageResolver;
 import com.myservicebus.topology.MessageBinding;
 import com.myservicebus.topology.ReceiveEndpointTransportTopology;
-import com.rabbitmq.client.BuiltinExchangeType;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
+import com.myservicebus.logging.Logger;
 import com.myservicebus.logging.LoggerFactory;
 
-public class RabbitMqTransportFactory implements TransportFactory {
+public class RabbitMqTransportFactory implements TransportFactory, AutoCloseable {
+    /**
+     * The delays redelivery is rounded up to, each backed by one delay queue per
+     * endpoint.
+     */
+    static final List<Duration> REDELIVERY_DELAYS = List.of(
+            Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(10),
+            Duration.ofSeconds(15), Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(2),
+            Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofMinutes(15), Duration.ofMinutes(30),
+            Duration.ofHours(1), Duration.ofHours(2), Duration.ofHours(4), Duration.ofHours(8),
+            Duration.ofHours(12), Duration.ofHours(24));
+    static final Duration DELAY_QUEUE_IDLE = Duration.ofHours(1);
+
     @Override
     public TransportCapabilityDescriptor getCapabilities() {
         return TransportCapabilityDescriptors.RABBITMQ;
@@ -29,28 +45,51 @@ public class RabbitMqTransportFactory implements TransportFactory {
     private final ConnectionProvider connectionProvider;
     private final ConcurrentHashMap<String, RabbitMqSendTransport> exchangeTransports = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, RabbitMqSendTransport> queueTransports = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DelayQueue> delayQueues = new ConcurrentHashMap<>();
+    private final Set<String> cappedDelayEndpoints = ConcurrentHashMap.newKeySet();
     private final int defaultPrefetchCount;
+    private final boolean publisherConfirms;
+    private final int maxUnconfirmedPublishes;
+    private final int ackBatchSize;
+    private final FailedDeliveryAction failedDeliveryAction;
+    private final PublishChannelPool publishChannels;
+    private final Function<String, DispatchSettings> dispatchSettings;
+    private final RabbitMqTopologyProvisioner provisioner;
     private final LoggerFactory loggerFactory;
+    private final Logger logger;
+    private final InboundMessageResolver messageResolver;
 
     public RabbitMqTransportFactory(ConnectionProvider connectionProvider, RabbitMqFactoryConfigurator configurator,
             LoggerFactory loggerFactory) {
+        this(connectionProvider, configurator, loggerFactory, null);
+    }
+
+    /**
+     * Creates a factory whose receive transports use {@code messageResolver} to
+     * read the message type of compressed or binary deliveries that carry no
+     * AMQP {@code type} property.
+     */
+    public RabbitMqTransportFactory(ConnectionProvider connectionProvider, RabbitMqFactoryConfigurator configurator,
+            LoggerFactory loggerFactory, InboundMessageResolver messageResolver) {
         this.connectionProvider = connectionProvider;
         this.defaultPrefetchCount = configurator.getPrefetchCount();
+        this.publisherConfirms = configurator.isPublisherConfirms();
+        this.maxUnconfirmedPublishes = configurator.getMaxUnconfirmedPublishes();
+        this.ackBatchSize = configurator.getAckBatchSize();
+        this.failedDeliveryAction = configurator.getFailedDeliveryAction();
+        this.dispatchSettings = configurator::getDispatchSettings;
+        this.provisioner = new RabbitMqTopologyProvisioner(connectionProvider, configurator.getTopologyParallelism(),
+                configurator.isVerifyTopologyOnly());
+        this.publishChannels = new PublishChannelPool(this::createPublishChannel, configurator.getPublishChannelCount());
         this.loggerFactory = loggerFactory;
+        this.logger = loggerFactory.create(RabbitMqTransportFactory.class);
+        this.messageResolver = messageResolver;
     }
 
     public SendTransport getSendTransport(String exchange, boolean durable, boolean autoDelete) {
         String key = exchange + ":" + durable + ":" + autoDelete;
-        return exchangeTransports.computeIfAbsent(key, ex -> {
-            try {
-                Connection connection = connectionProvider.getOrCreateConnection();
-                Channel channel = connection.createChannel();
-                channel.exchangeDeclare(exchange, "fanout", durable, autoDelete, null);
-                return new RabbitMqSendTransport(channel, exchange, "");
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to create send transport", e);
-            }
-        });
+        return exchangeTransports.computeIfAbsent(key, ex -> createSendTransport(exchange, "",
+                RabbitMqTopologyProvisioner.forExchange(exchange, durable, autoDelete)));
     }
 
     public SendTransport getQueueTransport(String queue) {
@@ -58,40 +97,44 @@ public class RabbitMqTransportFactory implements TransportFactory {
     }
 
     public SendTransport getQueueTransport(String queue, boolean durable, boolean autoDelete) {
+        DelayQueue delayQueue = delayQueues.get(queue);
+        if (delayQueue != null) {
+            return queueTransports.computeIfAbsent(queue + ":delay", q -> {
+                RabbitMqSendTransport transport = createSendTransport("", queue, delayQueue.declarations(queue));
+                delayQueue.declaredAt = System.nanoTime();
+                return transport;
+            });
+        }
         String key = queue + ":" + durable + ":" + autoDelete;
-        return queueTransports.computeIfAbsent(key, q -> {
-            try {
-                Connection connection = connectionProvider.getOrCreateConnection();
-                Channel channel = connection.createChannel();
-
-                if (!autoDelete) {
-                    String errorExchange = queue + "_error";
-                    String errorQueue = queue + "_error";
-                    String skippedExchange = queue + "_skipped";
-                    String skippedQueue = queue + "_skipped";
-                    String faultExchange = queue + "_fault";
-                    String faultQueue = queue + "_fault";
-
-                    channel.exchangeDeclare(errorExchange, "fanout", durable, autoDelete, null);
-                    channel.queueDeclare(errorQueue, durable, false, autoDelete, null);
-                    channel.queueBind(errorQueue, errorExchange, "");
-
-                    channel.exchangeDeclare(skippedExchange, "fanout", durable, autoDelete, null);
-                    channel.queueDeclare(skippedQueue, durable, false, autoDelete, null);
-                    channel.queueBind(skippedQueue, skippedExchange, "");
-
-                    channel.exchangeDeclare(faultExchange, "fanout", durable, autoDelete, null);
-                    channel.queueDeclare(faultQueue, durable, false, autoDelete, null);
-                    channel.queueBind(faultQueue, faultExchange, "");
-                }
+        return queueTransports.computeIfAbsent(key, q -> createSendTransport("", queue,
+                RabbitMqTopologyProvisioner.forQueue(queue, durable, autoDelete)));
+    }
 
-                channel.queueDeclare(queue, durable, false, autoDelete, null);
+    private RabbitMqSendTransport createSendTransport(String exchange, String routingKey,
+            List<RabbitMqTopologyProvisioner.Declaration> declarations) {
+        try {
+            provisioner.provision(declarations);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to declare topology", e);
+        }
+        RabbitMqSendTransport transport = new RabbitMqSendTransport(publishChannels, exchange, routingKey);
+        // Open a publish channel eagerly so connection problems surface when the transport is resolved.
+        transport.acquire();
+        return transport;
+    }
 
-                return new RabbitMqSendTransport(channel, "", queue);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to create send transport", e);
-            }
-        });
+    private PublishChannel createPublishChannel() throws Exception {
+        Connection connection = connectionProvider.getOrCreateConnection(ConnectionRole.PUBLISH);
+        Channel channel = connection.createChannel();
+        if (!publisherConfirms) {
+            return new PublishChannel(channel);
+        }
+
+        PublisherConfirmTracker confirms = new PublisherConfirmTracker(maxUnconfirmedPublishes);
+        channel.confirmSelect();
+        channel.addConfirmListener(confirms);
+        channel.addShutdownListener(confirms::failAll);
+        return new PublishChannel(channel, confirms);
     }
 
     @Override
@@ -134,6 +177,16 @@ public class RabbitMqTransportFactory implements TransportFactory {
         return false;
     }
 
+    @Override
+    public void provisionTopology(List<ReceiveEndpointTransportTopology> endpoints) throws Exception {
+        List<RabbitMqTopologyProvisioner.Declaration> declarations = new ArrayList<>();
+        for (ReceiveEndpointTransportTopology endpoint : endpoints) {
+            declarations.addAll(RabbitMqTopologyProvisioner.forReceiveEndpoint(
+                    RabbitMqReceiveEndpointTopology.project(endpoint)));
+        }
+        provisioner.provision(declarations);
+    }
+
     @Override
     public ReceiveTransport createReceiveTransport(String queueName, List<MessageBinding> bindings,
             Function<TransportMessage, CompletableFuture<Void>> handler,
@@ -162,41 +215,117 @@ public class RabbitMqTransportFactory implements TransportFactory {
     private ReceiveTransport createReceiveTransport(RabbitMqReceiveEndpointTopology topology,
             Function<TransportMessage, CompletableFuture<Void>> handler,
             Function<String, Boolean> isMessageTypeRegistered) throws Exception {
-        Connection connection = connectionProvider.getOrCreateConnection();
-        Channel channel = connection.createChannel();
+        provisioner.provision(RabbitMqTopologyProvisioner.forReceiveEndpoint(topology));
 
+        String faultAddress = getFaultAddress(topology.queueName());
         int count = topology.prefetchCount() > 0 ? topology.prefetchCount() : defaultPrefetchCount;
-        if (count > 0) {
-            channel.basicQos(count);
-        }
-
-        for (MessageBinding binding : topology.bindings()) {
-            String exchangeName = binding.getEntityName();
-            channel.exchangeDeclare(exchangeName, BuiltinExchangeType.FANOUT, true);
-            channel.queueDeclare(topology.queueName(), true, false, false, topology.queueArguments());
-            channel.queueBind(topology.queueName(), exchangeName, "");
-        }
-
-        String errorExchange = topology.queueName() + "_error";
-        String errorQueue = errorExchange;
-        channel.exchangeDeclare(errorExchange, BuiltinExchangeType.FANOUT, true);
-        channel.queueDeclare(errorQueue, true, false, false, null);
-        channel.queueBind(errorQueue, errorExchange, "");
-
-        String skippedExchange = topology.queueName() + "_skipped";
-        String skippedQueue = skippedExchange;
-        channel.exchangeDeclare(skippedExchange, BuiltinExchangeType.FANOUT, true);
-        channel.queueDeclare(skippedQueue, true, false, false, null);
-        channel.queueBind(skippedQueue, skippedExchange, "");
-        String faultExchange = topology.queueName() + "_fault";
-        String faultQueue = faultExchange;
-        channel.exchangeDeclare(faultExchange, BuiltinExchangeType.FANOUT, true);
-        channel.queueDeclare(faultQueue, true, false, false, null);
-        channel.queueBind(faultQueue, faultExchange, "");
 
-        String faultAddress = getFaultAddress(topology.queueName());
-        return new RabbitMqReceiveTransport(channel, topology.queueName(), handler, faultAddress, isMessageTypeRegistered,
-                loggerFactory);
+        DispatchSettings dispatch = dispatchSettings.apply(topology.queueName());
+        DeliveryDispatcher dispatcher = DeliveryDispatcher.create(topology.queueName(),
+                dispatch, logger);
+        if (dispatcher != null) {
+            // The dispatcher never blocks the consumer thread, so the prefetch window enforces the limit.
+            int perConsumer = Math.max(1, dispatch.concurrentMessageLimit() / topology.consumerCount());
+            count = count > 0 ? Math.min(count, perConsumer) : perConsumer;
+        }
+        // Flush before the prefetch window fills so the broker does not wait on the flush timer.
+        int batchSize = count > 0 ? Math.max(1, Math.min(ackBatchSize, count / 2)) : ackBatchSize;
+
+        List<ReceiveTransport> consumers = new ArrayList<>(topology.consumerCount());
+        try {
+            for (int i = 0; i < topology.consumerCount(); i++) {
+                // Each consumer takes the next consume connection so channels spread across them.
+                Channel channel = connectionProvider.getOrCreateConnection(ConnectionRole.CONSUME).createChannel();
+                if (count > 0) {
+                    channel.basicQos(count);
+                }
+                consumers.add(new RabbitMqReceiveTransport(channel, topology.queueName(), handler, faultAddress,
+                        isMessageTypeRegistered, loggerFactory, failedDeliveryAction, batchSize, dispatcher,
+                        messageResolver));
+            }
+        } catch (Exception ex) {
+            if (dispatcher != null) {
+                dispatcher.close();
+            }
+            throw ex;
+        }
+
+        if (dispatcher != null) {
+            return new CompositeReceiveTransport(consumers, dispatcher);
+        }
+        return consumers.size() == 1 ? consumers.get(0) : new CompositeReceiveTransport(consumers);
+    }
+
+    /**
+     * Returns a queue named {@code <endpoint>_delay_<millis>} whose messages expire
+     * after the delay and are dead-lettered back to the endpoint's queue.
+     *
+     * <p>
+     * The delay is rounded up to the next of {@link #REDELIVERY_DELAYS}, so an
+     * endpoint uses a bounded number of delay queues however its policy computes
+     * delays. Delays beyond the largest are shortened to it, which is logged as
+     * a warning once per endpoint. Each delay queue expires once it has not been declared for twice its
+     * delay plus {@link #DELAY_QUEUE_IDLE}; it is declared again whenever it is
+     * used after more than its delay plus half that idle time, so a message never
+     * outlives its queue.
+     * </p>
+     */
+    @Override
+    public String getRedeliveryAddress(String endpointName, Duration delay) {
+        Duration rounded = roundRedeliveryDelay(delay);
+        if (rounded.compareTo(delay) < 0 && cappedDelayEndpoints.add(endpointName)) {
+            logger.warn("Redelivery delay {} of endpoint {} exceeds the largest delay queue; redelivering after {}",
+                    delay, endpointName, rounded);
+        }
+        long delayMillis = rounded.toMillis();
+        String queue = endpointName + "_delay_" + delayMillis;
+        DelayQueue delayQueue = delayQueues.computeIfAbsent(queue, q -> new DelayQueue(endpointName, delayMillis));
+        long renewAfter = Duration.ofMillis(delayMillis).plus(DELAY_QUEUE_IDLE.dividedBy(2)).toNanos();
+        long declaredAt = delayQueue.declaredAt;
+        if (declaredAt != 0 && System.nanoTime() - declaredAt > renewAfter) {
+            try {
+                provisioner.redeclare(delayQueue.declarations(queue));
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to declare topology", e);
+            }
+            delayQueue.declaredAt = System.nanoTime();
+        }
+        return "queue:" + queue;
+    }
+
+    /**
+     * Shuts down the pool that declares topology. Channels and connections are
+     * owned by the {@link ConnectionProvider} and stay open.
+     */
+    @Override
+    public void close() {
+        provisioner.close();
+    }
+
+    /**
+     * Returns the smallest of {@link #REDELIVERY_DELAYS} that is at least
+     * {@code delay}, or the largest one.
+     */
+    static Duration roundRedeliveryDelay(Duration delay) {
+        for (Duration bucket : REDELIVERY_DELAYS) {
+            if (bucket.compareTo(delay) >= 0) {
+                return bucket;
+            }
+        }
+        return REDELIVERY_DELAYS.get(REDELIVERY_DELAYS.size() - 1);
+    }
+
+    /**
+     * Returns the endpoint's error address, or {@code null} when failed deliveries
+     * are requeued or rejected. The broker then redelivers or dead-letters the
+     * message itself, so a copy in the error queue on every failure would only
+     * duplicate it.
+     */
+    @Override
+    public String getErrorAddress(String endpointName) {
+        return failedDeliveryAction == FailedDeliveryAction.ACK
+                ? TransportFactory.super.getErrorAddress(endpointName)
+                : null;
     }
 
     @Override
@@ -208,4 +337,20 @@ public class RabbitMqTransportFactory implements TransportFactory {
     public String getSendAddress(String queue) {
         return connectionProvider.getSendAddress(queue);
     }
+
+    private static final class DelayQueue {
+        final String targetQueue;
+        final long delayMillis;
+        volatile long declaredAt;
+
+        DelayQueue(String targetQueue, long delayMillis) {
+            this.targetQueue = targetQueue;
+            this.delayMillis = delayMillis;
+        }
+
+        List<RabbitMqTopologyProvisioner.Declaration> declarations(String queue) {
+            long expiresMillis = 2 * delayMillis + DELAY_QUEUE_IDLE.toMillis();
+            return RabbitMqTopologyProvisioner.forDelayQueue(queue, targetQueue, delayMillis, expiresMillis);
+        }
+    }
 }
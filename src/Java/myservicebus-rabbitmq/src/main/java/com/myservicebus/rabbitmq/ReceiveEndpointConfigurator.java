@@ -6,9 +6,26 @@ import com.myservicebus.serialization.MessageSerializer;
 
 public interface ReceiveEndpointConfigurator {
     void useMessageRetry(java.util.function.Consumer<RetryConfigurator> configure);
+
+    /**
+     * Redelivers messages through a broker delay queue once in-memory retries are
+     * exhausted, acknowledging the failed delivery instead of holding it.
+     */
+    void useDelayedRedelivery(java.util.function.Consumer<RetryConfigurator> configure);
     void configureConsumer(BusRegistrationContext context, Class<?> consumerClass);
     <T> void handler(Class<T> messageType, java.util.function.Function<com.myservicebus.ConsumeContext<T>, java.util.concurrent.CompletableFuture<Void>> handler);
     void prefetchCount(int prefetchCount);
+
+    /**
+     * Sets how many channels consume the queue concurrently. Prefetch applies to each consumer.
+     */
+    void consumerCount(int consumerCount);
+
+    /**
+     * Runs the consume pipeline on the given executor, handling at most
+     * {@code concurrentMessageLimit} messages at once across all consumers.
+     */
+    void dispatch(DispatchMode mode, int concurrentMessageLimit);
     void setQueueArgument(String key, Object value);
     void setSerializer(Class<? extends MessageSerializer> serializerClass);
 }
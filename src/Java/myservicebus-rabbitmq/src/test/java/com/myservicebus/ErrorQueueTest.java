@@ -8,6 +8,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
@@ -18,17 +19,19 @@ import com.myservicebus.MessageBusImpl;
 import com.myservicebus.MessageUrn;
 import com.myservicebus.di.ServiceCollection;
 import com.myservicebus.di.ServiceProvider;
+import com.myservicebus.logging.Slf4jLoggerFactory;
+import com.myservicebus.rabbitmq.FailedDeliveryAction;
+import com.myservicebus.rabbitmq.RabbitMqFactoryConfigurator;
+import com.myservicebus.rabbitmq.RabbitMqTransportFactory;
+import com.myservicebus.topology.ReceiveEndpointTransportTopology;
 import com.myservicebus.topology.MessageBinding;
 import com.myservicebus.serialization.MessageSerializer;
 
 class ErrorQueueTest {
     static class MyMessage { }
 
-    @Test
-    void sendsFaultedMessagesToErrorQueue() throws Exception {
-        List<SendContext> errorMessages = new ArrayList<>();
-        StubFactory factory = new StubFactory();
-
+    private static MessageBusImpl createBus(TransportFactory factory, String queueName,
+            List<SendContext> errorMessages) {
         ServiceCollection services = ServiceCollection.create();
         services.addSingleton(ConsumeContextProvider.class, sp -> () -> new ConsumeContextProvider());
         services.addSingleton(SendPipe.class, sp -> () -> new SendPipe(ctx -> CompletableFuture.completedFuture(null)));
@@ -42,7 +45,7 @@ class ErrorQueueTest {
                 return new SendEndpoint() {
                     @Override
                     public CompletableFuture<Void> send(SendContext ctx) {
-                        if (uri.equals(factory.errorAddress)) {
+                        if (uri.equals(factory.getPublishAddress(queueName + "_error"))) {
                             errorMessages.add(ctx);
                         }
                         return CompletableFuture.completedFuture(null);
@@ -63,7 +66,24 @@ class ErrorQueueTest {
         services.addSingleton(TransportFactory.class, sp -> () -> factory);
 
         ServiceProvider provider = services.buildServiceProvider();
-        MessageBusImpl bus = new MessageBusImpl(provider);
+        return new MessageBusImpl(provider);
+    }
+
+    private static byte[] envelope() throws Exception {
+        Envelope<MyMessage> envelope = new Envelope<>();
+        envelope.setMessage(new MyMessage());
+        envelope.setHeaders(new HashMap<>());
+        envelope.setMessageType(List.of(MessageUrn.forClass(MyMessage.class)));
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        return mapper.writeValueAsBytes(envelope);
+    }
+
+    @Test
+    void sendsFaultedMessagesToErrorQueue() throws Exception {
+        List<SendContext> errorMessages = new ArrayList<>();
+        StubFactory factory = new StubFactory();
+        MessageBusImpl bus = createBus(factory, "input", errorMessages);
 
         bus.addHandler("input", MyMessage.class, "input", ctx -> {
             return CompletableFuture.failedFuture(new RuntimeException("boom"));
@@ -72,13 +92,7 @@ class ErrorQueueTest {
         // simulate message arrival
         Map<String, Object> headers = new HashMap<>();
         headers.put(MessageHeaders.FAULT_ADDRESS, "rabbitmq://localhost/exchange/custom_fault");
-        Envelope<MyMessage> envelope = new Envelope<>();
-        envelope.setMessage(new MyMessage());
-        envelope.setHeaders(new HashMap<>());
-        envelope.setMessageType(List.of(MessageUrn.forClass(MyMessage.class)));
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
-        byte[] body = mapper.writeValueAsBytes(envelope);
+        byte[] body = envelope();
         try {
             factory.handler.apply(new TransportMessage(body, headers)).join();
         } catch (Exception ignored) {
@@ -93,9 +107,73 @@ class ErrorQueueTest {
         assertTrue(errorHeaders.containsKey(MessageHeaders.HOST_PROCESS));
     }
 
+    @Test
+    void copiesEachFailureToErrorQueueOnceWhenAcknowledged() throws Exception {
+        assertEquals(1, errorCopiesAfterOneFailure(FailedDeliveryAction.ACK));
+    }
+
+    @Test
+    void leavesRequeuedAndRejectedFailuresToTheBroker() throws Exception {
+        assertEquals(0, errorCopiesAfterOneFailure(FailedDeliveryAction.REQUEUE));
+        assertEquals(0, errorCopiesAfterOneFailure(FailedDeliveryAction.REJECT));
+    }
+
+    /**
+     * Delivers a message whose first attempt fails and whose redelivery succeeds,
+     * and returns how many copies reached the error queue.
+     */
+    private static int errorCopiesAfterOneFailure(FailedDeliveryAction action) throws Exception {
+        List<SendContext> errorMessages = new ArrayList<>();
+        RabbitMqFactoryConfigurator configurator = new RabbitMqFactoryConfigurator();
+        configurator.setFailedDeliveryAction(action);
+        RabbitStubFactory factory = new RabbitStubFactory(configurator);
+        MessageBusImpl bus = createBus(factory, "input", errorMessages);
+        AtomicInteger attempts = new AtomicInteger();
+
+        bus.addHandler("input", MyMessage.class, "input", ctx -> attempts.incrementAndGet() == 1
+                ? CompletableFuture.failedFuture(new RuntimeException("boom"))
+                : CompletableFuture.completedFuture(null), null);
+
+        byte[] body = envelope();
+        CompletableFuture<Void> first = factory.handler.apply(new TransportMessage(body, new HashMap<>()));
+        assertThrows(Exception.class, first::join);
+        factory.handler.apply(new TransportMessage(body, new HashMap<>())).join();
+
+        assertEquals(2, attempts.get());
+        return errorMessages.size();
+    }
+
+    static class RabbitStubFactory extends RabbitMqTransportFactory {
+        Function<TransportMessage, CompletableFuture<Void>> handler;
+
+        RabbitStubFactory(RabbitMqFactoryConfigurator configurator) {
+            super(null, configurator, new Slf4jLoggerFactory());
+        }
+
+        @Override
+        public ReceiveTransport createReceiveTransport(ReceiveEndpointTransportTopology topology,
+                Function<TransportMessage, CompletableFuture<Void>> handler,
+                Function<String, Boolean> isMessageTypeRegistered) {
+            this.handler = handler;
+            return new ReceiveTransport() {
+                @Override
+                public void start() {
+                }
+
+                @Override
+                public void stop() {
+                }
+            };
+        }
+
+        @Override
+        public String getPublishAddress(String exchange) {
+            return "rabbitmq://localhost/exchange/" + exchange;
+        }
+    }
+
     static class StubFactory implements TransportFactory {
         Function<TransportMessage, CompletableFuture<Void>> handler;
-        String errorAddress;
 
         @Override
         public SendTransport getSendTransport(URI address) {
@@ -110,7 +188,6 @@ class ErrorQueueTest {
         public ReceiveTransport createReceiveTransport(String queueName, List<MessageBinding> bindings,
                 Function<TransportMessage, CompletableFuture<Void>> handler) {
             this.handler = handler;
-            this.errorAddress = getPublishAddress(queueName + "_error");
             return new ReceiveTransport() {
                 @Override
                 public void start() {
@@ -90,6 +90,45 @@ class RabbitMqSendEndpointProviderTest {
         assertNull(factory.exchange);
     }
 
+    @Test
+    void cachesResolvedEndpointsByAddress() {
+        StubFactory factory = new StubFactory();
+        SendPipe sendPipe = new SendPipe(ctx -> CompletableFuture.completedFuture(null));
+        MessageSerializer serializer = new EnvelopeMessageSerializer();
+        LoggerFactory loggerFactory = new Slf4jLoggerFactory();
+        RabbitMqSendEndpointProvider provider = new RabbitMqSendEndpointProvider(factory, sendPipe, serializer, URI.create("rabbitmq://localhost/"), new RabbitMqSendContextFactory(), loggerFactory);
+
+        SendEndpoint first = provider.getSendEndpoint("rabbitmq://localhost/exchange/my-exchange?durable=false");
+        SendEndpoint second = provider.getSendEndpoint("rabbitmq://localhost/exchange/my-exchange?durable=false");
+
+        assertSame(first, second);
+        assertEquals(1, factory.resolved);
+        assertFalse(factory.durable);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEndpointsWhenFull() {
+        StubFactory factory = new StubFactory();
+        SendPipe sendPipe = new SendPipe(ctx -> CompletableFuture.completedFuture(null));
+        MessageSerializer serializer = new EnvelopeMessageSerializer();
+        LoggerFactory loggerFactory = new Slf4jLoggerFactory();
+        RabbitMqSendEndpointProvider provider = new RabbitMqSendEndpointProvider(factory, sendPipe, serializer, URI.create("rabbitmq://localhost/"), new RabbitMqSendContextFactory(), loggerFactory);
+
+        SendEndpoint hot = provider.getSendEndpoint("queue:hot");
+        SendEndpoint cold = provider.getSendEndpoint("queue:cold");
+        for (int i = 0; i < 1022; i++) {
+            provider.getSendEndpoint("queue:reply-" + i);
+        }
+        provider.getSendEndpoint("queue:hot");
+        provider.getSendEndpoint("queue:new");
+        int resolved = factory.resolved;
+
+        assertSame(hot, provider.getSendEndpoint("queue:hot"));
+        assertEquals(resolved, factory.resolved);
+        assertNotSame(cold, provider.getSendEndpoint("queue:cold"));
+        assertEquals(resolved + 1, factory.resolved);
+    }
+
     @Test
     void transportFactoryResolvesLogicalAddresses() {
         StubFactory factory = new StubFactory();
@@ -109,6 +148,8 @@ class RabbitMqSendEndpointProviderTest {
     static class StubFactory extends RabbitMqTransportFactory {
         String queue;
         String exchange;
+        boolean durable;
+        int resolved;
         SendTransport transport = new SendTransport() {
             @Override
             public void send(byte[] data, Map<String, Object> headers, String contentType) {
@@ -120,12 +161,16 @@ class RabbitMqSendEndpointProviderTest {
         @Override
         public SendTransport getSendTransport(String exchange, boolean durable, boolean autoDelete) {
             this.exchange = exchange;
+            this.durable = durable;
+            resolved++;
             return transport;
         }
 
         @Override
         public SendTransport getQueueTransport(String queue, boolean durable, boolean autoDelete) {
             this.queue = queue;
+            this.durable = durable;
+            resolved++;
             return transport;
         }
     }
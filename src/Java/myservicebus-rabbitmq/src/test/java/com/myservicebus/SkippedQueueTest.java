@@ -45,4 +45,23 @@ class SkippedQueueTest {
         verify(channel).basicPublish(eq("input_skipped"), eq(""), eq(props), eq(body));
         verify(channel).basicAck(1L, false);
     }
+
+    @Test
+    void rejectsDeliveryWhenSkippedPublishFails() throws Exception {
+        Channel channel = mock(Channel.class);
+        ArgumentCaptor<DeliverCallback> captor = ArgumentCaptor.forClass(DeliverCallback.class);
+        when(channel.basicConsume(eq("input"), eq(false), captor.capture(), any(CancelCallback.class))).thenReturn("tag");
+        doThrow(new java.io.IOException("channel closed")).when(channel)
+                .basicPublish(eq("input_skipped"), anyString(), any(), any());
+
+        RabbitMqReceiveTransport transport = new RabbitMqReceiveTransport(channel, "input",
+                tm -> CompletableFuture.completedFuture(null), "fault", s -> false, new Slf4jLoggerFactory());
+        transport.start();
+
+        Delivery delivery = new Delivery(new Envelope(1L, false, "ex", "rk"), new AMQP.BasicProperties(), new byte[0]);
+        captor.getValue().handle("tag", delivery);
+
+        verify(channel).basicNack(1L, false, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
 }
@@ -39,5 +39,28 @@ public class TransportHeaderTest {
         assertEquals("123", props.getCorrelationId());
         assertTrue(props.getHeaders() == null || !props.getHeaders().containsKey("correlation_id"));
     }
-}
 
+    @Test
+    public void contentEncodingIsSentAsBasicProperty() throws Exception {
+        AtomicReference<AMQP.BasicProperties> captured = new AtomicReference<>();
+        Channel channel = (Channel) Proxy.newProxyInstance(
+                Channel.class.getClassLoader(),
+                new Class[] { Channel.class },
+                (proxy, method, args) -> {
+                    if ("basicPublish".equals(method.getName()) && args.length >= 3)
+                        captured.set((AMQP.BasicProperties) args[2]);
+                    return null;
+                });
+
+        RabbitMqSendTransport transport = new RabbitMqSendTransport(channel, "", "test");
+
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("content_encoding", "gzip");
+
+        transport.send(new byte[0], headers, "application/json");
+
+        AMQP.BasicProperties props = captured.get();
+        assertEquals("gzip", props.getContentEncoding());
+        assertTrue(props.getHeaders() == null || !props.getHeaders().containsKey("content_encoding"));
+    }
+}
@@ -0,0 +1,146 @@
+package com.myservicebus;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.myservicebus.logging.Slf4jLoggerFactory;
+import com.myservicebus.rabbitmq.RabbitMqReceiveTransport;
+import com.myservicebus.serialization.CborMessageSerializer;
+import com.myservicebus.serialization.CompressingMessageSerializer;
+import com.myservicebus.serialization.EnvelopeMessageSerializer;
+import com.myservicebus.serialization.MessageCompressor;
+import com.myservicebus.serialization.MessageSerializationContext;
+import com.myservicebus.serialization.MessageSerializer;
+import com.myservicebus.serialization.RawJsonMessageSerializer;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.CancelCallback;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Envelope;
+
+class TypePropertyRoutingTest {
+    public static class Submitted {
+        public String id = "42";
+    }
+
+    private static DeliverCallback start(Channel channel, AtomicReference<String> checkedType) throws Exception {
+        ArgumentCaptor<DeliverCallback> captor = ArgumentCaptor.forClass(DeliverCallback.class);
+        when(channel.basicConsume(eq("input"), eq(false), captor.capture(), any(CancelCallback.class))).thenReturn("tag");
+
+        RabbitMqReceiveTransport transport = new RabbitMqReceiveTransport(channel, "input",
+                tm -> CompletableFuture.completedFuture(null), "fault", type -> {
+                    checkedType.set(type);
+                    return true;
+                }, new Slf4jLoggerFactory());
+        transport.start();
+        return captor.getValue();
+    }
+
+    @Test
+    void routesOnTypePropertyWithoutReadingBody() throws Exception {
+        Channel channel = mock(Channel.class);
+        AtomicReference<String> checkedType = new AtomicReference<>();
+        DeliverCallback callback = start(channel, checkedType);
+
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .type("urn:message:Tests:Submitted")
+                .build();
+        byte[] body = "not json".getBytes(StandardCharsets.UTF_8);
+        callback.handle("tag", new Delivery(new Envelope(1L, false, "ex", "rk"), props, body));
+
+        assertEquals("urn:message:Tests:Submitted", checkedType.get());
+        verify(channel, never()).basicPublish(eq("input_skipped"), anyString(), any(), any());
+        verify(channel).basicAck(1L, false);
+    }
+
+    @Test
+    void fallsBackToEnvelopeWhenTypePropertyIsMissing() throws Exception {
+        Channel channel = mock(Channel.class);
+        AtomicReference<String> checkedType = new AtomicReference<>();
+        DeliverCallback callback = start(channel, checkedType);
+
+        byte[] body = "{\"messageType\":[\"urn:message:Tests:Submitted\"],\"message\":{}}"
+                .getBytes(StandardCharsets.UTF_8);
+        callback.handle("tag", new Delivery(new Envelope(1L, false, "ex", "rk"), new AMQP.BasicProperties(), body));
+
+        assertEquals("urn:message:Tests:Submitted", checkedType.get());
+    }
+
+    private static byte[] serialize(MessageSerializer serializer, Map<String, Object> headers) throws Exception {
+        MessageSerializationContext<Submitted> context = new MessageSerializationContext<>(new Submitted());
+        context.setHeaders(headers);
+        context.setMessageId(UUID.randomUUID());
+        context.setMessageType(List.of("urn:message:Tests:Submitted"));
+        context.setSentTime(OffsetDateTime.now());
+        context.setHostInfo(HostInfoProvider.capture());
+        return serializer.serialize(context);
+    }
+
+    @Test
+    void resolvesCompressedEnvelopesWithoutTypeProperty() throws Exception {
+        Channel channel = mock(Channel.class);
+        AtomicReference<String> checkedType = new AtomicReference<>();
+        DeliverCallback callback = start(channel, checkedType);
+
+        byte[] body = serialize(new CompressingMessageSerializer(new EnvelopeMessageSerializer(),
+                MessageCompressor.GZIP, 0), new HashMap<>());
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .contentType("application/vnd.masstransit+json")
+                .contentEncoding("gzip")
+                .build();
+        callback.handle("tag", new Delivery(new Envelope(1L, false, "ex", "rk"), props, body));
+
+        assertEquals("urn:message:Tests:Submitted", checkedType.get());
+        verify(channel, never()).basicPublish(eq("input_skipped"), anyString(), any(), any());
+    }
+
+    @Test
+    void resolvesBinaryEnvelopesWithoutTypeProperty() throws Exception {
+        Channel channel = mock(Channel.class);
+        AtomicReference<String> checkedType = new AtomicReference<>();
+        DeliverCallback callback = start(channel, checkedType);
+
+        MessageSerializer serializer = new CborMessageSerializer();
+        byte[] body = serialize(serializer, new HashMap<>());
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .contentType(serializer.getContentType())
+                .build();
+        callback.handle("tag", new Delivery(new Envelope(1L, false, "ex", "rk"), props, body));
+
+        assertEquals("urn:message:Tests:Submitted", checkedType.get());
+        verify(channel, never()).basicPublish(eq("input_skipped"), anyString(), any(), any());
+    }
+
+    @Test
+    void skipsCompressedRawBodiesWithoutTypeProperty() throws Exception {
+        Channel channel = mock(Channel.class);
+        AtomicReference<String> checkedType = new AtomicReference<>();
+        DeliverCallback callback = start(channel, checkedType);
+
+        byte[] body = serialize(new CompressingMessageSerializer(new RawJsonMessageSerializer(),
+                MessageCompressor.GZIP, 0), new HashMap<>());
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .contentType("application/json")
+                .contentEncoding("gzip")
+                .build();
+        callback.handle("tag", new Delivery(new Envelope(1L, false, "ex", "rk"), props, body));
+
+        assertNull(checkedType.get());
+        verify(channel).basicPublish(eq("input_skipped"), eq(""), eq(props), eq(body));
+        verify(channel).basicAck(1L, false);
+    }
+}
@@ -0,0 +1,108 @@
+package com.myservicebus.rabbitmq;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.myservicebus.logging.Slf4jLoggerFactory;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.CancelCallback;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Envelope;
+
+class AckCoordinatorTest {
+    @Test
+    void acksContiguousDeliveriesWithSingleMultipleAck() throws Exception {
+        Channel channel = mock(Channel.class);
+        AckCoordinator acks = new AckCoordinator(channel, 3, Duration.ofHours(1));
+        for (long tag = 1; tag <= 4; tag++) {
+            acks.delivered(tag);
+        }
+
+        acks.ack(2);
+        acks.ack(3);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+
+        acks.ack(1);
+        verify(channel).basicAck(3, true);
+
+        acks.ack(4);
+        verify(channel).basicAck(4, false);
+    }
+
+    @Test
+    void acksCompletionsBehindSlowDeliveryIndividually() throws Exception {
+        Channel channel = mock(Channel.class);
+        AckCoordinator acks = new AckCoordinator(channel, 2, Duration.ofHours(1));
+        acks.delivered(1);
+        acks.delivered(2);
+        acks.delivered(3);
+
+        acks.ack(2);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+
+        acks.ack(3);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(3, false);
+
+        acks.ack(1);
+        verify(channel).basicAck(1, false);
+        verify(channel, never()).basicAck(anyLong(), eq(true));
+    }
+
+    @Test
+    void flushTimerAcksPendingCompletions() throws Exception {
+        Channel channel = mock(Channel.class);
+        AckCoordinator acks = new AckCoordinator(channel, 10, Duration.ofMillis(20));
+        acks.delivered(1);
+        acks.delivered(2);
+        acks.delivered(3);
+
+        acks.ack(1);
+        acks.ack(3);
+
+        verify(channel, timeout(5000)).basicAck(1, false);
+        verify(channel, timeout(5000)).basicAck(3, false);
+    }
+
+    @Test
+    void nackSettlesDeliveryIndividually() throws Exception {
+        Channel channel = mock(Channel.class);
+        AckCoordinator acks = new AckCoordinator(channel, 10, Duration.ofHours(1));
+        acks.delivered(1);
+        acks.delivered(2);
+        acks.delivered(3);
+
+        acks.ack(1);
+        acks.nack(2, true);
+        verify(channel).basicNack(2, false, true);
+
+        acks.ack(3);
+        verify(channel).basicAck(3, true);
+    }
+
+    @Test
+    void rejectsFailedDeliveryWhenConfigured() throws Exception {
+        Channel channel = mock(Channel.class);
+        ArgumentCaptor<DeliverCallback> captor = ArgumentCaptor.forClass(DeliverCallback.class);
+        when(channel.basicConsume(eq("input"), eq(false), captor.capture(), any(CancelCallback.class))).thenReturn("tag");
+
+        RabbitMqReceiveTransport transport = new RabbitMqReceiveTransport(channel, "input",
+                tm -> CompletableFuture.failedFuture(new IllegalStateException("boom")), "fault", s -> true,
+                new Slf4jLoggerFactory(), FailedDeliveryAction.REJECT, 10);
+        transport.start();
+
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder().type("urn:message:Tests:Failing").build();
+        captor.getValue().handle("tag", new Delivery(new Envelope(1L, false, "ex", "rk"), props, new byte[0]));
+
+        verify(channel).basicNack(1L, false, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+}
@@ -0,0 +1,59 @@
+package com.myservicebus.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+
+class ConnectionProviderTest {
+    @Test
+    void keepsSeparateConnectionsPerRole() throws Exception {
+        ConnectionFactory factory = mock(ConnectionFactory.class);
+        when(factory.newConnection(anyString())).thenAnswer(invocation -> openConnection());
+        ConnectionProvider provider = new ConnectionProvider(factory);
+
+        Connection publish = provider.getOrCreateConnection(ConnectionRole.PUBLISH);
+        Connection consume = provider.getOrCreateConnection(ConnectionRole.CONSUME);
+
+        assertNotSame(publish, consume);
+        assertSame(publish, provider.getOrCreateConnection(ConnectionRole.PUBLISH));
+        verify(factory).newConnection("myservicebus-publish-0");
+        verify(factory).newConnection("myservicebus-consume-0");
+    }
+
+    @Test
+    void rotatesAcrossConnectionsOfARole() throws Exception {
+        ConnectionFactory factory = mock(ConnectionFactory.class);
+        when(factory.newConnection(anyString())).thenAnswer(invocation -> openConnection());
+        ConnectionProvider provider = new ConnectionProvider(factory, Map.of(ConnectionRole.CONSUME, 2));
+
+        Connection first = provider.getOrCreateConnection(ConnectionRole.CONSUME);
+        Connection second = provider.getOrCreateConnection(ConnectionRole.CONSUME);
+
+        assertNotSame(first, second);
+        assertSame(first, provider.getOrCreateConnection(ConnectionRole.CONSUME));
+    }
+
+    @Test
+    void replacesClosedConnections() throws Exception {
+        Connection closed = mock(Connection.class);
+        Connection open = openConnection();
+        ConnectionFactory factory = mock(ConnectionFactory.class);
+        when(factory.newConnection(anyString())).thenReturn(closed, open);
+        ConnectionProvider provider = new ConnectionProvider(factory);
+
+        assertSame(closed, provider.getOrCreateConnection(ConnectionRole.REQUEST));
+        assertSame(open, provider.getOrCreateConnection(ConnectionRole.REQUEST));
+    }
+
+    private static Connection openConnection() {
+        Connection connection = mock(Connection.class);
+        when(connection.isOpen()).thenReturn(true);
+        return connection;
+    }
+}
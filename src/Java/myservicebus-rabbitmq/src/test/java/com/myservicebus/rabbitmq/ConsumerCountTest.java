@@ -0,0 +1,68 @@
+package com.myservicebus.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.ReceiveTransport;
+import com.myservicebus.logging.Slf4jLoggerFactory;
+import com.myservicebus.topology.MessageBinding;
+import com.myservicebus.topology.ReceiveEndpointTransportTopology;
+import com.rabbitmq.client.CancelCallback;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.DeliverCallback;
+
+class ConsumerCountTest {
+    @Test
+    void opensOneChannelPerConsumer() throws Exception {
+        List<Channel> channels = new CopyOnWriteArrayList<>();
+        Connection connection = mock(Connection.class);
+        when(connection.createChannel()).thenAnswer(invocation -> {
+            Channel channel = mock(Channel.class);
+            channels.add(channel);
+            return channel;
+        });
+        ConnectionProvider provider = mock(ConnectionProvider.class);
+        when(provider.getOrCreateConnection(any())).thenReturn(connection);
+
+        RabbitMqTransportFactory factory = new RabbitMqTransportFactory(provider, new RabbitMqFactoryConfigurator(),
+                new Slf4jLoggerFactory());
+
+        MessageBinding binding = new MessageBinding();
+        binding.setEntityName("ex");
+        binding.setMessageType(Object.class);
+        ReceiveEndpointTransportTopology topology = new ReceiveEndpointTransportTopology(
+                "queue", true, false, 5, List.of(binding), null, 3);
+
+        ReceiveTransport transport = factory.createReceiveTransport(topology,
+                tm -> CompletableFuture.completedFuture(null), s -> true);
+        transport.start();
+
+        List<Channel> consumers = channels.stream()
+                .filter(channel -> mockingDetails(channel).getInvocations().stream()
+                        .anyMatch(invocation -> invocation.getMethod().getName().equals("basicConsume")))
+                .toList();
+        assertEquals(3, consumers.size());
+        for (Channel channel : consumers) {
+            verify(channel).basicQos(5);
+            verify(channel).basicConsume(eq("queue"), eq(false), any(DeliverCallback.class), any(CancelCallback.class));
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveConsumerCount() {
+        MessageBinding binding = new MessageBinding();
+        binding.setEntityName("ex");
+        binding.setMessageType(Object.class);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReceiveEndpointTransportTopology("queue", true, false, 0, List.of(binding), null, 0));
+    }
+}
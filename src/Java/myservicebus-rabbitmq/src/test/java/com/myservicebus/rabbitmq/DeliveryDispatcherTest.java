@@ -0,0 +1,56 @@
+package com.myservicebus.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.logging.Slf4jLoggerFactory;
+
+class DeliveryDispatcherTest {
+    @Test
+    void runsHandlersOffTheCallingThread() throws Exception {
+        DeliveryDispatcher dispatcher = DeliveryDispatcher.create("orders",
+                new DispatchSettings(DispatchMode.FIXED_POOL, 2),
+                new Slf4jLoggerFactory().create(DeliveryDispatcherTest.class));
+        AtomicReference<Thread> handlerThread = new AtomicReference<>();
+
+        dispatcher.dispatch(() -> {
+            handlerThread.set(Thread.currentThread());
+            return CompletableFuture.completedFuture(null);
+        }).get(5, TimeUnit.SECONDS);
+
+        assertNotSame(Thread.currentThread(), handlerThread.get());
+        dispatcher.close();
+    }
+
+    @Test
+    void doesNotBlockTheCallingThreadWhileHandlersRun() throws Exception {
+        DeliveryDispatcher dispatcher = new DeliveryDispatcher(Executors.newCachedThreadPool());
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        CompletableFuture<Void> firstResult = dispatcher.dispatch(() -> first);
+
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        dispatcher.dispatch(() -> {
+            secondStarted.countDown();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertTrue(secondStarted.await(5, TimeUnit.SECONDS));
+        assertFalse(firstResult.isDone());
+        first.complete(null);
+        firstResult.get(5, TimeUnit.SECONDS);
+        dispatcher.close();
+    }
+
+    @Test
+    void consumerThreadModeHasNoDispatcher() {
+        assertNull(DeliveryDispatcher.create("orders", new DispatchSettings(DispatchMode.CONSUMER_THREAD, 1),
+                new Slf4jLoggerFactory().create(DeliveryDispatcherTest.class)));
+    }
+}
@@ -22,7 +22,7 @@ class PrefetchCountTest {
         Connection connection = mock(Connection.class);
         when(connection.createChannel()).thenReturn(channel);
         ConnectionProvider provider = mock(ConnectionProvider.class);
-        when(provider.getOrCreateConnection()).thenReturn(connection);
+        when(provider.getOrCreateConnection(any())).thenReturn(connection);
 
         RabbitMqFactoryConfigurator cfg = new RabbitMqFactoryConfigurator();
         cfg.setPrefetchCount(7);
@@ -45,7 +45,7 @@ class PrefetchCountTest {
         Connection connection = mock(Connection.class);
         when(connection.createChannel()).thenReturn(channel);
         ConnectionProvider provider = mock(ConnectionProvider.class);
-        when(provider.getOrCreateConnection()).thenReturn(connection);
+        when(provider.getOrCreateConnection(any())).thenReturn(connection);
 
         RabbitMqFactoryConfigurator cfg = new RabbitMqFactoryConfigurator();
         cfg.setPrefetchCount(3);
@@ -61,4 +61,28 @@ class PrefetchCountTest {
 
         verify(channel).basicQos(11);
     }
+
+    @Test
+    void dispatch_limit_caps_prefetch() throws Exception {
+        Channel channel = mock(Channel.class);
+        Connection connection = mock(Connection.class);
+        when(connection.createChannel()).thenReturn(channel);
+        ConnectionProvider provider = mock(ConnectionProvider.class);
+        when(provider.getOrCreateConnection(any())).thenReturn(connection);
+
+        RabbitMqFactoryConfigurator cfg = new RabbitMqFactoryConfigurator();
+        cfg.setPrefetchCount(50);
+        cfg.setDispatch(DispatchMode.FIXED_POOL, 8);
+        LoggerFactory loggerFactory = new Slf4jLoggerFactory();
+        RabbitMqTransportFactory factory = new RabbitMqTransportFactory(provider, cfg, loggerFactory);
+
+        MessageBinding binding = new MessageBinding();
+        binding.setEntityName("ex");
+        binding.setMessageType(Object.class);
+
+        Function<TransportMessage, CompletableFuture<Void>> handler = tm -> CompletableFuture.completedFuture(null);
+        factory.createReceiveTransport("queue", List.of(binding), handler, 0);
+
+        verify(channel).basicQos(8);
+    }
 }
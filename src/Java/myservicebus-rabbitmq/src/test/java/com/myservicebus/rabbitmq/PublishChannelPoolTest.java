@@ -0,0 +1,46 @@
+package com.myservicebus.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.rabbitmq.client.Channel;
+
+class PublishChannelPoolTest {
+    @Test
+    void reusesOpenChannelForTheSameThread() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        PublishChannelPool pool = new PublishChannelPool(() -> {
+            created.incrementAndGet();
+            Channel channel = mock(Channel.class);
+            when(channel.isOpen()).thenReturn(true);
+            return new PublishChannel(channel);
+        }, 4);
+
+        PublishChannel first = pool.acquire();
+        PublishChannel second = pool.acquire();
+
+        assertSame(first, second);
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void replacesClosedChannels() throws Exception {
+        Channel closed = mock(Channel.class);
+        when(closed.isOpen()).thenReturn(false);
+        Channel open = mock(Channel.class);
+        when(open.isOpen()).thenReturn(true);
+        AtomicInteger created = new AtomicInteger();
+        PublishChannelPool pool = new PublishChannelPool(
+                () -> new PublishChannel(created.getAndIncrement() == 0 ? closed : open), 1);
+
+        PublishChannel first = pool.acquire();
+        PublishChannel second = pool.acquire();
+
+        assertSame(closed, first.getChannel());
+        assertSame(open, second.getChannel());
+    }
+}
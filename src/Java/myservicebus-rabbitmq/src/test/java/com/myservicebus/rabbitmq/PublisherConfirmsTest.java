@@ -0,0 +1,89 @@
+package com.myservicebus.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+
+class PublisherConfirmsTest {
+    @Test
+    void multipleAckResolvesEveryEarlierPublish() {
+        PublisherConfirmTracker tracker = new PublisherConfirmTracker(10);
+        CompletableFuture<Void> first = tracker.track(1);
+        CompletableFuture<Void> second = tracker.track(2);
+        CompletableFuture<Void> third = tracker.track(3);
+
+        tracker.handleAck(2, true);
+
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        assertTrue(second.isDone() && !second.isCompletedExceptionally());
+        assertFalse(third.isDone());
+        assertEquals(1, tracker.getOutstandingCount());
+    }
+
+    @Test
+    void nackFailsOnlyTheRejectedPublish() {
+        PublisherConfirmTracker tracker = new PublisherConfirmTracker(10);
+        CompletableFuture<Void> first = tracker.track(1);
+        CompletableFuture<Void> second = tracker.track(2);
+
+        tracker.handleNack(2, false);
+
+        assertFalse(first.isDone());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    void failAllFailsOutstandingPublishes() {
+        PublisherConfirmTracker tracker = new PublisherConfirmTracker(10);
+        CompletableFuture<Void> first = tracker.track(1);
+
+        tracker.failAll(new IllegalStateException("closed"));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertEquals(0, tracker.getOutstandingCount());
+    }
+
+    @Test
+    void sendCompletesWhenBrokerConfirms() throws Exception {
+        Channel channel = mock(Channel.class);
+        when(channel.getNextPublishSeqNo()).thenReturn(5L);
+        PublisherConfirmTracker tracker = new PublisherConfirmTracker(10);
+        RabbitMqSendTransport transport = new RabbitMqSendTransport(channel, "ex", "", tracker);
+
+        CompletableFuture<Void> sent = transport.sendAsync(new byte[0], Map.of(), "application/json");
+
+        verify(channel).basicPublish(eq("ex"), eq(""), any(AMQP.BasicProperties.class), any(byte[].class));
+        assertFalse(sent.isDone());
+
+        tracker.handleAck(5, false);
+
+        assertTrue(sent.isDone() && !sent.isCompletedExceptionally());
+    }
+
+    @Test
+    void factoryEnablesConfirmModeWhenConfigured() throws Exception {
+        Channel channel = mock(Channel.class);
+        com.rabbitmq.client.Connection connection = mock(com.rabbitmq.client.Connection.class);
+        when(connection.createChannel()).thenReturn(channel);
+        ConnectionProvider provider = mock(ConnectionProvider.class);
+        when(provider.getOrCreateConnection(any())).thenReturn(connection);
+
+        RabbitMqFactoryConfigurator cfg = new RabbitMqFactoryConfigurator();
+        cfg.setPublisherConfirms(true);
+        RabbitMqTransportFactory factory = new RabbitMqTransportFactory(provider, cfg,
+                new com.myservicebus.logging.Slf4jLoggerFactory());
+
+        factory.getSendTransport("ex", true, false);
+
+        verify(channel).confirmSelect();
+        verify(channel).addConfirmListener(any(PublisherConfirmTracker.class));
+    }
+}
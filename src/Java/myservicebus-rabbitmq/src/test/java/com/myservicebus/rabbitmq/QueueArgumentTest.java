@@ -24,7 +24,7 @@ class QueueArgumentTest {
         Connection connection = mock(Connection.class);
         when(connection.createChannel()).thenReturn(channel);
         ConnectionProvider provider = mock(ConnectionProvider.class);
-        when(provider.getOrCreateConnection()).thenReturn(connection);
+        when(provider.getOrCreateConnection(any())).thenReturn(connection);
 
         RabbitMqFactoryConfigurator cfg = new RabbitMqFactoryConfigurator();
         LoggerFactory loggerFactory = new Slf4jLoggerFactory();
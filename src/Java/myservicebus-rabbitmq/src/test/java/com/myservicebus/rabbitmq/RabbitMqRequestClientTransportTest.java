@@ -1,10 +1,20 @@
 package com.myservicebus.rabbitmq;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -12,12 +22,23 @@ import org.mockito.ArgumentCaptor;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.myservicebus.Envelope;
+import com.myservicebus.HostInfoProvider;
+import com.myservicebus.MessageUrn;
 import com.myservicebus.SendContext;
+import com.myservicebus.serialization.CborMessageSerializer;
+import com.myservicebus.serialization.CompressingMessageSerializer;
+import com.myservicebus.serialization.EnvelopeMessageSerializer;
+import com.myservicebus.serialization.MessageCompressor;
+import com.myservicebus.serialization.MessageSerializationContext;
+import com.myservicebus.serialization.MessageSerializer;
 import com.myservicebus.tasks.CancellationToken;
 import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.CancelCallback;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
 
 class RabbitMqRequestClientTransportTest {
     static class StubConnectionProvider extends ConnectionProvider {
@@ -36,7 +57,7 @@ class RabbitMqRequestClientTransportTest {
         }
 
         @Override
-        public synchronized Connection getOrCreateConnection() {
+        public Connection getOrCreateConnection(ConnectionRole role) {
             return connection;
         }
     }
@@ -105,4 +126,139 @@ class RabbitMqRequestClientTransportTest {
         assertEquals("rabbitmq://custom.example:5679/exchange/custom-requests",
                 envelope.getDestinationAddress());
     }
+
+    @Test
+    void sharesReplyQueueAndCorrelatesResponsesByRequestId() throws Exception {
+        Channel channel = mock(Channel.class);
+        when(channel.isOpen()).thenReturn(true);
+        AMQP.Queue.DeclareOk declareOk = mock(AMQP.Queue.DeclareOk.class);
+        when(declareOk.getQueue()).thenReturn("queue");
+        when(channel.queueDeclare()).thenReturn(declareOk);
+        ArgumentCaptor<DeliverCallback> consumer = ArgumentCaptor.forClass(DeliverCallback.class);
+        when(channel.basicConsume(eq("queue"), eq(true), consumer.capture(), any(CancelCallback.class)))
+                .thenReturn("tag");
+        Connection connection = mock(Connection.class);
+        when(connection.createChannel()).thenReturn(channel);
+        RabbitMqRequestClientTransport transport = new RabbitMqRequestClientTransport(
+                new StubConnectionProvider(connection));
+
+        SendContext first = new SendContext(new Ping("one"), CancellationToken.none());
+        first.setRequestId(UUID.randomUUID());
+        SendContext second = new SendContext(new Ping("two"), CancellationToken.none());
+        second.setRequestId(UUID.randomUUID());
+        CompletableFuture<Ping> firstResponse = transport.sendRequest(Ping.class, first, Ping.class);
+        CompletableFuture<Ping> secondResponse = transport.sendRequest(Ping.class, second, Ping.class);
+
+        verify(channel, times(1)).queueDeclare();
+        verify(channel, times(2)).basicPublish(anyString(), anyString(), any(AMQP.BasicProperties.class),
+                any(byte[].class));
+
+        Envelope<Ping> response = new Envelope<>();
+        response.setRequestId(second.getRequestId());
+        response.setMessageType(List.of(MessageUrn.forClass(Ping.class)));
+        response.setMessage(new Ping("pong"));
+        byte[] body = new ObjectMapper().findAndRegisterModules().writeValueAsBytes(response);
+        consumer.getValue().handle("tag", new Delivery(
+                new com.rabbitmq.client.Envelope(1L, false, "", ""), new AMQP.BasicProperties(), body));
+
+        assertEquals("pong", secondResponse.get(1, TimeUnit.SECONDS).value);
+        assertFalse(firstResponse.isDone());
+    }
+
+    private static Channel replyChannel(ArgumentCaptor<DeliverCallback> consumer) throws Exception {
+        Channel channel = mock(Channel.class);
+        when(channel.isOpen()).thenReturn(true);
+        AMQP.Queue.DeclareOk declareOk = mock(AMQP.Queue.DeclareOk.class);
+        when(declareOk.getQueue()).thenReturn("queue");
+        when(channel.queueDeclare()).thenReturn(declareOk);
+        when(channel.basicConsume(eq("queue"), eq(true), consumer.capture(), any(CancelCallback.class)))
+                .thenReturn("tag");
+        return channel;
+    }
+
+    @Test
+    void readsResponsesByContentType() throws Exception {
+        ArgumentCaptor<DeliverCallback> consumer = ArgumentCaptor.forClass(DeliverCallback.class);
+        Channel channel = replyChannel(consumer);
+        Connection connection = mock(Connection.class);
+        when(connection.createChannel()).thenReturn(channel);
+        RabbitMqRequestClientTransport transport = new RabbitMqRequestClientTransport(
+                new StubConnectionProvider(connection));
+
+        SendContext request = new SendContext(new Ping("ping"), CancellationToken.none());
+        request.setRequestId(UUID.randomUUID());
+        CompletableFuture<Ping> response = transport.sendRequest(Ping.class, request, Ping.class);
+
+        MessageSerializationContext<Ping> reply = new MessageSerializationContext<>(new Ping("pong"));
+        reply.setHeaders(new HashMap<>());
+        reply.setMessageId(UUID.randomUUID());
+        reply.setRequestId(request.getRequestId());
+        reply.setMessageType(List.of(MessageUrn.forClass(Ping.class)));
+        reply.setSentTime(OffsetDateTime.now());
+        reply.setHostInfo(HostInfoProvider.capture());
+        MessageSerializer serializer = new CborMessageSerializer();
+        byte[] body = serializer.serialize(reply);
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .contentType(serializer.getContentType())
+                .build();
+        consumer.getValue().handle("tag", new Delivery(
+                new com.rabbitmq.client.Envelope(1L, false, "", ""), props, body));
+
+        assertEquals("pong", response.get(1, TimeUnit.SECONDS).value);
+    }
+
+    @Test
+    void readsCompressedResponses() throws Exception {
+        ArgumentCaptor<DeliverCallback> consumer = ArgumentCaptor.forClass(DeliverCallback.class);
+        Channel channel = replyChannel(consumer);
+        Connection connection = mock(Connection.class);
+        when(connection.createChannel()).thenReturn(channel);
+        RabbitMqRequestClientTransport transport = new RabbitMqRequestClientTransport(
+                new StubConnectionProvider(connection));
+
+        SendContext request = new SendContext(new Ping("ping"), CancellationToken.none());
+        request.setRequestId(UUID.randomUUID());
+        CompletableFuture<Ping> response = transport.sendRequest(Ping.class, request, Ping.class);
+
+        MessageSerializationContext<Ping> reply = new MessageSerializationContext<>(new Ping("p".repeat(4096)));
+        reply.setHeaders(new HashMap<>());
+        reply.setMessageId(UUID.randomUUID());
+        reply.setRequestId(request.getRequestId());
+        reply.setMessageType(List.of(MessageUrn.forClass(Ping.class)));
+        byte[] body = new CompressingMessageSerializer(new EnvelopeMessageSerializer(), MessageCompressor.GZIP, 0)
+                .serialize(reply);
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .contentType("application/vnd.masstransit+json")
+                .contentEncoding("gzip")
+                .build();
+        consumer.getValue().handle("tag", new Delivery(
+                new com.rabbitmq.client.Envelope(1L, false, "", ""), props, body));
+
+        assertEquals("p".repeat(4096), response.get(1, TimeUnit.SECONDS).value);
+    }
+
+    @Test
+    void failsRequestWhenResponseCannotBeRead() throws Exception {
+        ArgumentCaptor<DeliverCallback> consumer = ArgumentCaptor.forClass(DeliverCallback.class);
+        Channel channel = replyChannel(consumer);
+        Connection connection = mock(Connection.class);
+        when(connection.createChannel()).thenReturn(channel);
+        RabbitMqRequestClientTransport transport = new RabbitMqRequestClientTransport(
+                new StubConnectionProvider(connection));
+
+        SendContext request = new SendContext(new Ping("ping"), CancellationToken.none());
+        request.setRequestId(UUID.randomUUID());
+        CompletableFuture<Ping> response = transport.sendRequest(Ping.class, request, Ping.class);
+
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .contentType("application/x-unknown")
+                .correlationId(request.getRequestId().toString())
+                .build();
+        consumer.getValue().handle("tag", new Delivery(
+                new com.rabbitmq.client.Envelope(1L, false, "", ""), props, new byte[] { 1, 2, 3 }));
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> response.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+    }
 }
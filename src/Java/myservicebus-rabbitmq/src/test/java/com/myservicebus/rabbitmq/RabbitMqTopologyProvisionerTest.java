@@ -0,0 +1,128 @@
+package com.myservicebus.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.topology.MessageBinding;
+import com.rabbitmq.client.BuiltinExchangeType;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+
+class RabbitMqTopologyProvisionerTest {
+    @Test
+    void declaresSharedEntitiesOnceAcrossEndpoints() throws Exception {
+        Channel channel = mock(Channel.class);
+        RabbitMqTopologyProvisioner provisioner = new RabbitMqTopologyProvisioner(provider(channel), 4, false);
+
+        List<RabbitMqTopologyProvisioner.Declaration> declarations = new ArrayList<>();
+        declarations.addAll(RabbitMqTopologyProvisioner.forReceiveEndpoint(endpoint("orders", "OrderSubmitted")));
+        declarations.addAll(RabbitMqTopologyProvisioner.forReceiveEndpoint(endpoint("audit", "OrderSubmitted")));
+        provisioner.provision(declarations);
+
+        verify(channel, times(1)).exchangeDeclare("OrderSubmitted", BuiltinExchangeType.FANOUT, true, false, null);
+        verify(channel).queueBind("orders", "OrderSubmitted", "");
+        verify(channel).queueBind("audit", "OrderSubmitted", "");
+    }
+
+    @Test
+    void remembersDeclarationsForTheConnection() throws Exception {
+        Channel channel = mock(Channel.class);
+        RabbitMqTopologyProvisioner provisioner = new RabbitMqTopologyProvisioner(provider(channel), 2, false);
+
+        provisioner.provision(RabbitMqTopologyProvisioner.forReceiveEndpoint(endpoint("orders", "OrderSubmitted")));
+        provisioner.provision(RabbitMqTopologyProvisioner.forQueue("orders", true, false));
+
+        verify(channel, times(1)).queueDeclare(eq("orders"), anyBoolean(), anyBoolean(), anyBoolean(), any());
+        verify(channel, times(1)).queueDeclare(eq("orders_error"), anyBoolean(), anyBoolean(), anyBoolean(), any());
+    }
+
+    @Test
+    void reusesOnePoolAcrossPhasesUntilClosed() throws Exception {
+        Channel channel = mock(Channel.class);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            return null;
+        }).when(channel)
+                .queueDeclare(anyString(), anyBoolean(), anyBoolean(), anyBoolean(), any());
+        RabbitMqTopologyProvisioner provisioner = new RabbitMqTopologyProvisioner(provider(channel), 2, false);
+
+        provisioner.provision(RabbitMqTopologyProvisioner.forReceiveEndpoint(endpoint("orders", "OrderSubmitted")));
+        provisioner.provision(RabbitMqTopologyProvisioner.forReceiveEndpoint(endpoint("audit", "OrderSubmitted")));
+        provisioner.provision(RabbitMqTopologyProvisioner.forReceiveEndpoint(endpoint("billing", "OrderSubmitted")));
+        provisioner.close();
+
+        assertTrue(threads.size() <= 2, "declared on " + threads);
+        assertThrows(RejectedExecutionException.class, () -> provisioner
+                .provision(RabbitMqTopologyProvisioner.forReceiveEndpoint(endpoint("shipping", "OrderShipped"))));
+    }
+
+    @Test
+    void verifyOnlyDeclaresPassivelyAndSkipsBindings() throws Exception {
+        Channel channel = mock(Channel.class);
+        RabbitMqTopologyProvisioner provisioner = new RabbitMqTopologyProvisioner(provider(channel), 1, true);
+
+        provisioner.provision(RabbitMqTopologyProvisioner.forReceiveEndpoint(endpoint("orders", "OrderSubmitted")));
+
+        verify(channel).queueDeclarePassive("orders");
+        verify(channel).exchangeDeclarePassive("OrderSubmitted");
+        verify(channel, never()).queueDeclare(anyString(), anyBoolean(), anyBoolean(), anyBoolean(), any());
+        verify(channel, never()).queueBind(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void delayQueueDeadLettersBackToTheEndpoint() throws Exception {
+        Channel channel = mock(Channel.class);
+        RabbitMqTopologyProvisioner provisioner = new RabbitMqTopologyProvisioner(provider(channel), 1, false);
+
+        provisioner.provision(RabbitMqTopologyProvisioner.forDelayQueue("orders_delay_30000", "orders", 30000, 3660000));
+
+        verify(channel).queueDeclare("orders_delay_30000", true, false, false, Map.of(
+                "x-message-ttl", 30000L,
+                "x-expires", 3660000L,
+                "x-dead-letter-exchange", "",
+                "x-dead-letter-routing-key", "orders"));
+        verify(channel, never()).queueDeclare(eq("orders_delay_30000_error"), anyBoolean(), anyBoolean(),
+                anyBoolean(), any());
+    }
+
+    @Test
+    void redeclareDeclaresAgain() throws Exception {
+        Channel channel = mock(Channel.class);
+        RabbitMqTopologyProvisioner provisioner = new RabbitMqTopologyProvisioner(provider(channel), 1, false);
+        List<RabbitMqTopologyProvisioner.Declaration> declarations =
+                RabbitMqTopologyProvisioner.forDelayQueue("orders_delay_1000", "orders", 1000, 3602000);
+
+        provisioner.provision(declarations);
+        provisioner.provision(declarations);
+        provisioner.redeclare(declarations);
+
+        verify(channel, times(2)).queueDeclare(eq("orders_delay_1000"), anyBoolean(), anyBoolean(), anyBoolean(),
+                any());
+    }
+
+    private static ConnectionProvider provider(Channel channel) throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.createChannel()).thenReturn(channel);
+        ConnectionProvider provider = mock(ConnectionProvider.class);
+        when(provider.getOrCreateConnection(any())).thenReturn(connection);
+        return provider;
+    }
+
+    private static RabbitMqReceiveEndpointTopology endpoint(String queue, String exchange) {
+        MessageBinding binding = new MessageBinding();
+        binding.setMessageType(Object.class);
+        binding.setEntityName(exchange);
+        return RabbitMqReceiveEndpointTopology.project(queue, List.of(binding), 0, null);
+    }
+}
@@ -0,0 +1,36 @@
+package com.myservicebus.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.logging.Logger;
+import com.myservicebus.logging.LoggerFactory;
+
+class RabbitMqTransportFactoryTest {
+    @Test
+    void redeliveryDelaysRoundUpToTheNextStep() {
+        assertEquals(Duration.ofSeconds(1), RabbitMqTransportFactory.roundRedeliveryDelay(Duration.ZERO));
+        assertEquals(Duration.ofSeconds(5), RabbitMqTransportFactory.roundRedeliveryDelay(Duration.ofMillis(2001)));
+        assertEquals(Duration.ofMinutes(1), RabbitMqTransportFactory.roundRedeliveryDelay(Duration.ofMinutes(1)));
+        assertEquals(Duration.ofHours(24), RabbitMqTransportFactory.roundRedeliveryDelay(Duration.ofDays(3)));
+    }
+
+    @Test
+    void warnsOnceWhenRedeliveryDelayExceedsTheLargestStep() {
+        Logger logger = mock(Logger.class);
+        LoggerFactory loggerFactory = mock(LoggerFactory.class);
+        when(loggerFactory.create(any(Class.class))).thenReturn(logger);
+        RabbitMqTransportFactory factory = new RabbitMqTransportFactory(mock(ConnectionProvider.class),
+                new RabbitMqFactoryConfigurator(), loggerFactory);
+
+        assertEquals("queue:input_delay_86400000", factory.getRedeliveryAddress("input", Duration.ofDays(3)));
+        factory.getRedeliveryAddress("input", Duration.ofDays(2));
+        factory.getRedeliveryAddress("input", Duration.ofHours(24));
+
+        verify(logger, times(1)).warn(anyString(), any(Object[].class));
+    }
+}
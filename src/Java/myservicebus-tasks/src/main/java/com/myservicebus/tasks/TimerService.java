@@ -0,0 +1,361 @@
+package com.myservicebus.tasks;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Schedules delayed work on a hashed timing wheel driven by a single thread.
+ *
+ * <p>
+ * Scheduling and cancelling a timeout are constant-time operations, so large
+ * numbers of pending retries, delayed messages and request timeouts neither
+ * create threads nor slow each other down. Expired tasks are handed to an
+ * executor (the common fork-join pool by default) so that slow work never
+ * delays the wheel. Timeouts fire no earlier than requested and at most one
+ * tick late.
+ * </p>
+ */
+public final class TimerService implements AutoCloseable {
+    private static final Duration DEFAULT_TICK = Duration.ofMillis(10);
+    private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime;
+    private final Executor executor;
+    private final Queue<TimeoutTask> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<TimeoutTask> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean stopped;
+    private long tick;
+
+    public TimerService(Duration tickDuration, int ticksPerWheel, Executor executor, String threadName) {
+        Objects.requireNonNull(tickDuration, "tickDuration");
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("tickDuration must be positive");
+        }
+        if (ticksPerWheel < 1) {
+            throw new IllegalArgumentException("ticksPerWheel must be positive");
+        }
+        this.tickNanos = tickDuration.toNanos();
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[Math.max(1, size)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Returns the process-wide timer used by the bus for retries, scheduled
+     * messages, request timeouts and jobs.
+     */
+    public static TimerService shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Runs {@code task} once {@code delay} has elapsed.
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+        Objects.requireNonNull(task, "task");
+        if (stopped) {
+            throw new IllegalStateException("The timer service has been stopped");
+        }
+        long delayNanos = Math.max(0, delay.toNanos());
+        long deadline = System.nanoTime() - startTime + delayNanos;
+        if (delayNanos > 0 && deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+        TimeoutTask timeout = new TimeoutTask(task, deadline);
+        pending.incrementAndGet();
+        additions.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Runs {@code task} once {@code delay} has elapsed unless the token is
+     * cancelled first.
+     */
+    public Timeout schedule(Runnable task, Duration delay, CancellationToken cancellationToken) {
+        if (cancellationToken.isCancelled()) {
+            TimeoutTask cancelled = new TimeoutTask(task, 0);
+            cancelled.state.set(TimeoutTask.CANCELLED);
+            return cancelled;
+        }
+        TimeoutTask[] holder = new TimeoutTask[1];
+        CancellationRegistration registration = cancellationToken.onCancel(() -> {
+            TimeoutTask timeout = holder[0];
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        });
+        TimeoutTask timeout = (TimeoutTask) schedule(() -> {
+            registration.close();
+            task.run();
+        }, delay);
+        timeout.registration = registration;
+        holder[0] = timeout;
+        if (cancellationToken.isCancelled()) {
+            timeout.cancel();
+        }
+        return timeout;
+    }
+
+    /**
+     * Returns a future that completes after {@code delay}, or fails with
+     * {@link CancellationException} when the token is cancelled first.
+     */
+    public CompletableFuture<Void> delay(Duration delay, CancellationToken cancellationToken) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (cancellationToken.isCancelled()) {
+            future.completeExceptionally(new CancellationException());
+            return future;
+        }
+        Timeout timeout = schedule(() -> future.complete(null), delay);
+        CancellationRegistration registration = cancellationToken.onCancel(() -> {
+            if (timeout.cancel()) {
+                future.completeExceptionally(new CancellationException());
+            }
+        });
+        future.whenComplete((ignored, failure) -> registration.close());
+        return future;
+    }
+
+    /**
+     * Fails {@code future} with {@link TimeoutException} unless it completes
+     * within {@code timeout}.
+     */
+    public <T> CompletableFuture<T> orTimeout(CompletableFuture<T> future, Duration timeout) {
+        if (future.isDone()) {
+            return future;
+        }
+        Timeout expiry = schedule(() -> future.completeExceptionally(new TimeoutException()), timeout);
+        future.whenComplete((ignored, failure) -> expiry.cancel());
+        return future;
+    }
+
+    /**
+     * Returns the number of timeouts that have been scheduled and have neither
+     * fired nor been cancelled.
+     */
+    public long getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the wheel thread. Pending timeouts never fire.
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (!stopped) {
+            long now = waitForNextTick();
+            if (now < 0) {
+                break;
+            }
+            removeCancelled();
+            transferAdditions();
+            wheel[(int) (tick & mask)].expire(now);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startTime;
+            long sleepNanos = deadline - now;
+            if (sleepNanos <= 0) {
+                return now;
+            }
+            try {
+                Thread.sleep(TimeUnit.NANOSECONDS.toMillis(sleepNanos + 999_999));
+            } catch (InterruptedException ex) {
+                if (stopped) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferAdditions() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            TimeoutTask timeout = additions.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() == TimeoutTask.CANCELLED) {
+                continue;
+            }
+            long expiryTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            long targetTick = Math.max(expiryTick, tick);
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        TimeoutTask timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * A scheduled task that can be cancelled before it fires.
+     */
+    public interface Timeout {
+        /**
+         * Prevents the task from running. Returns {@code false} when it already
+         * ran or was cancelled before.
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+
+        boolean isExpired();
+    }
+
+    private final class TimeoutTask implements Timeout {
+        static final int WAITING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        final Runnable task;
+        final long deadline;
+        final AtomicInteger state = new AtomicInteger(WAITING);
+        volatile CancellationRegistration registration;
+        long remainingRounds;
+        Bucket bucket;
+        TimeoutTask next;
+        TimeoutTask prev;
+
+        TimeoutTask(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            CancellationRegistration current = registration;
+            if (current != null) {
+                current.close();
+            }
+            cancellations.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        void expire() {
+            if (!state.compareAndSet(WAITING, EXPIRED)) {
+                return;
+            }
+            pending.decrementAndGet();
+            try {
+                executor.execute(task);
+            } catch (RuntimeException ignored) {
+                // A rejecting executor drops the task, like a cancelled timeout.
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts that hash to one slot of the wheel.
+     * Only touched by the wheel thread.
+     */
+    private static final class Bucket {
+        private TimeoutTask head;
+        private TimeoutTask tail;
+
+        void add(TimeoutTask timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long now) {
+            TimeoutTask timeout = head;
+            while (timeout != null) {
+                TimeoutTask next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(TimeoutTask timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    private static final class Shared {
+        static final TimerService INSTANCE = new TimerService(DEFAULT_TICK, DEFAULT_TICKS_PER_WHEEL,
+                ForkJoinPool.commonPool(), "myservicebus-timer");
+    }
+}
@@ -0,0 +1,106 @@
+package com.myservicebus.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TimerServiceTest {
+    private final TimerService timer = new TimerService(Duration.ofMillis(1), 8, Runnable::run, "timer-test");
+
+    @AfterEach
+    void close() {
+        timer.close();
+    }
+
+    @Test
+    void runsTaskAfterDelay() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        TimerService.Timeout timeout = timer.schedule(fired::countDown, Duration.ofMillis(20));
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(20).toNanos());
+        assertTrue(timeout.isExpired());
+        assertEquals(0, timer.getPendingCount());
+    }
+
+    @Test
+    void delaysLongerThanOneRotationWaitForTheirRound() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        timer.schedule(fired::countDown, Duration.ofMillis(40));
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(40).toNanos());
+    }
+
+    @Test
+    void cancelledTaskNeverRuns() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+
+        TimerService.Timeout timeout = timer.schedule(runs::incrementAndGet, Duration.ofMillis(20));
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        Thread.sleep(60);
+        assertEquals(0, runs.get());
+        assertEquals(0, timer.getPendingCount());
+    }
+
+    @Test
+    void tokenCancellationCancelsScheduledTask() throws Exception {
+        CancellationTokenSource source = new CancellationTokenSource();
+        AtomicInteger runs = new AtomicInteger();
+
+        TimerService.Timeout timeout = timer.schedule(runs::incrementAndGet, Duration.ofMillis(20), source.token());
+        source.cancel();
+
+        assertTrue(timeout.isCancelled());
+        Thread.sleep(60);
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void delayFailsWhenTokenIsCancelled() {
+        CancellationTokenSource source = new CancellationTokenSource();
+
+        CompletableFuture<Void> delay = timer.delay(Duration.ofSeconds(5), source.token());
+        source.cancel();
+
+        assertThrows(CancellationException.class, delay::join);
+    }
+
+    @Test
+    void orTimeoutFailsIncompleteFuture() {
+        CompletableFuture<String> future = timer.orTimeout(new CompletableFuture<>(), Duration.ofMillis(10));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+    }
+
+    @Test
+    void orTimeoutIsCancelledWhenFutureCompletes() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        timer.orTimeout(future, Duration.ofSeconds(5));
+
+        future.complete("done");
+
+        assertEquals(0, timer.getPendingCount());
+    }
+}
@@ -7,7 +7,6 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
@@ -16,6 +15,7 @@ import java.util.Objects;
 import com.myservicebus.di.ServiceProvider;
 import com.myservicebus.di.ServiceScope;
 import com.myservicebus.tasks.CancellationToken;
+import com.myservicebus.tasks.TimerService;
 import com.myservicebus.topology.ConsumerTopology;
 import com.myservicebus.topology.TopologyRegistry;
 import com.myservicebus.serialization.MessageSerializer;
@@ -86,17 +86,8 @@ public class InMemoryTestHarness implements RequestClientTransport, TransportSen
             if (delay.isNegative()) {
                 delay = Duration.ZERO;
             }
-            CompletableFuture<Void> future = new CompletableFuture<>();
-            CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS)
-                    .execute(() -> sendInternal(context, null, null)
-                            .whenComplete((r, e) -> {
-                                if (e != null) {
-                                    future.completeExceptionally(e);
-                                } else {
-                                    future.complete(r);
-                                }
-                            }));
-            return future;
+            return TimerService.shared().delay(delay, context.getCancellationToken())
+                    .thenCompose(v -> sendInternal(context, null, null));
         }
         return sendInternal(context, null, null);
     }
@@ -107,11 +98,7 @@ public class InMemoryTestHarness implements RequestClientTransport, TransportSen
         }
 
         Object message = context.getMessage();
-        Class<?> messageType = message.getClass();
-        if (java.lang.reflect.Proxy.isProxyClass(messageType) && messageType.getInterfaces().length > 0) {
-            messageType = messageType.getInterfaces()[0];
-        }
-        final Class<?> mt = messageType;
+        final Class<?> mt = MessageTypeMetadata.of(message.getClass()).getMessageType();
         List<CompletableFuture<Void>> deliveries = new ArrayList<>();
 
         List<com.myservicebus.Consumer<?>> list = handlers.entrySet().stream()
@@ -303,9 +290,9 @@ public class InMemoryTestHarness implements RequestClientTransport, TransportSen
             consumedWaiters.add(waiter);
         }
 
-        CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS)
-                .execute(() -> waiter.completion.complete(false));
+        TimerService.Timeout expiry = TimerService.shared().schedule(() -> waiter.completion.complete(false), timeout);
         waiter.completion.whenComplete((result, failure) -> {
+            expiry.cancel();
             synchronized (observationLock) {
                 consumedWaiters.remove(waiter);
             }
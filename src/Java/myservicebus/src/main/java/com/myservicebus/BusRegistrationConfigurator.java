@@ -3,6 +3,7 @@ package com.myservicebus;
 import com.myservicebus.di.ServiceCollection;
 import com.myservicebus.serialization.MessageSerializer;
 import com.myservicebus.serialization.MessageDeserializer;
+import com.myservicebus.serialization.MessageCompressor;
 import com.myservicebus.BusFactoryConfigurator;
 
 public interface BusRegistrationConfigurator {
@@ -12,6 +13,16 @@ public interface BusRegistrationConfigurator {
     void configurePublish(java.util.function.Consumer<PipeConfigurator<PublishContext>> configure);
     void setSerializer(Class<? extends MessageSerializer> serializerClass);
     void setDeserializer(Class<? extends MessageDeserializer> deserializerClass);
+    /**
+     * Compresses outgoing message bodies of at least {@code thresholdBytes}
+     * with {@code compressor}. Receivers decompress them transparently.
+     */
+    void useCompression(MessageCompressor compressor, int thresholdBytes);
+    /**
+     * Limits how large a compressed message body may become when it is
+     * decompressed. Messages above the limit fail to deserialize.
+     */
+    void setMaxDecompressedSize(int maxBytes);
     void requireTransportCapability(String capability, boolean requireNative);
     default void requireTransportCapability(String capability) {
         requireTransportCapability(capability, false);
@@ -2,6 +2,7 @@ package com.myservicebus;
 
 import com.myservicebus.di.ServiceCollection;
 import com.myservicebus.serialization.MessageDeserializer;
+import com.myservicebus.serialization.MessageCompressor;
 import com.myservicebus.serialization.MessageSerializer;
 import java.util.function.Consumer;
 import com.myservicebus.BusFactoryConfigurator;
@@ -47,6 +48,16 @@ public abstract class BusRegistrationConfiguratorDecorator implements BusRegistr
         inner.setDeserializer(deserializerClass);
     }
 
+    @Override
+    public void useCompression(MessageCompressor compressor, int thresholdBytes) {
+        inner.useCompression(compressor, thresholdBytes);
+    }
+
+    @Override
+    public void setMaxDecompressedSize(int maxBytes) {
+        inner.setMaxDecompressedSize(maxBytes);
+    }
+
     @Override
     public void requireTransportCapability(String capability, boolean requireNative) {
         inner.requireTransportCapability(capability, requireNative);
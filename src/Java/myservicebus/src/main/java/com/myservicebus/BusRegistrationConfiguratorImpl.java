@@ -25,6 +25,8 @@ public class BusRegistrationConfiguratorImpl implements BusRegistrationConfigura
     private PipeConfigurator<PublishContext> publishConfigurator = new PipeConfigurator<>();
     private Class<? extends com.myservicebus.serialization.MessageSerializer> serializerClass = com.myservicebus.serialization.EnvelopeMessageSerializer.class;
     private Class<? extends com.myservicebus.serialization.MessageDeserializer> deserializerClass = com.myservicebus.serialization.EnvelopeMessageDeserializer.class;
+    private com.myservicebus.serialization.MessageCompressionSettings compression;
+    private int maxDecompressedSize = com.myservicebus.serialization.MessageDeserializerRegistry.DEFAULT_MAX_DECOMPRESSED_BYTES;
     private final Set<Class<?>> consumerTypes = new HashSet<>();
     private final Logger logger = new ConsoleLoggerFactory(new ConsoleLoggerConfig())
             .create(BusRegistrationConfiguratorImpl.class);
@@ -96,6 +98,19 @@ public class BusRegistrationConfiguratorImpl implements BusRegistrationConfigura
         this.deserializerClass = deserializerClass;
     }
 
+    @Override
+    public void useCompression(com.myservicebus.serialization.MessageCompressor compressor, int thresholdBytes) {
+        this.compression = new com.myservicebus.serialization.MessageCompressionSettings(compressor, thresholdBytes);
+    }
+
+    @Override
+    public void setMaxDecompressedSize(int maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes");
+        }
+        this.maxDecompressedSize = maxBytes;
+    }
+
     @Override
     public void requireTransportCapability(String capability, boolean requireNative) {
         capabilityRequirements.require(capability, requireNative);
@@ -175,13 +190,20 @@ public class BusRegistrationConfiguratorImpl implements BusRegistrationConfigura
         serviceCollection.addSingleton(com.myservicebus.topology.BusTopology.class, sp -> () -> topology);
         serviceCollection.addSingleton(SendPipe.class, sp -> () -> new SendPipe(sendConfigurator.build(sp)));
         serviceCollection.addSingleton(PublishPipe.class, sp -> () -> new PublishPipe(publishConfigurator.build(sp)));
+        serviceCollection.addSingleton(com.myservicebus.serialization.SerializationRuntime.class,
+                sp -> () -> com.myservicebus.serialization.SerializationRuntime.shared());
         serviceCollection.addSingleton(com.myservicebus.serialization.MessageSerializer.class, sp -> () -> {
             try {
-                return serializerClass.getDeclaredConstructor().newInstance();
+                com.myservicebus.serialization.MessageSerializer serializer = serializerClass.getDeclaredConstructor().newInstance();
+                return compression != null ? compression.apply(serializer) : serializer;
             } catch (Exception ex) {
                 throw new RuntimeException(ex);
             }
         });
+        if (compression != null) {
+            serviceCollection.addSingleton(com.myservicebus.serialization.MessageCompressionSettings.class,
+                    sp -> () -> compression);
+        }
         serviceCollection.addSingleton(com.myservicebus.serialization.MessageDeserializer.class, sp -> () -> {
             try {
                 return deserializerClass.getDeclaredConstructor().newInstance();
@@ -191,10 +213,15 @@ public class BusRegistrationConfiguratorImpl implements BusRegistrationConfigura
         });
         serviceCollection.addSingleton(com.myservicebus.serialization.MessageHeaderConvention.class,
                 sp -> () -> com.myservicebus.serialization.MassTransitHeaderConvention.INSTANCE);
+        serviceCollection.addSingleton(com.myservicebus.serialization.MessageDeserializerRegistry.class, sp -> () ->
+                com.myservicebus.serialization.MessageDeserializerRegistry.createDefault(
+                        sp.getService(com.myservicebus.serialization.MessageDeserializer.class))
+                        .setMaxDecompressedBytes(maxDecompressedSize));
         serviceCollection.addSingleton(com.myservicebus.serialization.InboundMessageResolver.class, sp -> () ->
                 new com.myservicebus.serialization.DefaultInboundMessageResolver(
-                        sp.getService(com.myservicebus.serialization.MessageDeserializer.class),
-                        sp.getService(com.myservicebus.serialization.MessageHeaderConvention.class)));
+                        sp.getService(com.myservicebus.serialization.MessageDeserializerRegistry.class),
+                        sp.getService(com.myservicebus.serialization.MessageHeaderConvention.class),
+                        sp.getService(com.myservicebus.serialization.SerializationRuntime.class)));
     }
 
     @Override
@@ -58,6 +58,11 @@ public class ConsumerConsumeContext<TConsumer, T> extends ConsumeContext<T> {
         return context.forward(destination, message, cancellationToken);
     }
 
+    @Override
+    public String getResponseAddress() {
+        return context.getResponseAddress();
+    }
+
     @Override
     public String getFaultAddress() {
         return context.getFaultAddress();
@@ -68,6 +73,16 @@ public class ConsumerConsumeContext<TConsumer, T> extends ConsumeContext<T> {
         return context.getErrorAddress();
     }
 
+    @Override
+    public TransportMessage getTransportMessage() {
+        return context.getTransportMessage();
+    }
+
+    @Override
+    public int getRetryAttempt() {
+        return context.getRetryAttempt();
+    }
+
     @Override
     public CancellationToken getCancellationToken() {
         return context.getCancellationToken();
@@ -6,41 +6,52 @@ import java.util.concurrent.CompletionException;
 import com.myservicebus.di.ServiceProvider;
 import com.myservicebus.logging.Logger;
 import com.myservicebus.logging.LoggerFactory;
-import com.myservicebus.tasks.CancellationToken;
 
 /**
  * Filter that handles consumer failures after retries are exhausted.
+ *
+ * <p>
+ * The fault is sent asynchronously; the failure is reported once the send
+ * completes, with any send failure attached as a suppressed exception.
+ * </p>
  */
 public class ConsumerFaultFilter<T> implements Filter<ConsumeContext<T>> {
-    private final ServiceProvider provider;
-    private final Class<? extends Consumer<T>> consumerType;
+    private final Logger logger;
+    private final String faultedMessage;
 
     public ConsumerFaultFilter(ServiceProvider provider, Class<? extends Consumer<T>> consumerType) {
-        this.provider = provider;
-        this.consumerType = consumerType;
+        LoggerFactory loggerFactory = provider.getService(LoggerFactory.class);
+        this.logger = loggerFactory != null ? loggerFactory.create(ConsumerFaultFilter.class) : null;
+        this.faultedMessage = String.format("Consumer %s faulted", consumerType.getSimpleName());
     }
 
     @Override
     public CompletableFuture<Void> send(ConsumeContext<T> context, Pipe<ConsumeContext<T>> next) {
-        LoggerFactory loggerFactory = provider.getService(LoggerFactory.class);
-        Logger logger = loggerFactory != null ? loggerFactory.create(ConsumerFaultFilter.class) : null;
         CompletableFuture<Void> future;
         try {
             future = next.send(context);
         } catch (Exception ex) {
             future = CompletableFuture.failedFuture(ex);
         }
-        return future.handle((v, ex) -> {
-            if (ex != null) {
-                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
-                context.respondFault(cause instanceof Exception ? (Exception) cause : new RuntimeException(cause),
-                        CancellationToken.none()).join();
-                if (logger != null) {
-                    logger.error(String.format("Consumer %s faulted", consumerType.getSimpleName()), cause);
-                }
-                throw new CompletionException(cause);
+        if (Pipes.isCompletedSuccessfully(future)) {
+            return future;
+        }
+        return future.handle((v, ex) -> ex).thenCompose(ex -> {
+            if (ex == null) {
+                return Pipes.completed();
             }
-            return null;
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            CompletableFuture<Void> faulted = FaultResponder.respondFault(context, cause)
+                    .handle((ignored, failure) -> {
+                        if (failure != null) {
+                            cause.addSuppressed(failure);
+                        }
+                        if (logger != null) {
+                            logger.error(faultedMessage, cause);
+                        }
+                        throw new CompletionException(cause);
+                    });
+            return faulted;
         });
     }
 }
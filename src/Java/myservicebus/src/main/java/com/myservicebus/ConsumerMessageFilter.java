@@ -23,6 +23,9 @@ public class ConsumerMessageFilter<TConsumer extends Consumer<T>, T> implements
             } catch (Exception ex) {
                 consumerFuture = CompletableFuture.failedFuture(ex);
             }
+            if (Pipes.isCompletedSuccessfully(consumerFuture)) {
+                return next.send(cc);
+            }
             return consumerFuture.thenCompose(v -> next.send(cc));
         }));
     }
@@ -7,28 +7,33 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import com.myservicebus.tasks.CancellationToken;
 import com.myservicebus.tasks.CancellationTokenSource;
+import com.myservicebus.tasks.TimerService;
 
 public class DefaultJobScheduler implements JobScheduler {
-    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final TimerService timer;
     private final ConcurrentMap<UUID, ScheduledJob> jobs = new ConcurrentHashMap<>();
 
     private static class ScheduledJob {
         final CancellationTokenSource cts;
-        final ScheduledFuture<?> future;
-        ScheduledJob(CancellationTokenSource cts, ScheduledFuture<?> future) {
+        final TimerService.Timeout timeout;
+        ScheduledJob(CancellationTokenSource cts, TimerService.Timeout timeout) {
             this.cts = cts;
-            this.future = future;
+            this.timeout = timeout;
         }
     }
 
+    public DefaultJobScheduler() {
+        this(TimerService.shared());
+    }
+
+    public DefaultJobScheduler(TimerService timer) {
+        this.timer = timer;
+    }
+
     @Override
     public CompletionStage<UUID> schedule(Instant scheduledTime,
             Function<CancellationToken, CompletionStage<Void>> callback,
@@ -51,8 +56,8 @@ public class DefaultJobScheduler implements JobScheduler {
                 jobs.remove(id);
             }
         };
-        ScheduledFuture<?> future = executor.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS);
-        jobs.put(id, new ScheduledJob(cts, future));
+        ScheduledJob job = new ScheduledJob(cts, timer.schedule(task, delay, cancellationToken));
+        jobs.put(id, job);
         return CompletableFuture.completedFuture(id);
     }
 
@@ -61,7 +66,7 @@ public class DefaultJobScheduler implements JobScheduler {
         ScheduledJob job = jobs.remove(tokenId);
         if (job != null) {
             job.cts.cancel();
-            job.future.cancel(false);
+            job.timeout.cancel();
         }
         return CompletableFuture.completedFuture(null);
     }
@@ -0,0 +1,125 @@
+package com.myservicebus;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import com.myservicebus.tasks.CancellationToken;
+
+/**
+ * Hands a failed message back to the broker to be delivered again later.
+ *
+ * <p>
+ * Runs outside the in-memory retry filter. When the retries are exhausted and
+ * the redelivery policy allows another attempt, the message is sent to the
+ * transport's redelivery address with an incremented
+ * {@link MessageHeaders#REDELIVERY_COUNT}, the delay used and the time of the
+ * first failure, which the policy receives as the previous delay and elapsed
+ * time on the next failure. The current delivery completes
+ * successfully, so it is acknowledged and its prefetch slot is freed during the
+ * delay. Once redeliveries are exhausted, or the transport has no redelivery
+ * address, the failure continues to the fault and error filters.
+ * </p>
+ *
+ * <p>
+ * Messages received from a transport are redelivered as the received
+ * {@link TransportMessage}: the original body under the message type it
+ * arrived as, without reading or serializing the bound message again.
+ * </p>
+ */
+class DelayedRedeliveryFilter<T> implements Filter<ConsumeContext<T>> {
+    private final RetryPolicy policy;
+    private final Function<Duration, String> redeliveryAddress;
+
+    DelayedRedeliveryFilter(RetryPolicy policy, Function<Duration, String> redeliveryAddress) {
+        this.policy = policy;
+        this.redeliveryAddress = redeliveryAddress;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(ConsumeContext<T> context, Pipe<ConsumeContext<T>> next) {
+        CompletableFuture<Void> result;
+        try {
+            result = next.send(context);
+        } catch (Exception ex) {
+            result = CompletableFuture.failedFuture(ex);
+        }
+        if (Pipes.isCompletedSuccessfully(result)) {
+            return result;
+        }
+        return result.handle((v, ex) -> ex).thenCompose(ex -> {
+            if (ex == null) {
+                return Pipes.completed();
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            Map<String, Object> headers = context.getHeaders();
+            int redeliveryCount = RedeliveryHeaders.readRedeliveryCount(headers, null);
+            Instant now = Instant.now();
+            Instant firstFaultTime = RedeliveryHeaders.readFirstFaultTime(headers);
+            if (firstFaultTime == null || firstFaultTime.isAfter(now)) {
+                firstFaultTime = now;
+            }
+            Duration delay = policy.nextDelay(redeliveryCount + 1, RedeliveryHeaders.readPreviousDelay(headers), cause,
+                    Duration.between(firstFaultTime, now));
+            String address = delay != null ? redeliveryAddress.apply(delay) : null;
+            if (address == null) {
+                return CompletableFuture.failedFuture(cause);
+            }
+            CompletableFuture<Void> redelivered = redeliver(context, address, redeliveryCount + 1, delay,
+                    firstFaultTime)
+                    .handle((ignored, failure) -> {
+                        if (failure != null) {
+                            cause.addSuppressed(failure);
+                            throw new CompletionException(cause);
+                        }
+                        return null;
+                    });
+            return redelivered;
+        });
+    }
+
+    private CompletableFuture<Void> redeliver(ConsumeContext<T> context, String address, int redeliveryCount,
+            Duration delay, Instant firstFaultTime) {
+        SendEndpoint endpoint;
+        try {
+            endpoint = context.getSendEndpoint(address);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        TransportMessage original = context.getTransportMessage();
+        Map<String, Object> headers = original != null ? original.getHeaders() : context.getHeaders();
+        // A received message is sent as its transport bytes, so the bound message is neither read nor serialized again.
+        Object message = original != null ? original : context.getMessage();
+        return endpoint.send(message, sendCtx -> {
+            sendCtx.setOriginalMessage(original);
+            if (headers != null) {
+                // Broker bookkeeping such as x-death describes the previous hop, not the message.
+                headers.forEach((key, value) -> {
+                    if (!key.startsWith("x-")) {
+                        sendCtx.getHeaders().put(key, value);
+                    }
+                });
+            }
+            sendCtx.getHeaders().remove(MessageHeaders.RETRY_ATTEMPT);
+            sendCtx.getHeaders().put(MessageHeaders.REDELIVERY_COUNT, redeliveryCount);
+            sendCtx.getHeaders().put(MessageHeaders.REDELIVERY_DELAY, delay.toMillis());
+            sendCtx.getHeaders().put(MessageHeaders.REDELIVERY_FIRST_FAULT_TIME, firstFaultTime.toString());
+            sendCtx.setRequestId(context.getRequestId());
+            sendCtx.setCorrelationId(context.getCorrelationId());
+            if (context.getConversationId() != null) {
+                sendCtx.setConversationId(context.getConversationId());
+            }
+            sendCtx.setInitiatorId(context.getInitiatorId());
+            if (context.getResponseAddress() != null) {
+                sendCtx.setResponseAddress(URI.create(context.getResponseAddress()));
+            }
+            if (context.getFaultAddress() != null) {
+                sendCtx.setFaultAddress(URI.create(context.getFaultAddress()));
+            }
+        }, CancellationToken.none());
+    }
+}
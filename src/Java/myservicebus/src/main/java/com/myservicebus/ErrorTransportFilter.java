@@ -10,62 +10,92 @@ import com.myservicebus.logging.Logger;
 import com.myservicebus.logging.LoggerFactory;
 import com.myservicebus.tasks.CancellationToken;
 
+/**
+ * Moves messages whose processing failed to the endpoint's error address.
+ *
+ * <p>
+ * The failure is reported only after the error-queue send completes, without
+ * blocking the dispatch thread while it does. If the send itself fails it is
+ * attached to the original failure as a suppressed exception.
+ * </p>
+ *
+ * <p>
+ * Messages received from a transport are moved with their original body and
+ * transport headers, so the error queue holds exactly what was delivered plus
+ * the fault headers.
+ * </p>
+ */
 public class ErrorTransportFilter<T> implements Filter<ConsumeContext<T>> {
-    private final ServiceProvider provider;
+    private final Logger logger;
 
     public ErrorTransportFilter(ServiceProvider provider) {
-        this.provider = provider;
+        LoggerFactory loggerFactory = provider.getService(LoggerFactory.class);
+        this.logger = loggerFactory != null ? loggerFactory.create(ErrorTransportFilter.class) : null;
     }
 
     @Override
     public CompletableFuture<Void> send(ConsumeContext<T> context, Pipe<ConsumeContext<T>> next) {
-        LoggerFactory loggerFactory = provider.getService(LoggerFactory.class);
-        Logger logger = loggerFactory != null ? loggerFactory.create(ErrorTransportFilter.class) : null;
-        return next.send(context).handle((v, ex) -> {
-            if (ex != null) {
-                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
-                String errorAddress = context.getErrorAddress();
-                if (errorAddress != null) {
-                    SendEndpoint endpoint = context.getSendEndpoint(errorAddress);
-                    int tmp = 0;
-                    Object value = context.getHeaders().get(MessageHeaders.REDELIVERY_COUNT);
-                    if (value instanceof Number n) {
-                        tmp = n.intValue();
-                    } else if (value instanceof String s) {
-                        try {
-                            tmp = Integer.parseInt(s);
-                        } catch (NumberFormatException nfe) {
-                            if (logger != null)
-                                logger.warn("Malformed RedeliveryCount header: {}", s);
-                            tmp = 0;
+        CompletableFuture<Void> result;
+        try {
+            result = next.send(context);
+        } catch (Exception ex) {
+            result = CompletableFuture.failedFuture(ex);
+        }
+        if (Pipes.isCompletedSuccessfully(result)) {
+            return result;
+        }
+        return result.handle((v, ex) -> ex).thenCompose(ex -> {
+            if (ex == null) {
+                return Pipes.completed();
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            String errorAddress = context.getErrorAddress();
+            if (errorAddress == null) {
+                return CompletableFuture.failedFuture(cause);
+            }
+            CompletableFuture<Void> moved = moveToErrorQueue(context, errorAddress, cause)
+                    .handle((ignored, failure) -> {
+                        if (failure != null) {
+                            cause.addSuppressed(failure);
                         }
-                    } else if (value != null && logger != null) {
-                        logger.warn("Malformed RedeliveryCount header: {}", value);
-                    }
+                        throw new CompletionException(cause);
+                    });
+            return moved;
+        });
+    }
 
-                    final int redelivery = tmp;
-                    final HostInfo host = HostInfoProvider.capture();
-                    endpoint.send(context.getMessage(), sendCtx -> {
-                        sendCtx.getHeaders().put(MessageHeaders.EXCEPTION_TYPE, cause.getClass().getName());
-                        sendCtx.getHeaders().put(MessageHeaders.EXCEPTION_MESSAGE, cause.getMessage());
-                        sendCtx.getHeaders().put(MessageHeaders.EXCEPTION_STACKTRACE,
-                                Arrays.stream(cause.getStackTrace()).map(Object::toString)
-                                        .collect(Collectors.joining("\n")));
-                        sendCtx.getHeaders().put(MessageHeaders.REASON, "fault");
-                        sendCtx.getHeaders().put(MessageHeaders.REDELIVERY_COUNT, redelivery);
-                        sendCtx.getHeaders().put(MessageHeaders.HOST_MACHINE, host.getMachineName());
-                        sendCtx.getHeaders().put(MessageHeaders.HOST_PROCESS, host.getProcessName());
-                        sendCtx.getHeaders().put(MessageHeaders.HOST_PROCESS_ID, host.getProcessId());
-                        sendCtx.getHeaders().put(MessageHeaders.HOST_ASSEMBLY, host.getAssembly());
-                        sendCtx.getHeaders().put(MessageHeaders.HOST_ASSEMBLY_VERSION, host.getAssemblyVersion());
-                        sendCtx.getHeaders().put(MessageHeaders.HOST_FRAMEWORK_VERSION, host.getFrameworkVersion());
-                        sendCtx.getHeaders().put(MessageHeaders.HOST_MASS_TRANSIT_VERSION, host.getMassTransitVersion());
-                        sendCtx.getHeaders().put(MessageHeaders.HOST_OS_VERSION, host.getOperatingSystemVersion());
-                    }, CancellationToken.none()).join();
+    private CompletableFuture<Void> moveToErrorQueue(ConsumeContext<T> context, String errorAddress,
+            Throwable cause) {
+        try {
+            SendEndpoint endpoint = context.getSendEndpoint(errorAddress);
+            int redelivery = RedeliveryHeaders.readRedeliveryCount(context.getHeaders(), logger);
+            HostInfo host = HostInfoProvider.capture();
+            TransportMessage original = context.getTransportMessage();
+            return endpoint.send(context.getMessage(), sendCtx -> {
+                if (original != null) {
+                    sendCtx.setOriginalMessage(original);
+                    if (original.getHeaders() != null) {
+                        sendCtx.getHeaders().putAll(original.getHeaders());
+                    }
                 }
-                throw new CompletionException(cause);
-            }
-            return null;
-        });
+                sendCtx.getHeaders().put(MessageHeaders.EXCEPTION_TYPE, cause.getClass().getName());
+                sendCtx.getHeaders().put(MessageHeaders.EXCEPTION_MESSAGE, cause.getMessage());
+                sendCtx.getHeaders().put(MessageHeaders.EXCEPTION_STACKTRACE,
+                        Arrays.stream(cause.getStackTrace()).map(Object::toString)
+                                .collect(Collectors.joining("\n")));
+                sendCtx.getHeaders().put(MessageHeaders.REASON, "fault");
+                sendCtx.getHeaders().put(MessageHeaders.REDELIVERY_COUNT, redelivery);
+                sendCtx.getHeaders().put(MessageHeaders.HOST_MACHINE, host.getMachineName());
+                sendCtx.getHeaders().put(MessageHeaders.HOST_PROCESS, host.getProcessName());
+                sendCtx.getHeaders().put(MessageHeaders.HOST_PROCESS_ID, host.getProcessId());
+                sendCtx.getHeaders().put(MessageHeaders.HOST_ASSEMBLY, host.getAssembly());
+                sendCtx.getHeaders().put(MessageHeaders.HOST_ASSEMBLY_VERSION, host.getAssemblyVersion());
+                sendCtx.getHeaders().put(MessageHeaders.HOST_FRAMEWORK_VERSION, host.getFrameworkVersion());
+                sendCtx.getHeaders().put(MessageHeaders.HOST_MASS_TRANSIT_VERSION, host.getMassTransitVersion());
+                sendCtx.getHeaders().put(MessageHeaders.HOST_OS_VERSION, host.getOperatingSystemVersion());
+            }, CancellationToken.none());
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
     }
 }
@@ -0,0 +1,23 @@
+package com.myservicebus;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.myservicebus.tasks.CancellationToken;
+
+/**
+ * Sends the fault for a failed message without letting a synchronous failure
+ * escape the pipe.
+ */
+final class FaultResponder {
+    private FaultResponder() {
+    }
+
+    static CompletableFuture<Void> respondFault(ConsumeContext<?> context, Throwable cause) {
+        try {
+            return context.respondFault(cause instanceof Exception ex ? ex : new RuntimeException(cause),
+                    CancellationToken.none());
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+}
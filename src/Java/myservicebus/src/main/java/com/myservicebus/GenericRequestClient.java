@@ -3,11 +3,11 @@ package com.myservicebus;
 import java.net.URI;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.UUID;
 
 import com.myservicebus.tasks.CancellationRegistration;
 import com.myservicebus.tasks.CancellationToken;
+import com.myservicebus.tasks.TimerService;
 
 /**
  * Generic request client that delegates to a transport-specific implementation.
@@ -64,7 +64,7 @@ public class GenericRequestClient<TRequest> implements RequestClient<TRequest> {
 
         Duration duration = timeout.getDuration();
         if (!duration.isZero() && !duration.isNegative()) {
-            response.orTimeout(duration.toMillis(), TimeUnit.MILLISECONDS);
+            TimerService.shared().orTimeout(response, duration);
         }
 
         response.whenComplete((result, exception) -> registration.close());
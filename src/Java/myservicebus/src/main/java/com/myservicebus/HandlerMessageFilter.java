@@ -13,7 +13,11 @@ class HandlerMessageFilter<T> implements Filter<ConsumeContext<T>> {
     @Override
     public CompletableFuture<Void> send(ConsumeContext<T> context, Pipe<ConsumeContext<T>> next) {
         try {
-            return handler.apply(context).thenCompose(v -> next.send(context));
+            CompletableFuture<Void> result = handler.apply(context);
+            if (Pipes.isCompletedSuccessfully(result)) {
+                return next.send(context);
+            }
+            return result.thenCompose(v -> next.send(context));
         } catch (Exception ex) {
             CompletableFuture<Void> f = new CompletableFuture<>();
             f.completeExceptionally(ex);
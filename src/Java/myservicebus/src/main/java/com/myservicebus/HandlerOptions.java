@@ -0,0 +1,70 @@
+package com.myservicebus;
+
+import java.util.Map;
+
+import com.myservicebus.serialization.MessageSerializer;
+
+/**
+ * Receive endpoint settings for a handler added with
+ * {@link MessageBusImpl#addHandler(String, Class, String, java.util.function.Function, HandlerOptions)}.
+ *
+ * <p>
+ * Every setting is optional; unset values use the endpoint defaults.
+ * </p>
+ */
+public class HandlerOptions {
+    private RetryPolicy retryPolicy;
+    private RetryPolicy redeliveryPolicy;
+    private Integer prefetchCount;
+    private Integer consumerCount;
+    private Map<String, Object> queueArguments;
+    private MessageSerializer serializer;
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public RetryPolicy getRedeliveryPolicy() {
+        return redeliveryPolicy;
+    }
+
+    public void setRedeliveryPolicy(RetryPolicy redeliveryPolicy) {
+        this.redeliveryPolicy = redeliveryPolicy;
+    }
+
+    public Integer getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    public void setPrefetchCount(Integer prefetchCount) {
+        this.prefetchCount = prefetchCount;
+    }
+
+    public Integer getConsumerCount() {
+        return consumerCount;
+    }
+
+    public void setConsumerCount(Integer consumerCount) {
+        this.consumerCount = consumerCount;
+    }
+
+    public Map<String, Object> getQueueArguments() {
+        return queueArguments;
+    }
+
+    public void setQueueArguments(Map<String, Object> queueArguments) {
+        this.queueArguments = queueArguments;
+    }
+
+    public MessageSerializer getSerializer() {
+        return serializer;
+    }
+
+    public void setSerializer(MessageSerializer serializer) {
+        this.serializer = serializer;
+    }
+}
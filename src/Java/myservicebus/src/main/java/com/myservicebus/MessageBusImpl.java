@@ -5,11 +5,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -20,16 +21,17 @@ import com.myservicebus.logging.Logger;
 import com.myservicebus.logging.LoggerFactory;
 import com.myservicebus.serialization.InboundMessage;
 import com.myservicebus.serialization.InboundMessageResolver;
+import com.myservicebus.serialization.MessageCompressionSettings;
 import com.myservicebus.serialization.MessageEnvelopeMode;
 import com.myservicebus.serialization.MessageDeserializer;
 import com.myservicebus.serialization.MessageSerializer;
 import com.myservicebus.tasks.CancellationToken;
+import com.myservicebus.tasks.TimerService;
 import com.myservicebus.topology.BusTopology;
 import com.myservicebus.topology.ConsumerTopology;
 import com.myservicebus.topology.MessageBinding;
 import com.myservicebus.topology.ReceiveEndpointTransportTopology;
 import com.myservicebus.topology.TopologyRegistry;
-import com.myservicebus.EntityNameFormatter;
 import com.myservicebus.MessageUrn;
 import com.myservicebus.Consumer;
 
@@ -41,11 +43,13 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
     private final PublishContextFactory publishContextFactory;
     private final Logger logger;
     private final InboundMessageResolver inboundMessageResolver;
+    private final MessageCompressionSettings compression;
     private final List<ReceiveTransport> receiveTransports = new ArrayList<>();
     private final URI address;
     private final BusTopology topology;
     private final Set<String> consumerRegistrations = new HashSet<>();
     private final Set<String> messageTypes = new HashSet<>();
+    private final Map<Class<?>, PublishPlan> publishPlans = new ConcurrentHashMap<>();
     private final Function<Class<?>, ConsumerFactory> consumerFactoryFactory;
     private volatile BusState state = BusState.STOPPED;
 
@@ -72,6 +76,7 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
             resolver = new com.myservicebus.serialization.DefaultInboundMessageResolver(md);
         }
         this.inboundMessageResolver = resolver;
+        this.compression = serviceProvider.getService(MessageCompressionSettings.class);
         BusTopology top = serviceProvider.getService(TopologyRegistry.class);
         this.topology = top != null ? top : new TopologyRegistry();
         URI configuredAddress = serviceProvider.getService(URI.class);
@@ -108,6 +113,12 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
 
             TopologyRegistry topology = serviceProvider.getService(TopologyRegistry.class);
 
+            if (transportFactory != null && !topology.getConsumers().isEmpty()) {
+                transportFactory.provisionTopology(topology.getConsumers().stream()
+                        .map(MessageBusImpl::toEndpointTopology)
+                        .toList());
+            }
+
             for (ConsumerTopology consumerDef : topology.getConsumers()) {
                 addConsumer(consumerDef);
             }
@@ -155,6 +166,10 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
         Filter<ConsumeContext<Object>> faultFilter = new ConsumerFaultFilter(serviceProvider,
                 consumerDef.getConsumerType());
         configurator.useFilter(faultFilter);
+        if (consumerDef.getRedeliveryPolicy() != null) {
+            configurator.useFilter(createRedeliveryFilter(consumerDef.getQueueName(),
+                    consumerDef.getRedeliveryPolicy()));
+        }
         if (consumerDef.getConfigure() != null)
             consumerDef.getConfigure().accept(configurator);
         ConsumerFactory factory = consumerFactoryFactory.apply(consumerDef.getConsumerType());
@@ -167,25 +182,28 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
                 ? consumerDef.getSerializerClass().getDeclaredConstructor().newInstance()
                 : null;
         boolean rawSerializer = isRawSerializer(endpointSerializer);
-        TransportSendEndpointProvider provider = endpointSerializer != null
-                ? transportSendEndpointProvider.withSerializer(endpointSerializer)
-                : transportSendEndpointProvider;
+        TransportSendEndpointProvider provider = endpointSendEndpointProvider(endpointSerializer);
+
+        // Resolve every binding up front so each delivery is dispatched with a single lookup.
+        Map<String, DispatchTarget> dispatchTable = new HashMap<>();
+        for (MessageBinding binding : consumerDef.getBindings()) {
+            dispatchTable.putIfAbsent(MessageUrn.forClass(binding.getMessageType()), new DispatchTarget(
+                    resolveMessageType(consumerDef.getConsumerType(), binding.getMessageType()), pipe, provider));
+        }
+        Map<String, DispatchTarget> targets = Map.copyOf(dispatchTable);
+        DispatchTarget rawTarget = targets.get(messageUrn);
 
         Function<TransportMessage, CompletableFuture<Void>> handler = transportMessage -> {
             try {
                 InboundMessage inboundMessage = inboundMessageResolver.resolve(transportMessage);
                 String messageTypeUrn = inboundMessage.getMessageType();
-                MessageBinding binding;
+                DispatchTarget target;
 
                 if (messageTypeUrn == null && rawSerializer) {
-                    binding = consumerDef.getBindings().get(0);
+                    target = rawTarget;
                 } else {
-                    final String resolvedMessageTypeUrn = messageTypeUrn;
-                    binding = consumerDef.getBindings().stream()
-                            .filter(b -> MessageUrn.forClass(b.getMessageType()).equals(resolvedMessageTypeUrn))
-                            .findFirst()
-                            .orElse(null);
-                    if (binding == null) {
+                    target = messageTypeUrn != null ? targets.get(messageTypeUrn) : null;
+                    if (target == null) {
                         if (logger != null) {
                             logger.warn("Received message with unregistered type {}", messageTypeUrn);
                         }
@@ -193,8 +211,7 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
                     }
                 }
 
-                Type messageType = resolveMessageType(consumerDef.getConsumerType(), binding.getMessageType());
-                Object message = inboundMessage.getMessage(messageType);
+                Object message = inboundMessage.getMessage(target.messageType());
                 Map<String, Object> headers = inboundMessage.getHeaders();
                 String responseAddress = inboundMessage.getResponseAddress();
                 String faultAddress = inboundMessage.getFaultAddress();
@@ -207,17 +224,18 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
                         faultAddress,
                         errorAddress,
                         CancellationToken.none(),
-                        provider,
+                        target.sendEndpointProvider(),
                         this.address,
                         this::getPublishAddress,
                         inboundMessage.getRequestId(),
                         inboundMessage.getCorrelationId(),
                         inboundMessage.getConversationId(),
-                        inboundMessage.getInitiatorId());
+                        inboundMessage.getInitiatorId(),
+                        transportMessage);
                 if (logger != null) {
                     logger.debug("Received {}", messageTypeUrn);
                 }
-                return pipe.send(ctx);
+                return target.pipe().send(ctx);
             } catch (Exception e) {
                 CompletableFuture<Void> f = new CompletableFuture<>();
                 f.completeExceptionally(e);
@@ -225,15 +243,10 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
             }
         };
 
-        java.util.function.Function<String, Boolean> isRegistered = urn -> urn == null ? rawSerializer : messageTypes.contains(urn);
-        ReceiveEndpointTransportTopology endpointTopology = new ReceiveEndpointTransportTopology(
-                consumerDef.getQueueName(),
-                true,
-                false,
-                consumerDef.getPrefetchCount() != null ? consumerDef.getPrefetchCount() : 0,
-                consumerDef.getBindings(),
-                consumerDef.getQueueArguments());
-        ReceiveTransport transport = transportFactory.createReceiveTransport(endpointTopology, handler, isRegistered);
+        java.util.function.Function<String, Boolean> isRegistered = urn -> urn == null ? rawSerializer
+                : targets.containsKey(urn) || messageTypes.contains(urn);
+        ReceiveTransport transport = transportFactory.createReceiveTransport(
+                toEndpointTopology(consumerDef), handler, isRegistered);
         receiveTransports.add(transport);
         consumerRegistrations.add(key);
     }
@@ -242,6 +255,33 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
             java.util.function.Function<ConsumeContext<T>, CompletableFuture<Void>> handler,
             Integer retryCount, java.time.Duration retryDelay, Integer prefetchCount,
             java.util.Map<String, Object> queueArguments, MessageSerializer serializer) throws Exception {
+        addHandler(queueName, messageType, exchange, handler, retryCount, retryDelay, prefetchCount, null,
+                queueArguments, serializer);
+    }
+
+    public <T> void addHandler(String queueName, Class<T> messageType, String exchange,
+            java.util.function.Function<ConsumeContext<T>, CompletableFuture<Void>> handler,
+            Integer retryCount, java.time.Duration retryDelay, Integer prefetchCount, Integer consumerCount,
+            java.util.Map<String, Object> queueArguments, MessageSerializer serializer) throws Exception {
+        HandlerOptions options = new HandlerOptions();
+        options.setRetryPolicy(retryCount != null ? RetryPolicy.interval(retryCount, retryDelay) : null);
+        options.setPrefetchCount(prefetchCount);
+        options.setConsumerCount(consumerCount);
+        options.setQueueArguments(queueArguments);
+        options.setSerializer(serializer);
+        addHandler(queueName, messageType, exchange, handler, options);
+    }
+
+    public <T> void addHandler(String queueName, Class<T> messageType, String exchange,
+            java.util.function.Function<ConsumeContext<T>, CompletableFuture<Void>> handler,
+            HandlerOptions options) throws Exception {
+        HandlerOptions o = options != null ? options : new HandlerOptions();
+        RetryPolicy retryPolicy = o.getRetryPolicy();
+        RetryPolicy redeliveryPolicy = o.getRedeliveryPolicy();
+        Integer prefetchCount = o.getPrefetchCount();
+        Integer consumerCount = o.getConsumerCount();
+        java.util.Map<String, Object> queueArguments = o.getQueueArguments();
+        MessageSerializer serializer = o.getSerializer();
         PipeConfigurator<ConsumeContext<T>> configurator = new PipeConfigurator<>();
         configurator.useFilter(new OpenTelemetryConsumeFilter<>());
         @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -250,20 +290,21 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
         @SuppressWarnings({ "unchecked", "rawtypes" })
         Filter<ConsumeContext<T>> faultFilter = new HandlerFaultFilter(serviceProvider);
         configurator.useFilter(faultFilter);
-        if (retryCount != null) {
-            configurator.useRetry(retryCount, retryDelay);
+        if (redeliveryPolicy != null) {
+            configurator.useFilter(createRedeliveryFilter(queueName, redeliveryPolicy));
+        }
+        if (retryPolicy != null) {
+            configurator.useRetry(retryPolicy);
         }
         configurator.useFilter(new HandlerMessageFilter<>(handler));
         Pipe<ConsumeContext<T>> pipe = configurator.build(serviceProvider);
 
         boolean rawSerializer = isRawSerializer(serializer);
-        TransportSendEndpointProvider provider = serializer != null
-                ? transportSendEndpointProvider.withSerializer(serializer)
-                : transportSendEndpointProvider;
+        TransportSendEndpointProvider provider = endpointSendEndpointProvider(serializer);
 
+        String expectedUrn = MessageUrn.forClass(messageType);
         java.util.function.Function<TransportMessage, CompletableFuture<Void>> transportHandler = tm -> {
             try {
-                String expectedUrn = MessageUrn.forClass(messageType);
                 InboundMessage inboundMessage = inboundMessageResolver.resolve(tm);
                 String messageTypeUrn = inboundMessage.getMessageType();
                 if (messageTypeUrn != null && !expectedUrn.equals(messageTypeUrn)) {
@@ -293,7 +334,8 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
                         inboundMessage.getRequestId(),
                         inboundMessage.getCorrelationId(),
                         inboundMessage.getConversationId(),
-                        inboundMessage.getInitiatorId());
+                        inboundMessage.getInitiatorId(),
+                        tm);
                 if (logger != null) {
                     logger.debug("Received {}", messageTypeUrn);
                 }
@@ -311,7 +353,6 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
         binding.setEntityName(exchange);
         bindings.add(binding);
 
-        String expectedUrn = MessageUrn.forClass(messageType);
         java.util.function.Function<String, Boolean> isRegisteredHandler = urn -> expectedUrn.equals(urn) || (rawSerializer && urn == null);
 
         ReceiveEndpointTransportTopology endpointTopology = new ReceiveEndpointTransportTopology(
@@ -320,18 +361,39 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
                 false,
                 prefetchCount != null ? prefetchCount : 0,
                 bindings,
-                queueArguments);
+                queueArguments,
+                consumerCount != null ? consumerCount : 1);
         ReceiveTransport transport = transportFactory.createReceiveTransport(
                 endpointTopology, transportHandler, isRegisteredHandler);
         receiveTransports.add(transport);
     }
 
+    private static ReceiveEndpointTransportTopology toEndpointTopology(ConsumerTopology consumerDef) {
+        return new ReceiveEndpointTransportTopology(
+                consumerDef.getQueueName(),
+                true,
+                false,
+                consumerDef.getPrefetchCount() != null ? consumerDef.getPrefetchCount() : 0,
+                consumerDef.getBindings(),
+                consumerDef.getQueueArguments(),
+                consumerDef.getConsumerCount() != null ? consumerDef.getConsumerCount() : 1);
+    }
+
     private String getPublishAddress(String entityName) {
         return transportFactory != null
                 ? transportFactory.getPublishAddress(entityName)
                 : "exchange:" + entityName;
     }
 
+    /**
+     * A consumer binding resolved when the endpoint is added: the generic message
+     * type to deserialize, the consume pipe and the send endpoint provider for
+     * the endpoint's serializer.
+     */
+    private record DispatchTarget(Type messageType, Pipe<ConsumeContext<Object>> pipe,
+            TransportSendEndpointProvider sendEndpointProvider) {
+    }
+
     private static Type resolveMessageType(Class<?> consumerType, Class<?> bindingType) {
         for (Type iface : consumerType.getGenericInterfaces()) {
             if (iface instanceof ParameterizedType pt) {
@@ -351,6 +413,27 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
         return bindingType;
     }
 
+    private <T> Filter<ConsumeContext<T>> createRedeliveryFilter(String queueName, RetryPolicy policy) {
+        if (logger != null && transportFactory.getCapabilities()
+                .get(TransportCapabilities.REDELIVERY) == TransportCapabilitySupport.UNSUPPORTED) {
+            logger.warn("Transport does not support delayed redelivery; ignoring the redelivery policy for '{}'",
+                    queueName);
+        }
+        return new DelayedRedeliveryFilter<>(policy, delay -> transportFactory.getRedeliveryAddress(queueName, delay));
+    }
+
+    /**
+     * Returns the send endpoint provider for an endpoint's own serializer,
+     * compressed like the bus serializer when compression is configured.
+     */
+    private TransportSendEndpointProvider endpointSendEndpointProvider(MessageSerializer serializer) {
+        if (serializer == null) {
+            return transportSendEndpointProvider;
+        }
+        return transportSendEndpointProvider.withSerializer(
+                compression != null ? compression.apply(serializer) : serializer);
+    }
+
     private static boolean isRawSerializer(MessageSerializer serializer) {
         return serializer != null && serializer.getEnvelopeMode() == MessageEnvelopeMode.RAW;
     }
@@ -408,34 +491,55 @@ public class MessageBusImpl implements MessageBus, ReceiveEndpointConnector {
     public CompletableFuture<Void> publish(PublishContext context) {
         if (state != BusState.STARTED)
             return notStartedFuture();
-        String exchange = EntityNameFormatter.format(context.getMessage().getClass());
-        String address = transportFactory.getPublishAddress(exchange);
+        PublishPlan plan;
+        try {
+            plan = getPublishPlan(context.getMessage().getClass());
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
         context.setSourceAddress(this.address);
-        context.setDestinationAddress(URI.create(address));
+        context.setDestinationAddress(plan.destinationAddress());
 
-        if (logger != null) {
+        if (logger != null && logger.isDebugEnabled()) {
             logger.debug("Publishing {} to {}", context.getMessage().getClass().getSimpleName(), context.getDestinationAddress());
         }
 
-        CompletableFuture<Void> delayFuture;
         Instant scheduled = context.getScheduledEnqueueTime();
-        if (scheduled != null) {
-            Duration delay = Duration.between(Instant.now(), scheduled);
-            if (delay.isNegative()) {
-                delay = Duration.ZERO;
-            }
-            delayFuture = new CompletableFuture<>();
-            CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS)
-                    .execute(() -> delayFuture.complete(null));
-        } else {
-            delayFuture = CompletableFuture.completedFuture(null);
+        if (scheduled == null) {
+            return publishPipe.send(context).thenCompose(x -> plan.endpoint().send(context));
         }
 
-        return delayFuture.thenCompose(v -> publishPipe.send(context).thenCompose(x -> {
-            SendEndpointProvider provider = serviceProvider.getService(SendEndpointProvider.class);
-            SendEndpoint endpoint = provider.getSendEndpoint(address);
-            return endpoint.send(context);
-        }));
+        Duration delay = Duration.between(Instant.now(), scheduled);
+        if (delay.isNegative()) {
+            delay = Duration.ZERO;
+        }
+        return TimerService.shared().delay(delay, context.getCancellationToken())
+                .thenCompose(v -> publishPipe.send(context))
+                .thenCompose(x -> plan.endpoint().send(context));
+    }
+
+    private PublishPlan getPublishPlan(Class<?> messageType) {
+        MessageTypeMetadata metadata = MessageTypeMetadata.of(messageType);
+        PublishPlan plan = publishPlans.get(messageType);
+        // Metadata is replaced when the entity name formatter changes, which may move the exchange.
+        if (plan == null || plan.metadata() != metadata) {
+            plan = createPublishPlan(metadata);
+            publishPlans.put(messageType, plan);
+        }
+        return plan;
+    }
+
+    private PublishPlan createPublishPlan(MessageTypeMetadata metadata) {
+        String address = transportFactory.getPublishAddress(metadata.getEntityName());
+        SendEndpointProvider provider = serviceProvider.getService(SendEndpointProvider.class);
+        return new PublishPlan(metadata, URI.create(address), provider.getSendEndpoint(address));
+    }
+
+    /**
+     * The destination and send endpoint used to publish a message type, resolved
+     * on first publish and reused until the type's metadata is invalidated.
+     */
+    private record PublishPlan(MessageTypeMetadata metadata, URI destinationAddress, SendEndpoint endpoint) {
     }
 
     public <T> CompletableFuture<Void> publish(T message) {
@@ -33,7 +33,12 @@ public class OpenTelemetryConsumeFilter<T> implements Filter<ConsumeContext<T>>
         Context parent = propagator.extract(Context.current(), context.getHeaders(), getter);
         Span span = tracer.spanBuilder("consume").setSpanKind(SpanKind.CONSUMER).setParent(parent).startSpan();
         try (Scope scope = span.makeCurrent()) {
-            return next.send(context).whenComplete((v, ex) -> {
+            CompletableFuture<Void> result = next.send(context);
+            if (Pipes.isCompletedSuccessfully(result)) {
+                span.end();
+                return result;
+            }
+            return result.whenComplete((v, ex) -> {
                 if (ex != null) span.recordException(ex);
                 span.end();
             });
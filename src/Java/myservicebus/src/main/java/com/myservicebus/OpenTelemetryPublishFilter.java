@@ -18,7 +18,12 @@ public class OpenTelemetryPublishFilter implements Filter<PublishContext> {
         Span span = tracer.spanBuilder("send").setSpanKind(SpanKind.PRODUCER).startSpan();
         try (Scope scope = span.makeCurrent()) {
             propagator.inject(Context.current(), context.getHeaders(), (carrier, key, value) -> carrier.put(key, value));
-            return next.send(context).whenComplete((ignored, failure) -> {
+            CompletableFuture<Void> result = next.send(context);
+            if (Pipes.isCompletedSuccessfully(result)) {
+                span.end();
+                return result;
+            }
+            return result.whenComplete((ignored, failure) -> {
                 if (failure != null) {
                     span.recordException(failure);
                 }
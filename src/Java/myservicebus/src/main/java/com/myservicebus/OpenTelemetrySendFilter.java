@@ -18,7 +18,12 @@ public class OpenTelemetrySendFilter implements Filter<SendContext> {
         Span span = tracer.spanBuilder("send").setSpanKind(SpanKind.PRODUCER).startSpan();
         try (Scope scope = span.makeCurrent()) {
             propagator.inject(Context.current(), context.getHeaders(), (c, k, v) -> c.put(k, v));
-            return next.send(context).whenComplete((v, ex) -> {
+            CompletableFuture<Void> result = next.send(context);
+            if (Pipes.isCompletedSuccessfully(result)) {
+                span.end();
+                return result;
+            }
+            return result.whenComplete((v, ex) -> {
                 if (ex != null) span.recordException(ex);
                 span.end();
             });
@@ -0,0 +1,81 @@
+package com.myservicebus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+import com.myservicebus.logging.Logger;
+
+/**
+ * Reads the redelivery headers written by {@link DelayedRedeliveryFilter}.
+ *
+ * <p>
+ * Besides the redelivery count, the filter carries the previous delay and the
+ * time of the first failure across redeliveries, so policies that depend on
+ * them, such as decorrelated jitter or a maximum elapsed time, behave the same
+ * for broker redelivery as for in-memory retries.
+ * </p>
+ */
+final class RedeliveryHeaders {
+    private RedeliveryHeaders() {
+    }
+
+    /**
+     * Returns the {@link MessageHeaders#REDELIVERY_COUNT} header, or 0 when it is
+     * missing or malformed. Malformed values are logged when {@code logger} is set.
+     */
+    static int readRedeliveryCount(Map<String, Object> headers, Logger logger) {
+        Object value = headers != null ? headers.get(MessageHeaders.REDELIVERY_COUNT) : null;
+        if (value instanceof Number n) {
+            return Math.max(0, n.intValue());
+        }
+        if (value != null) {
+            // AMQP delivers string headers as LongString, so parse the text form of anything else.
+            try {
+                return Math.max(0, Integer.parseInt(value.toString()));
+            } catch (NumberFormatException ignored) {
+                if (logger != null) {
+                    logger.warn("Malformed RedeliveryCount header: {}", value);
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the {@link MessageHeaders#REDELIVERY_DELAY} header, or {@code null}
+     * when it is missing or malformed.
+     */
+    static Duration readPreviousDelay(Map<String, Object> headers) {
+        Object value = headers != null ? headers.get(MessageHeaders.REDELIVERY_DELAY) : null;
+        if (value instanceof Number n) {
+            return n.longValue() >= 0 ? Duration.ofMillis(n.longValue()) : null;
+        }
+        if (value != null) {
+            try {
+                long millis = Long.parseLong(value.toString());
+                return millis >= 0 ? Duration.ofMillis(millis) : null;
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the {@link MessageHeaders#REDELIVERY_FIRST_FAULT_TIME} header, or
+     * {@code null} when it is missing or malformed.
+     */
+    static Instant readFirstFaultTime(Map<String, Object> headers) {
+        Object value = headers != null ? headers.get(MessageHeaders.REDELIVERY_FIRST_FAULT_TIME) : null;
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(value.toString());
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+}
@@ -14,7 +14,7 @@ public final class TransportCapabilityDescriptors {
                     Map.entry(TransportCapabilities.REQUEST_RESPONSE, TransportCapabilitySupport.EMULATED),
                     Map.entry(TransportCapabilities.SCHEDULING, TransportCapabilitySupport.EMULATED),
                     Map.entry(TransportCapabilities.RETRY, TransportCapabilitySupport.EMULATED),
-                    Map.entry(TransportCapabilities.REDELIVERY, TransportCapabilitySupport.UNSUPPORTED),
+                    Map.entry(TransportCapabilities.REDELIVERY, TransportCapabilitySupport.EMULATED),
                     Map.entry(TransportCapabilities.ERROR_DESTINATIONS, TransportCapabilitySupport.EMULATED),
                     Map.entry(TransportCapabilities.ORDERING, TransportCapabilitySupport.NATIVE),
                     Map.entry(TransportCapabilities.REPLAY, TransportCapabilitySupport.UNSUPPORTED),
@@ -1,6 +1,7 @@
 package com.myservicebus;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -32,6 +33,13 @@ public interface TransportFactory extends PublishAddressProvider {
                 topology.transportOptions());
     }
 
+    /**
+     * Declares the broker topology for all of the given endpoints before their
+     * receive transports are created, so transports can batch the declarations.
+     */
+    default void provisionTopology(List<ReceiveEndpointTransportTopology> endpoints) throws Exception {
+    }
+
     /**
      * @deprecated Override {@link #createReceiveTransport(ReceiveEndpointTransportTopology, Function, Function)}
      *             for new transport implementations.
@@ -85,5 +93,14 @@ public interface TransportFactory extends PublishAddressProvider {
         return getPublishAddress(endpointName + "_fault");
     }
 
+    /**
+     * Returns an address that holds a message for {@code delay} and then delivers
+     * it back to the endpoint's queue, or {@code null} when the transport cannot
+     * redeliver messages later.
+     */
+    default String getRedeliveryAddress(String endpointName, Duration delay) {
+        return null;
+    }
+
     String getSendAddress(String queue);
 }
@@ -0,0 +1,55 @@
+package com.myservicebus.serialization;
+
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+/**
+ * Binary encodings of the message envelope for Java-to-Java endpoints.
+ *
+ * <p>
+ * The envelope has the same fields as the JSON envelope; only the encoding
+ * differs. MassTransit does not read these content types, so endpoints that
+ * exchange messages with MassTransit must stay on JSON.
+ * </p>
+ */
+public enum BinaryEnvelopeFormat {
+    CBOR("application/vnd.myservicebus+cbor", CBORFactory::new),
+    SMILE("application/vnd.myservicebus+smile", SmileFactory::new),
+    MESSAGE_PACK("application/vnd.myservicebus+msgpack", MessagePackFactory::new);
+
+    private final String contentType;
+    private final Supplier<JsonFactory> factory;
+    private volatile SerializationRuntime runtime;
+
+    BinaryEnvelopeFormat(String contentType, Supplier<JsonFactory> factory) {
+        this.contentType = contentType;
+        this.factory = factory;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the process-wide runtime for this format, creating it on first
+     * use.
+     */
+    public SerializationRuntime getRuntime() {
+        SerializationRuntime current = runtime;
+        if (current == null) {
+            synchronized (this) {
+                current = runtime;
+                if (current == null) {
+                    current = new SerializationRuntime(SerializationRuntime.createMapper(factory.get()));
+                    runtime = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,42 @@
+package com.myservicebus.serialization;
+
+import java.lang.reflect.Type;
+
+import com.myservicebus.Envelope;
+
+/**
+ * An envelope whose metadata has been read and whose message is bound on
+ * demand.
+ *
+ * <p>
+ * {@link #getEnvelope()} carries every envelope field except the message.
+ * {@link #getMessage(Type)} binds the buffered message to the requested type
+ * without parsing the body again.
+ * </p>
+ */
+public final class BufferedEnvelope {
+    private final Envelope<?> envelope;
+    private final MessageBinder binder;
+
+    public BufferedEnvelope(Envelope<?> envelope, MessageBinder binder) {
+        this.envelope = envelope;
+        this.binder = binder;
+    }
+
+    /**
+     * Binds a buffered message to a type.
+     */
+    @FunctionalInterface
+    public interface MessageBinder {
+        Object bind(Type type) throws Exception;
+    }
+
+    public Envelope<?> getEnvelope() {
+        return envelope;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getMessage(Type type) throws Exception {
+        return (T) binder.bind(type);
+    }
+}
@@ -0,0 +1,14 @@
+package com.myservicebus.serialization;
+
+/**
+ * Writes the message envelope as CBOR. See {@link BinaryEnvelopeFormat}.
+ */
+public class CborMessageSerializer extends EnvelopeMessageSerializer {
+    public CborMessageSerializer() {
+        this(MassTransitHeaderConvention.INSTANCE);
+    }
+
+    public CborMessageSerializer(MessageHeaderConvention headerConvention) {
+        super(headerConvention, BinaryEnvelopeFormat.CBOR.getRuntime(), BinaryEnvelopeFormat.CBOR.getContentType());
+    }
+}
@@ -0,0 +1,82 @@
+package com.myservicebus.serialization;
+
+import java.io.OutputStream;
+
+/**
+ * Compresses the output of another serializer once it reaches a size
+ * threshold.
+ *
+ * <p>
+ * Compressed bodies carry the compressor's encoding in the
+ * {@link MessageHeaderConvention#getContentEncodingHeader() content encoding
+ * header}; smaller bodies are sent unchanged and without the header. The
+ * content type stays that of the wrapped serializer. MassTransit does not
+ * decompress bodies, so use this only between MyServiceBus endpoints.
+ * </p>
+ */
+public class CompressingMessageSerializer implements MessageSerializer {
+    private final MessageSerializer serializer;
+    private final MessageCompressor compressor;
+    private final int thresholdBytes;
+    private final MessageHeaderConvention headerConvention;
+
+    public CompressingMessageSerializer(MessageSerializer serializer, MessageCompressor compressor,
+            int thresholdBytes) {
+        this(serializer, compressor, thresholdBytes, MassTransitHeaderConvention.INSTANCE);
+    }
+
+    public CompressingMessageSerializer(MessageSerializer serializer, MessageCompressor compressor,
+            int thresholdBytes, MessageHeaderConvention headerConvention) {
+        if (serializer == null) {
+            throw new IllegalArgumentException("serializer");
+        }
+        if (compressor == null) {
+            throw new IllegalArgumentException("compressor");
+        }
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("thresholdBytes");
+        }
+        this.serializer = serializer;
+        this.compressor = compressor;
+        this.thresholdBytes = thresholdBytes;
+        this.headerConvention = headerConvention;
+    }
+
+    @Override
+    public String getContentType() {
+        return serializer.getContentType();
+    }
+
+    @Override
+    public MessageEnvelopeMode getEnvelopeMode() {
+        return serializer.getEnvelopeMode();
+    }
+
+    @Override
+    public <T> byte[] serialize(MessageSerializationContext<T> context) throws Exception {
+        MessageBuffer buffer = MessageBuffer.acquire();
+        try {
+            serialize(context, buffer);
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Override
+    public <T> void serialize(MessageSerializationContext<T> context, OutputStream output) throws Exception {
+        MessageBuffer body = MessageBuffer.acquire();
+        try {
+            serializer.serialize(context, body);
+            if (body.size() < thresholdBytes) {
+                context.getHeaders().remove(headerConvention.getContentEncodingHeader());
+                body.writeTo(output);
+                return;
+            }
+            context.getHeaders().put(headerConvention.getContentEncodingHeader(), compressor.getEncoding());
+            compressor.compress(body, output);
+        } finally {
+            body.release();
+        }
+    }
+}
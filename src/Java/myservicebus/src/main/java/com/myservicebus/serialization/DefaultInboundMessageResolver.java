@@ -1,16 +1,29 @@
 package com.myservicebus.serialization;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.myservicebus.TransportMessage;
 
+/**
+ * Resolves inbound messages by content type.
+ *
+ * <p>
+ * {@code application/json} is read as a raw message; every other content type
+ * is looked up in the {@link MessageDeserializerRegistry} and read as an
+ * envelope. Bodies with a content encoding are decompressed first using the
+ * compressors registered there.
+ * </p>
+ */
 public class DefaultInboundMessageResolver implements InboundMessageResolver {
     public static final String ENVELOPE_CONTENT_TYPE = "application/vnd.masstransit+json";
     public static final String RAW_JSON_CONTENT_TYPE = "application/json";
 
-    private final MessageDeserializer envelopeDeserializer;
-    private final ObjectMapper rawMessageMapper;
+    private final MessageDeserializerRegistry deserializers;
+    private final SerializationRuntime runtime;
     private final MessageHeaderConvention headerConvention;
 
     public DefaultInboundMessageResolver(MessageDeserializer envelopeDeserializer) {
@@ -18,32 +31,77 @@ public class DefaultInboundMessageResolver implements InboundMessageResolver {
     }
 
     public DefaultInboundMessageResolver(MessageDeserializer envelopeDeserializer, MessageHeaderConvention headerConvention) {
-        this.envelopeDeserializer = envelopeDeserializer;
+        this(envelopeDeserializer, headerConvention, SerializationRuntime.shared());
+    }
+
+    public DefaultInboundMessageResolver(MessageDeserializer envelopeDeserializer, MessageHeaderConvention headerConvention,
+            SerializationRuntime runtime) {
+        this(MessageDeserializerRegistry.createDefault(envelopeDeserializer), headerConvention, runtime);
+    }
+
+    public DefaultInboundMessageResolver(MessageDeserializerRegistry deserializers,
+            MessageHeaderConvention headerConvention, SerializationRuntime runtime) {
+        this.deserializers = deserializers;
         this.headerConvention = headerConvention;
-        this.rawMessageMapper = new ObjectMapper();
-        this.rawMessageMapper.findAndRegisterModules();
+        this.runtime = runtime;
     }
 
     @Override
     public InboundMessage resolve(TransportMessage transportMessage) throws Exception {
-        String contentType = readContentType(transportMessage);
+        String contentType = readHeader(transportMessage, headerConvention.getContentTypeHeader());
+        if (contentType == null) {
+            contentType = ENVELOPE_CONTENT_TYPE;
+        }
+        byte[] body = decode(transportMessage);
         if (RAW_JSON_CONTENT_TYPE.equalsIgnoreCase(contentType)) {
-            return new RawJsonInboundMessage(transportMessage.getBody(), transportMessage.getHeaders(), rawMessageMapper, headerConvention);
+            return new RawJsonInboundMessage(body, transportMessage.getHeaders(), runtime, headerConvention);
         }
 
-        if (ENVELOPE_CONTENT_TYPE.equalsIgnoreCase(contentType)) {
-            return new EnvelopeInboundMessage(transportMessage.getBody(), transportMessage.getHeaders(), envelopeDeserializer, headerConvention);
+        MessageDeserializer deserializer = deserializers.get(contentType);
+        if (deserializer != null) {
+            return new EnvelopeInboundMessage(body, transportMessage.getHeaders(), deserializer,
+                    headerConvention, contentType);
         }
 
         throw new IllegalArgumentException("Invalid Content Type: " + contentType);
     }
 
-    private String readContentType(TransportMessage transportMessage) {
-        Object value = transportMessage.getHeaders().get(headerConvention.getContentTypeHeader());
+    /**
+     * Returns the body with its content encoding removed. The original
+     * transport message keeps the encoded bytes for forwarding.
+     */
+    private byte[] decode(TransportMessage transportMessage) throws IOException {
+        String encoding = readHeader(transportMessage, headerConvention.getContentEncodingHeader());
+        if (encoding == null || encoding.isBlank() || "identity".equalsIgnoreCase(encoding)) {
+            return transportMessage.getBody();
+        }
+
+        MessageCompressor compressor = deserializers.getCompressor(encoding);
+        if (compressor == null) {
+            throw new IllegalArgumentException("Invalid Content Encoding: " + encoding);
+        }
+        int maxBytes = deserializers.getMaxDecompressedBytes();
+        try (InputStream input = compressor.decompress(new ByteArrayInputStream(transportMessage.getBody()))) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(
+                    Math.min(maxBytes, Math.max(32, transportMessage.getBody().length * 4)));
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                if (read > maxBytes - output.size()) {
+                    throw new IllegalArgumentException("Decompressed message body exceeds " + maxBytes + " bytes");
+                }
+                output.write(chunk, 0, read);
+            }
+            return output.toByteArray();
+        }
+    }
+
+    private static String readHeader(TransportMessage transportMessage, String header) {
+        Object value = transportMessage.getHeaders().get(header);
         if (value instanceof byte[] bytes) {
             return new String(bytes, StandardCharsets.UTF_8);
         }
 
-        return value != null ? value.toString() : ENVELOPE_CONTENT_TYPE;
+        return value != null ? value.toString() : null;
     }
 }
@@ -9,21 +9,36 @@ import java.util.UUID;
 
 import com.myservicebus.Envelope;
 
+/**
+ * An inbound message in the MassTransit envelope format, encoded as JSON or
+ * one of the {@link BinaryEnvelopeFormat binary formats}.
+ *
+ * <p>
+ * The body is parsed once when the message is received. Envelope metadata is
+ * available immediately and the message is bound to a type only when it is
+ * requested.
+ * </p>
+ */
 public class EnvelopeInboundMessage implements InboundMessage {
-    private final byte[] body;
     private final Map<String, Object> transportHeaders;
-    private final MessageDeserializer deserializer;
     private final MessageHeaderConvention headerConvention;
-    private final Envelope<Object> metadataEnvelope;
+    private final BufferedEnvelope bufferedEnvelope;
+    private final Envelope<?> metadataEnvelope;
+    private final String contentType;
     private final Map<Type, Object> messageCache = new ConcurrentHashMap<>();
     private Map<String, Object> headers;
 
     public EnvelopeInboundMessage(byte[] body, Map<String, Object> transportHeaders, MessageDeserializer deserializer, MessageHeaderConvention headerConvention) throws Exception {
-        this.body = body;
+        this(body, transportHeaders, deserializer, headerConvention, DefaultInboundMessageResolver.ENVELOPE_CONTENT_TYPE);
+    }
+
+    public EnvelopeInboundMessage(byte[] body, Map<String, Object> transportHeaders, MessageDeserializer deserializer,
+            MessageHeaderConvention headerConvention, String contentType) throws Exception {
+        this.contentType = contentType;
         this.transportHeaders = transportHeaders;
-        this.deserializer = deserializer;
         this.headerConvention = headerConvention;
-        this.metadataEnvelope = deserializer.deserialize(body, Object.class);
+        this.bufferedEnvelope = deserializer.deserializeBuffered(body);
+        this.metadataEnvelope = bufferedEnvelope.getEnvelope();
     }
 
     @Override
@@ -33,7 +48,7 @@ public class EnvelopeInboundMessage implements InboundMessage {
 
     @Override
     public String getContentType() {
-        return DefaultInboundMessageResolver.ENVELOPE_CONTENT_TYPE;
+        return contentType;
     }
 
     @Override
@@ -107,8 +122,7 @@ public class EnvelopeInboundMessage implements InboundMessage {
             return (T) cached;
         }
 
-        Envelope<T> typedEnvelope = deserializer.deserialize(body, type);
-        T message = typedEnvelope.getMessage();
+        T message = bufferedEnvelope.getMessage(type);
         if (message != null) {
             messageCache.put(type, message);
         }
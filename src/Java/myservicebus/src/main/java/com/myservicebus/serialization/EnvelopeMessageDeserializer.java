@@ -1,49 +1,45 @@
 package com.myservicebus.serialization;
 
 import java.io.IOException;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.temporal.ChronoField;
-
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonDeserializer;
 import java.lang.reflect.Type;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.myservicebus.Envelope;
 
 public class EnvelopeMessageDeserializer implements MessageDeserializer {
-    private final ObjectMapper mapper;
+    private final SerializationRuntime runtime;
 
     public EnvelopeMessageDeserializer() {
-        mapper = new ObjectMapper();
-        mapper.findAndRegisterModules();
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this(SerializationRuntime.shared());
+    }
 
-        JavaTimeModule module = new JavaTimeModule();
-        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
-                .appendFraction(ChronoField.NANO_OF_SECOND, 0, 6, true)
-                .appendOffset("+HH:MM", "Z")
-                .toFormatter();
-        module.addDeserializer(OffsetDateTime.class, new JsonDeserializer<>() {
-            @Override
-            public OffsetDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-                return OffsetDateTime.parse(p.getText(), formatter);
-            }
-        });
-        mapper.registerModule(module);
+    public EnvelopeMessageDeserializer(SerializationRuntime runtime) {
+        this.runtime = runtime;
     }
 
     @Override
     public <T> Envelope<T> deserialize(byte[] data, Type type) throws IOException {
-        JavaType messageType = mapper.getTypeFactory().constructType(type);
-        JavaType envelopeType = mapper.getTypeFactory().constructParametricType(Envelope.class, messageType);
-        return mapper.readValue(data, envelopeType);
+        return runtime.envelopeReader(type).readValue(data);
+    }
+
+    /**
+     * Parses the body once, buffering the {@code message} subtree as tokens.
+     * Binding replays the buffer, so metadata-only paths never bind the message
+     * and typed paths never re-read the body.
+     */
+    @Override
+    public BufferedEnvelope deserializeBuffered(byte[] data) throws IOException {
+        Envelope<TokenBuffer> envelope = runtime.bufferedEnvelopeReader().readValue(data);
+        TokenBuffer message = envelope.getMessage();
+        envelope.setMessage(null);
+        return new BufferedEnvelope(envelope, type -> {
+            if (message == null) {
+                return null;
+            }
+            try (JsonParser parser = message.asParser(runtime.getMapper())) {
+                return runtime.reader(type).readValue(parser);
+            }
+        });
     }
 }
@@ -1,18 +1,20 @@
 package com.myservicebus.serialization;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.myservicebus.Envelope;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
 public class EnvelopeMessageSerializer implements MessageSerializer {
-    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
     private final MessageHeaderConvention headerConvention;
+    private final String contentType;
 
     @Override
     public String getContentType() {
-        return DefaultInboundMessageResolver.ENVELOPE_CONTENT_TYPE;
+        return contentType;
     }
 
     @Override
@@ -25,14 +27,38 @@ public class EnvelopeMessageSerializer implements MessageSerializer {
     }
 
     public EnvelopeMessageSerializer(MessageHeaderConvention headerConvention) {
+        this(headerConvention, SerializationRuntime.shared());
+    }
+
+    public EnvelopeMessageSerializer(MessageHeaderConvention headerConvention, SerializationRuntime runtime) {
+        this(headerConvention, runtime, DefaultInboundMessageResolver.ENVELOPE_CONTENT_TYPE);
+    }
+
+    /**
+     * Writes the envelope with {@code runtime}'s data format and labels it with
+     * {@code contentType}.
+     */
+    protected EnvelopeMessageSerializer(MessageHeaderConvention headerConvention, SerializationRuntime runtime,
+            String contentType) {
         this.headerConvention = headerConvention;
-        this.mapper = new ObjectMapper();
-        this.mapper.findAndRegisterModules();
+        this.writer = runtime.writer(Envelope.class);
+        this.contentType = contentType;
     }
 
     @Override
     public <T> byte[] serialize(MessageSerializationContext<T> context) throws IOException {
+        return writer.writeValueAsBytes(createEnvelope(context));
+    }
+
+    @Override
+    public <T> void serialize(MessageSerializationContext<T> context, OutputStream output) throws IOException {
+        writer.writeValue(output, createEnvelope(context));
+    }
+
+    private <T> Envelope<T> createEnvelope(MessageSerializationContext<T> context) {
         context.getHeaders().put(headerConvention.getContentTypeHeader(), getContentType());
+        // Headers copied from a received message may still describe its compression.
+        context.getHeaders().remove(headerConvention.getContentEncodingHeader());
 
         Map<String, Object> headers = new HashMap<>();
         context.getHeaders().forEach((k, v) -> {
@@ -60,6 +86,6 @@ public class EnvelopeMessageSerializer implements MessageSerializer {
         envelope.setHeaders(headers);
         envelope.setContentType("application/json");
         envelope.setHost(context.getHostInfo());
-        return mapper.writeValueAsBytes(envelope);
+        return envelope;
     }
 }
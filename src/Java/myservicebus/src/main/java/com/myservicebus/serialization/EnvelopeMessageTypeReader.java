@@ -0,0 +1,54 @@
+package com.myservicebus.serialization;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads the primary message type URN from a serialized envelope without
+ * materializing the rest of the document.
+ *
+ * <p>
+ * The parser walks the top-level fields, skipping nested values, and stops as
+ * soon as the first entry of the {@code messageType} array has been read.
+ * </p>
+ */
+public final class EnvelopeMessageTypeReader {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final String MESSAGE_TYPE_FIELD = "messageType";
+
+    private EnvelopeMessageTypeReader() {
+    }
+
+    /**
+     * Returns the first URN of the envelope's {@code messageType} array, or
+     * {@code null} when the body is empty, not an object, or declares no type.
+     */
+    public static String readMessageType(byte[] body) throws IOException {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (MESSAGE_TYPE_FIELD.equals(field)) {
+                    if (value == JsonToken.START_ARRAY && parser.nextToken() == JsonToken.VALUE_STRING) {
+                        return parser.getText();
+                    }
+                    return null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.myservicebus.serialization;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.myservicebus.HostInfo;
+import com.myservicebus.HostInfoProvider;
+
+/**
+ * Jackson module that writes the shared {@link HostInfo} from a pre-encoded
+ * JSON fragment.
+ *
+ * <p>
+ * The host details are identical on every message sent by the process, so the
+ * fragment is encoded once per {@link HostInfoProvider#capture()} instance and
+ * spliced into the output as raw JSON. Any other {@code HostInfo}, such as one
+ * read from an incoming fault, and any non-JSON output is serialized normally.
+ * </p>
+ */
+public class HostInfoModule extends SimpleModule {
+    private static final ObjectMapper FRAGMENT_MAPPER = new ObjectMapper();
+    private static volatile Fragment fragment;
+
+    public HostInfoModule() {
+        super("MyServiceBusHostInfo");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                    JsonSerializer<?> serializer) {
+                if (HostInfo.class.isAssignableFrom(beanDesc.getBeanClass())) {
+                    return new HostInfoSerializer((JsonSerializer<Object>) serializer);
+                }
+                return serializer;
+            }
+        });
+    }
+
+    private static SerializedString fragmentFor(HostInfo host) throws IOException {
+        Fragment current = fragment;
+        if (current == null || current.host() != host) {
+            current = new Fragment(host, new SerializedString(FRAGMENT_MAPPER.writeValueAsString(host)));
+            fragment = current;
+        }
+        return current.json();
+    }
+
+    private record Fragment(HostInfo host, SerializedString json) {
+    }
+
+    private static final class HostInfoSerializer extends JsonSerializer<Object> implements ResolvableSerializer {
+        private final JsonSerializer<Object> delegate;
+
+        HostInfoSerializer(JsonSerializer<Object> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            // Only JSON text generators accept raw fragments; binary formats write the bean.
+            if (value == HostInfoProvider.capture() && gen instanceof JsonGeneratorImpl) {
+                gen.writeRawValue(fragmentFor((HostInfo) value));
+            } else {
+                delegate.serialize(value, gen, serializers);
+            }
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.myservicebus.serialization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The gzip and deflate codecs built into the JDK.
+ */
+final class JdkMessageCompressor implements MessageCompressor {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String encoding;
+
+    JdkMessageCompressor(String encoding) {
+        this.encoding = encoding;
+    }
+
+    @Override
+    public String getEncoding() {
+        return encoding;
+    }
+
+    @Override
+    public void compress(MessageBuffer body, OutputStream output) throws IOException {
+        // Closing the compressing stream releases its native deflater but must leave output open.
+        OutputStream target = new UnclosedOutputStream(output);
+        if ("gzip".equals(encoding)) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(target, BUFFER_SIZE)) {
+                body.writeTo(gzip);
+            }
+            return;
+        }
+        Deflater deflater = new Deflater();
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(target, deflater, BUFFER_SIZE)) {
+            body.writeTo(deflate);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public InputStream decompress(InputStream input) throws IOException {
+        return "gzip".equals(encoding)
+                ? new GZIPInputStream(input, BUFFER_SIZE)
+                : new InflaterInputStream(input);
+    }
+
+    private static final class UnclosedOutputStream extends OutputStream {
+        private final OutputStream output;
+
+        UnclosedOutputStream(OutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            output.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            output.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            output.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            output.flush();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.myservicebus.serialization;
+
+/**
+ * The compression configured with
+ * {@code BusRegistrationConfigurator.useCompression}.
+ *
+ * <p>
+ * Applied to the bus serializer and to every serializer set on a receive
+ * endpoint, so all messages the bus sends are compressed the same way.
+ * </p>
+ */
+public final class MessageCompressionSettings {
+    private final MessageCompressor compressor;
+    private final int thresholdBytes;
+
+    public MessageCompressionSettings(MessageCompressor compressor, int thresholdBytes) {
+        if (compressor == null) {
+            throw new IllegalArgumentException("compressor");
+        }
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("thresholdBytes");
+        }
+        this.compressor = compressor;
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    public MessageCompressor getCompressor() {
+        return compressor;
+    }
+
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    /**
+     * Returns {@code serializer} wrapped so that it compresses large bodies.
+     */
+    public MessageSerializer apply(MessageSerializer serializer) {
+        if (serializer == null || serializer instanceof CompressingMessageSerializer) {
+            return serializer;
+        }
+        return new CompressingMessageSerializer(serializer, compressor, thresholdBytes);
+    }
+}
@@ -0,0 +1,35 @@
+package com.myservicebus.serialization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Compresses message bodies for a content encoding such as {@code gzip}.
+ *
+ * <p>
+ * {@link #GZIP} and {@link #DEFLATE} use the JDK. Other codecs, such as LZ4 or
+ * Zstandard, can be plugged in by implementing this interface and registering
+ * the implementation with the {@link MessageDeserializerRegistry}.
+ * </p>
+ */
+public interface MessageCompressor {
+    MessageCompressor GZIP = new JdkMessageCompressor("gzip");
+    MessageCompressor DEFLATE = new JdkMessageCompressor("deflate");
+
+    /**
+     * The content encoding written to the message headers.
+     */
+    String getEncoding();
+
+    /**
+     * Writes {@code body} to {@code output} compressed. Must not close
+     * {@code output}.
+     */
+    void compress(MessageBuffer body, OutputStream output) throws IOException;
+
+    /**
+     * Returns a stream that reads {@code input} decompressed.
+     */
+    InputStream decompress(InputStream input) throws IOException;
+}
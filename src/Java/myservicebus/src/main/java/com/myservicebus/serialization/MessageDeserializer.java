@@ -5,4 +5,15 @@ import com.myservicebus.Envelope;
 
 public interface MessageDeserializer {
     <T> Envelope<T> deserialize(byte[] data, Type type) throws Exception;
+
+    /**
+     * Reads the envelope metadata and keeps the message so it can be bound to
+     * a type later. The default parses the body again for every binding;
+     * implementations should buffer the message during the first pass.
+     */
+    default BufferedEnvelope deserializeBuffered(byte[] data) throws Exception {
+        Envelope<Object> envelope = deserialize(data, Object.class);
+        envelope.setMessage(null);
+        return new BufferedEnvelope(envelope, type -> deserialize(data, type).getMessage());
+    }
 }
@@ -0,0 +1,127 @@
+package com.myservicebus.serialization;
+
+import java.lang.reflect.Type;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.myservicebus.Envelope;
+
+/**
+ * Maps envelope content types to the deserializer that reads them, and
+ * content encodings to the compressor that decodes them.
+ *
+ * <p>
+ * Content types and encodings are matched case-insensitively. The default
+ * registry reads the JSON envelope with the configured deserializer, the
+ * {@link BinaryEnvelopeFormat binary envelopes} with their own runtimes, and
+ * gzip and deflate bodies. Decompressed bodies are limited to
+ * {@link #getMaxDecompressedBytes()} so that a small compressed message cannot
+ * exhaust the consumer's memory.
+ * </p>
+ */
+public final class MessageDeserializerRegistry {
+    public static final int DEFAULT_MAX_DECOMPRESSED_BYTES = 64 * 1024 * 1024;
+
+    private final Map<String, MessageDeserializer> deserializers = new ConcurrentHashMap<>();
+    private final Map<String, MessageCompressor> compressors = new ConcurrentHashMap<>();
+    private volatile int maxDecompressedBytes = DEFAULT_MAX_DECOMPRESSED_BYTES;
+
+    public static MessageDeserializerRegistry createDefault(MessageDeserializer envelopeDeserializer) {
+        MessageDeserializerRegistry registry = new MessageDeserializerRegistry();
+        registry.register(DefaultInboundMessageResolver.ENVELOPE_CONTENT_TYPE, envelopeDeserializer);
+        for (BinaryEnvelopeFormat format : BinaryEnvelopeFormat.values()) {
+            registry.register(format.getContentType(), new LazyDeserializer(format));
+        }
+        registry.register(MessageCompressor.GZIP);
+        registry.register(MessageCompressor.DEFLATE);
+        return registry;
+    }
+
+    public MessageDeserializerRegistry register(String contentType, MessageDeserializer deserializer) {
+        if (contentType == null || contentType.isBlank()) {
+            throw new IllegalArgumentException("contentType");
+        }
+        if (deserializer == null) {
+            throw new IllegalArgumentException("deserializer");
+        }
+        deserializers.put(normalize(contentType), deserializer);
+        return this;
+    }
+
+    public MessageDeserializerRegistry register(MessageCompressor compressor) {
+        if (compressor == null) {
+            throw new IllegalArgumentException("compressor");
+        }
+        compressors.put(normalize(compressor.getEncoding()), compressor);
+        return this;
+    }
+
+    /**
+     * Sets the largest body, in bytes, that a compressed message may inflate to.
+     * Larger messages fail to deserialize.
+     */
+    public MessageDeserializerRegistry setMaxDecompressedBytes(int maxDecompressedBytes) {
+        if (maxDecompressedBytes < 1) {
+            throw new IllegalArgumentException("maxDecompressedBytes");
+        }
+        this.maxDecompressedBytes = maxDecompressedBytes;
+        return this;
+    }
+
+    public int getMaxDecompressedBytes() {
+        return maxDecompressedBytes;
+    }
+
+    /**
+     * Returns the compressor for {@code encoding}, or {@code null} when none is
+     * registered.
+     */
+    public MessageCompressor getCompressor(String encoding) {
+        return encoding != null ? compressors.get(normalize(encoding)) : null;
+    }
+
+    /**
+     * Returns the deserializer for {@code contentType}, or {@code null} when
+     * none is registered.
+     */
+    public MessageDeserializer get(String contentType) {
+        return contentType != null ? deserializers.get(normalize(contentType)) : null;
+    }
+
+    private static String normalize(String contentType) {
+        return contentType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Defers creating a binary format's mapper until a message in that format
+     * arrives.
+     */
+    private static final class LazyDeserializer implements MessageDeserializer {
+        private final BinaryEnvelopeFormat format;
+        private volatile EnvelopeMessageDeserializer delegate;
+
+        LazyDeserializer(BinaryEnvelopeFormat format) {
+            this.format = format;
+        }
+
+        @Override
+        public <T> Envelope<T> deserialize(byte[] data, Type type) throws Exception {
+            return delegate().deserialize(data, type);
+        }
+
+        @Override
+        public BufferedEnvelope deserializeBuffered(byte[] data) throws Exception {
+            return delegate().deserializeBuffered(data);
+        }
+
+        private EnvelopeMessageDeserializer delegate() {
+            EnvelopeMessageDeserializer current = delegate;
+            if (current == null) {
+                current = new EnvelopeMessageDeserializer(format.getRuntime());
+                delegate = current;
+            }
+            return current;
+        }
+    }
+}
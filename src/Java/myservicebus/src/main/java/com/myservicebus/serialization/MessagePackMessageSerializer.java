@@ -0,0 +1,14 @@
+package com.myservicebus.serialization;
+
+/**
+ * Writes the message envelope as MessagePack. See {@link BinaryEnvelopeFormat}.
+ */
+public class MessagePackMessageSerializer extends EnvelopeMessageSerializer {
+    public MessagePackMessageSerializer() {
+        this(MassTransitHeaderConvention.INSTANCE);
+    }
+
+    public MessagePackMessageSerializer(MessageHeaderConvention headerConvention) {
+        super(headerConvention, BinaryEnvelopeFormat.MESSAGE_PACK.getRuntime(), BinaryEnvelopeFormat.MESSAGE_PACK.getContentType());
+    }
+}
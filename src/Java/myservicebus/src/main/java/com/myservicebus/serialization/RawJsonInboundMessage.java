@@ -6,19 +6,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 public class RawJsonInboundMessage implements InboundMessage {
     private final byte[] body;
     private final Map<String, Object> headers;
-    private final ObjectMapper mapper;
+    private final SerializationRuntime runtime;
     private final MessageHeaderConvention headerConvention;
     private final Map<Type, Object> messageCache = new ConcurrentHashMap<>();
 
-    public RawJsonInboundMessage(byte[] body, Map<String, Object> headers, ObjectMapper mapper, MessageHeaderConvention headerConvention) {
+    public RawJsonInboundMessage(byte[] body, Map<String, Object> headers, SerializationRuntime runtime, MessageHeaderConvention headerConvention) {
         this.body = body;
         this.headers = headers;
-        this.mapper = mapper;
+        this.runtime = runtime;
         this.headerConvention = headerConvention;
     }
 
@@ -70,7 +68,7 @@ public class RawJsonInboundMessage implements InboundMessage {
             return (T) cached;
         }
 
-        T message = (T) mapper.readValue(body, mapper.getTypeFactory().constructType(type));
+        T message = runtime.reader(type).readValue(body);
         if (message != null) {
             messageCache.put(type, message);
         }
@@ -1,10 +1,11 @@
 package com.myservicebus.serialization;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 
 public class RawJsonMessageSerializer implements MessageSerializer {
-    private final ObjectMapper mapper;
+    private final SerializationRuntime runtime;
     private final MessageHeaderConvention headerConvention;
 
     @Override
@@ -22,14 +23,35 @@ public class RawJsonMessageSerializer implements MessageSerializer {
     }
 
     public RawJsonMessageSerializer(MessageHeaderConvention headerConvention) {
+        this(headerConvention, SerializationRuntime.shared());
+    }
+
+    public RawJsonMessageSerializer(MessageHeaderConvention headerConvention, SerializationRuntime runtime) {
         this.headerConvention = headerConvention;
-        this.mapper = new ObjectMapper();
-        this.mapper.findAndRegisterModules();
+        this.runtime = runtime;
     }
 
     @Override
     public <T> byte[] serialize(MessageSerializationContext<T> context) throws IOException {
+        writeContentHeaders(context);
+        T message = context.getMessage();
+        return writerFor(message).writeValueAsBytes(message);
+    }
+
+    @Override
+    public <T> void serialize(MessageSerializationContext<T> context, OutputStream output) throws IOException {
+        writeContentHeaders(context);
+        T message = context.getMessage();
+        writerFor(message).writeValue(output, message);
+    }
+
+    private void writeContentHeaders(MessageSerializationContext<?> context) {
         context.getHeaders().put(headerConvention.getContentTypeHeader(), getContentType());
-        return mapper.writeValueAsBytes(context.getMessage());
+        // Headers copied from a received message may still describe its compression.
+        context.getHeaders().remove(headerConvention.getContentEncodingHeader());
+    }
+
+    private ObjectWriter writerFor(Object message) {
+        return runtime.writer(message != null ? message.getClass() : Object.class);
     }
 }
@@ -0,0 +1,106 @@
+package com.myservicebus.serialization;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.myservicebus.Envelope;
+
+/**
+ * Owns the Jackson configuration shared by every serializer, deserializer and
+ * transport in the process.
+ *
+ * <p>
+ * Type resolution and reader/writer construction happen once per type: the
+ * {@link ObjectReader} and {@link ObjectWriter} instances returned here are
+ * cached and thread-safe, so hot paths never look up a {@link JavaType} or
+ * root (de)serializer per message. Modules on the class path, such as
+ * Jackson's Blackbird module, are registered automatically.
+ * </p>
+ */
+public final class SerializationRuntime {
+    private static final SerializationRuntime SHARED = new SerializationRuntime(createMapper());
+
+    private final ObjectMapper mapper;
+    private final Map<Type, JavaType> envelopeTypes = new ConcurrentHashMap<>();
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Type, ObjectReader> envelopeReaders = new ConcurrentHashMap<>();
+    private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final ObjectReader bufferedEnvelopeReader;
+
+    /**
+     * Creates a runtime over {@code mapper}. The mapper must not be
+     * reconfigured afterwards.
+     */
+    public SerializationRuntime(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.bufferedEnvelopeReader = mapper.readerFor(envelopeType(TokenBuffer.class));
+    }
+
+    /**
+     * Returns the process-wide runtime.
+     */
+    public static SerializationRuntime shared() {
+        return SHARED;
+    }
+
+    /**
+     * Creates a mapper with the settings the bus relies on for MassTransit
+     * compatible JSON.
+     */
+    public static ObjectMapper createMapper() {
+        return createMapper(new JsonFactory());
+    }
+
+    /**
+     * Creates a mapper with the same settings for another data format, such as
+     * CBOR or Smile.
+     */
+    public static ObjectMapper createMapper(JsonFactory factory) {
+        ObjectMapper mapper = new ObjectMapper(factory);
+        mapper.findAndRegisterModules();
+        mapper.registerModule(new HostInfoModule());
+        return mapper;
+    }
+
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Returns {@code Envelope<messageType>}.
+     */
+    public JavaType envelopeType(Type messageType) {
+        return envelopeTypes.computeIfAbsent(messageType, t -> mapper.getTypeFactory()
+                .constructParametricType(Envelope.class, mapper.getTypeFactory().constructType(t)));
+    }
+
+    public ObjectReader reader(Type type) {
+        return readers.computeIfAbsent(type, t -> mapper.readerFor(mapper.getTypeFactory().constructType(t)));
+    }
+
+    /**
+     * Returns a reader for {@code Envelope<messageType>}.
+     */
+    public ObjectReader envelopeReader(Type messageType) {
+        return envelopeReaders.computeIfAbsent(messageType, t -> mapper.readerFor(envelopeType(t)));
+    }
+
+    /**
+     * Returns a reader for envelopes whose message is kept as a
+     * {@link TokenBuffer} for later binding.
+     */
+    public ObjectReader bufferedEnvelopeReader() {
+        return bufferedEnvelopeReader;
+    }
+
+    public ObjectWriter writer(Type type) {
+        return writers.computeIfAbsent(type, t -> mapper.writerFor(mapper.getTypeFactory().constructType(t)));
+    }
+}
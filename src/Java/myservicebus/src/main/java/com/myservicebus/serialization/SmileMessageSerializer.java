@@ -0,0 +1,14 @@
+package com.myservicebus.serialization;
+
+/**
+ * Writes the message envelope as Smile. See {@link BinaryEnvelopeFormat}.
+ */
+public class SmileMessageSerializer extends EnvelopeMessageSerializer {
+    public SmileMessageSerializer() {
+        this(MassTransitHeaderConvention.INSTANCE);
+    }
+
+    public SmileMessageSerializer(MessageHeaderConvention headerConvention) {
+        super(headerConvention, BinaryEnvelopeFormat.SMILE.getRuntime(), BinaryEnvelopeFormat.SMILE.getContentType());
+    }
+}
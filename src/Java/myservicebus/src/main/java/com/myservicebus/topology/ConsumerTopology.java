@@ -7,6 +7,7 @@ import java.util.function.Consumer;
 
 import com.myservicebus.ConsumeContext;
 import com.myservicebus.PipeConfigurator;
+import com.myservicebus.RetryPolicy;
 import com.myservicebus.serialization.MessageSerializer;
 
 public class ConsumerTopology {
@@ -15,8 +16,10 @@ public class ConsumerTopology {
     private List<MessageBinding> bindings = new ArrayList<>();
     private Consumer<PipeConfigurator<ConsumeContext<Object>>> configure;
     private Integer prefetchCount;
+    private Integer consumerCount;
     private Map<String, Object> queueArguments;
     private Class<? extends MessageSerializer> serializerClass;
+    private RetryPolicy redeliveryPolicy;
 
     public Class<?> getConsumerType() {
         return consumerType;
@@ -58,6 +61,14 @@ public class ConsumerTopology {
         this.prefetchCount = prefetchCount;
     }
 
+    public Integer getConsumerCount() {
+        return consumerCount;
+    }
+
+    public void setConsumerCount(Integer consumerCount) {
+        this.consumerCount = consumerCount;
+    }
+
     public Map<String, Object> getQueueArguments() {
         return queueArguments;
     }
@@ -73,4 +84,12 @@ public class ConsumerTopology {
     public void setSerializerClass(Class<? extends MessageSerializer> serializerClass) {
         this.serializerClass = serializerClass;
     }
+
+    public RetryPolicy getRedeliveryPolicy() {
+        return redeliveryPolicy;
+    }
+
+    public void setRedeliveryPolicy(RetryPolicy redeliveryPolicy) {
+        this.redeliveryPolicy = redeliveryPolicy;
+    }
 }
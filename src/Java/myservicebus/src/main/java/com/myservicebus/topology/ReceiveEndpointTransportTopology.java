@@ -11,7 +11,18 @@ public record ReceiveEndpointTransportTopology(
         boolean temporary,
         int prefetchCount,
         List<MessageBinding> bindings,
-        Map<String, Object> transportOptions) {
+        Map<String, Object> transportOptions,
+        int consumerCount) {
+
+    public ReceiveEndpointTransportTopology(
+            String name,
+            boolean durable,
+            boolean temporary,
+            int prefetchCount,
+            List<MessageBinding> bindings,
+            Map<String, Object> transportOptions) {
+        this(name, durable, temporary, prefetchCount, bindings, transportOptions, 1);
+    }
 
     public ReceiveEndpointTransportTopology {
         if (name == null || name.isBlank()) {
@@ -23,6 +34,9 @@ public record ReceiveEndpointTransportTopology(
         if (prefetchCount < 0) {
             throw new IllegalArgumentException("Receive endpoint prefetch count cannot be negative");
         }
+        if (consumerCount < 1) {
+            throw new IllegalArgumentException("Receive endpoint consumer count must be positive");
+        }
         if (bindings == null || bindings.isEmpty()) {
             throw new IllegalArgumentException("A receive endpoint must have at least one binding");
         }
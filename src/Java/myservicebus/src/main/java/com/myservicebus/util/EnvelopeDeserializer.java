@@ -3,21 +3,14 @@ package com.myservicebus.util;
 import java.io.IOException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.myservicebus.Envelope;
 import com.myservicebus.Fault;
+import com.myservicebus.serialization.SerializationRuntime;
 
 public class EnvelopeDeserializer {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-
-    static {
-        objectMapper.findAndRegisterModules();
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    }
+    private static final SerializationRuntime runtime = SerializationRuntime.shared();
 
     /**
      * Deserialize an Envelope with a known message type using TypeReference.
@@ -29,10 +22,7 @@ public class EnvelopeDeserializer {
      * @throws JsonProcessingException if deserialization fails
      */
     public static <T> Envelope<T> deserialize(String json, Class<T> clazz) throws JsonProcessingException {
-        JavaType type = objectMapper
-                .getTypeFactory()
-                .constructParametricType(Envelope.class, clazz);
-        return objectMapper.readValue(json, type);
+        return runtime.envelopeReader(clazz).readValue(json);
     }
 
     /**
@@ -45,10 +35,7 @@ public class EnvelopeDeserializer {
      * @throws IOException
      */
     public static <T> Envelope<T> deserialize(byte[] data, Class<T> clazz) throws IOException {
-        JavaType type = objectMapper
-                .getTypeFactory()
-                .constructParametricType(Envelope.class, clazz);
-        return objectMapper.readValue(data, type);
+        return runtime.envelopeReader(clazz).readValue(data);
     }
 
     /*
@@ -68,11 +55,8 @@ public class EnvelopeDeserializer {
      */
 
     public static Object deserializeAndUnwrapFault(String json) throws Exception {
-        ObjectMapper mapper = new ObjectMapper();
-
         // Step 1: Inspect envelope
-        Envelope<Object> base = mapper.readValue(json, new TypeReference<Envelope<Object>>() {
-        });
+        Envelope<Object> base = runtime.envelopeReader(Object.class).readValue(json);
         String faultUrn = base.getMessageType().stream()
                 .filter(s -> s.contains("Fault`1[["))
                 .findFirst().orElse(null);
@@ -81,10 +65,9 @@ public class EnvelopeDeserializer {
             String className = extractInnerMessageTypeFromUrn(faultUrn);
             Class<?> innerClass = Class.forName(className);
 
-            JavaType faultType = mapper.getTypeFactory().constructParametricType(Fault.class, innerClass);
-            JavaType envelopeType = mapper.getTypeFactory().constructParametricType(Envelope.class, faultType);
+            JavaType faultType = runtime.getMapper().getTypeFactory().constructParametricType(Fault.class, innerClass);
 
-            Envelope<?> typed = mapper.readValue(json, envelopeType);
+            Envelope<?> typed = runtime.envelopeReader(faultType).readValue(json);
             Fault<?> fault = (Fault<?>) typed.getMessage();
             return fault.getMessage();
         } else {
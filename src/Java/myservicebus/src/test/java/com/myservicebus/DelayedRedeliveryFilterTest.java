@@ -0,0 +1,193 @@
+package com.myservicebus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.tasks.CancellationToken;
+
+class DelayedRedeliveryFilterTest {
+    static class TestMessage {
+        private final String text;
+        TestMessage(String text) { this.text = text; }
+        public String getText() { return text; }
+    }
+
+    static class CaptureEndpoint implements SendEndpoint {
+        SendContext sentCtx;
+        @Override
+        public <T> CompletableFuture<Void> send(T message, CancellationToken cancellationToken) {
+            return CompletableFuture.completedFuture(null);
+        }
+        @Override
+        public CompletableFuture<Void> send(SendContext context) {
+            this.sentCtx = context;
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    static class CaptureProvider implements SendEndpointProvider {
+        final CaptureEndpoint endpoint = new CaptureEndpoint();
+        String lastAddress;
+        @Override
+        public SendEndpoint getSendEndpoint(String uri) {
+            lastAddress = uri;
+            return endpoint;
+        }
+    }
+
+    private static ConsumeContext<TestMessage> context(Map<String, Object> headers, CaptureProvider provider,
+            UUID correlationId) {
+        return new ConsumeContext<>(new TestMessage("hi"), headers, "rabbitmq://localhost/reply", null,
+                "error-queue", CancellationToken.none(), provider, URI.create("rabbitmq://localhost/"),
+                exchange -> "exchange:" + exchange, null, correlationId);
+    }
+
+    private static Pipe<ConsumeContext<TestMessage>> pipe(RetryPolicy policy, List<Duration> delays,
+            AtomicInteger attempts, RuntimeException failure) {
+        PipeConfigurator<ConsumeContext<TestMessage>> configurator = new PipeConfigurator<>();
+        configurator.useFilter(new DelayedRedeliveryFilter<>(policy, delay -> {
+            delays.add(delay);
+            return "queue:input_delay_" + delay.toMillis();
+        }));
+        configurator.useExecute(ctx -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(failure);
+        });
+        return configurator.build();
+    }
+
+    @Test
+    void redeliversWithIncrementedCountAndCompletes() {
+        CaptureProvider provider = new CaptureProvider();
+        List<Duration> delays = new ArrayList<>();
+        UUID correlationId = UUID.randomUUID();
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(MessageHeaders.REDELIVERY_COUNT, 1);
+        headers.put("x-death", List.of());
+
+        pipe(RetryPolicy.intervals(Duration.ofSeconds(5), Duration.ofMinutes(1)), delays, new AtomicInteger(),
+                new IllegalStateException("transient"))
+                .send(context(headers, provider, correlationId)).join();
+
+        assertEquals(List.of(Duration.ofMinutes(1)), delays);
+        assertEquals("queue:input_delay_60000", provider.lastAddress);
+        SendContext sent = provider.endpoint.sentCtx;
+        assertEquals(2, sent.getHeaders().get(MessageHeaders.REDELIVERY_COUNT));
+        assertFalse(sent.getHeaders().containsKey("x-death"));
+        assertEquals(correlationId, sent.getCorrelationId());
+        assertEquals(URI.create("rabbitmq://localhost/reply"), sent.getResponseAddress());
+    }
+
+    @Test
+    void carriesDelayAndFirstFaultTimeAcrossRedeliveries() {
+        CaptureProvider provider = new CaptureProvider();
+        List<Duration> delays = new ArrayList<>();
+        Instant firstFault = Instant.now().minus(Duration.ofMinutes(1));
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(MessageHeaders.REDELIVERY_COUNT, 1);
+        headers.put(MessageHeaders.REDELIVERY_DELAY, 5000L);
+        headers.put(MessageHeaders.REDELIVERY_FIRST_FAULT_TIME, firstFault.toString());
+
+        pipe(RetryPolicy.decorrelatedJitter(3, Duration.ofSeconds(1), Duration.ofHours(1)), delays,
+                new AtomicInteger(), new IllegalStateException("transient"))
+                .send(context(headers, provider, null)).join();
+
+        Duration delay = delays.get(0);
+        assertTrue(delay.compareTo(Duration.ofSeconds(15)) <= 0);
+        Map<String, Object> sent = provider.endpoint.sentCtx.getHeaders();
+        assertEquals(delay.toMillis(), sent.get(MessageHeaders.REDELIVERY_DELAY));
+        assertEquals(firstFault.toString(), sent.get(MessageHeaders.REDELIVERY_FIRST_FAULT_TIME));
+    }
+
+    @Test
+    void stopsRedeliveringOnceMaxElapsedTimeIsReached() {
+        CaptureProvider provider = new CaptureProvider();
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(MessageHeaders.REDELIVERY_COUNT, 1);
+        headers.put(MessageHeaders.REDELIVERY_FIRST_FAULT_TIME, Instant.now().minus(Duration.ofMinutes(10)).toString());
+        RetryPolicy policy = RetryPolicy.interval(5, Duration.ofMinutes(1)).withMaxElapsedTime(Duration.ofMinutes(5));
+
+        CompletableFuture<Void> result = pipe(policy, new ArrayList<>(), new AtomicInteger(),
+                new IllegalStateException("still failing")).send(context(headers, provider, null));
+
+        assertThrows(CompletionException.class, result::join);
+        assertNull(provider.endpoint.sentCtx);
+    }
+
+    @Test
+    void exhaustedRedeliveriesFail() {
+        CaptureProvider provider = new CaptureProvider();
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(MessageHeaders.REDELIVERY_COUNT, "2");
+
+        CompletableFuture<Void> result = pipe(RetryPolicy.interval(2, Duration.ofSeconds(1)), new ArrayList<>(),
+                new AtomicInteger(), new IllegalStateException("still failing"))
+                .send(context(headers, provider, null));
+
+        CompletionException failure = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertNull(provider.endpoint.sentCtx);
+    }
+
+    @Test
+    void ignoredExceptionsAreNotRedelivered() {
+        CaptureProvider provider = new CaptureProvider();
+        RetryPolicy policy = RetryPolicy.interval(3, Duration.ofSeconds(1)).ignore(IllegalArgumentException.class);
+
+        CompletableFuture<Void> result = pipe(policy, new ArrayList<>(), new AtomicInteger(),
+                new IllegalArgumentException("invalid"))
+                .send(context(new HashMap<>(), provider, null));
+
+        assertThrows(CompletionException.class, result::join);
+        assertNull(provider.endpoint.sentCtx);
+    }
+
+    @Test
+    void failsWhenTransportHasNoRedeliveryAddress() {
+        CaptureProvider provider = new CaptureProvider();
+        PipeConfigurator<ConsumeContext<TestMessage>> configurator = new PipeConfigurator<>();
+        configurator.useFilter(new DelayedRedeliveryFilter<>(RetryPolicy.immediate(1), delay -> null));
+        configurator.useExecute(ctx -> CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+        CompletableFuture<Void> result = configurator.build().send(context(new HashMap<>(), provider, null));
+
+        assertThrows(CompletionException.class, result::join);
+        assertNull(provider.lastAddress);
+    }
+
+    @Test
+    void redeliversOriginalBytes() throws Exception {
+        CaptureProvider provider = new CaptureProvider();
+        byte[] body = new byte[] { 1, 2, 3 };
+        TransportMessage transportMessage = new TransportMessage(body,
+                Map.of("content_type", "application/vnd.masstransit+json", "x-death", List.of()),
+                "urn:message:Tests:Submitted");
+        ConsumeContext<TestMessage> ctx = new ConsumeContext<>(new TestMessage("hi"), new HashMap<>(), null, null,
+                "error-queue", CancellationToken.none(), provider, URI.create("rabbitmq://localhost/"),
+                exchange -> "exchange:" + exchange, null, null, null, null, transportMessage);
+
+        pipe(RetryPolicy.immediate(1), new ArrayList<>(), new AtomicInteger(), new IllegalStateException("transient"))
+                .send(ctx).join();
+
+        SendContext sent = provider.endpoint.sentCtx;
+        assertSame(transportMessage, sent.getMessage());
+        assertSame(body, sent.serialize(null));
+        assertEquals("urn:message:Tests:Submitted", sent.getMessageType());
+        assertEquals("application/vnd.masstransit+json", sent.getHeaders().get("content_type"));
+        assertFalse(sent.getHeaders().containsKey("x-death"));
+        assertEquals(1, sent.getHeaders().get(MessageHeaders.REDELIVERY_COUNT));
+    }
+}
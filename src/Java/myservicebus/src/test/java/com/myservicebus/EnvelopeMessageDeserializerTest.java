@@ -1,6 +1,7 @@
 package com.myservicebus;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myservicebus.serialization.BufferedEnvelope;
 import com.myservicebus.serialization.EnvelopeMessageDeserializer;
 import org.junit.jupiter.api.Test;
 
@@ -38,4 +39,32 @@ public class EnvelopeMessageDeserializerTest {
 
         assertEquals("oops", result.getMessage().getMessage().getText());
     }
+
+    @Test
+    public void bufferedEnvelopeReadsMetadataAndBindsMessageOnDemand() throws Exception {
+        Fault<InnerMessage> fault = new Fault<>();
+        fault.setMessage(new InnerMessage("oops"));
+        Envelope<Fault<InnerMessage>> envelope = new Envelope<>();
+        envelope.setMessage(fault);
+        envelope.setMessageType(List.of("urn:message:Fault"));
+        envelope.setMessageId(UUID.randomUUID());
+        envelope.setCorrelationId(UUID.randomUUID());
+
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.findAndRegisterModules();
+        byte[] data = mapper.writeValueAsBytes(envelope);
+
+        BufferedEnvelope buffered = new EnvelopeMessageDeserializer().deserializeBuffered(data);
+
+        assertEquals(envelope.getMessageId(), buffered.getEnvelope().getMessageId());
+        assertEquals(envelope.getCorrelationId(), buffered.getEnvelope().getCorrelationId());
+        assertEquals(List.of("urn:message:Fault"), buffered.getEnvelope().getMessageType());
+        assertNull(buffered.getEnvelope().getMessage());
+
+        Fault<InnerMessage> typed = buffered.getMessage(
+                new com.fasterxml.jackson.core.type.TypeReference<Fault<InnerMessage>>() {}.getType());
+        assertEquals("oops", typed.getMessage().getText());
+        java.util.Map<?, ?> untyped = buffered.getMessage(java.util.Map.class);
+        assertTrue(untyped.containsKey("message"));
+    }
 }
@@ -78,4 +78,66 @@ class ErrorTransportFilterTest {
         assertNotNull(sendProvider.endpoint.sentCtx);
         assertEquals(0, sendProvider.endpoint.sentCtx.getHeaders().get(MessageHeaders.REDELIVERY_COUNT));
     }
+
+    static class PendingEndpoint implements SendEndpoint {
+        final CompletableFuture<Void> completion = new CompletableFuture<>();
+        @Override
+        public <T> CompletableFuture<Void> send(T message, CancellationToken cancellationToken) {
+            return completion;
+        }
+    }
+
+    @Test
+    void completesOnlyAfterErrorQueueSendWithoutBlocking() {
+        ServiceProvider provider = ServiceCollection.create().buildServiceProvider();
+        PendingEndpoint endpoint = new PendingEndpoint();
+        ConsumeContext<TestMessage> ctx = new ConsumeContext<>(
+                new TestMessage("hi"),
+                Map.of(),
+                null,
+                null,
+                "error-queue",
+                CancellationToken.none(),
+                uri -> endpoint,
+                URI.create("rabbitmq://localhost/"));
+
+        PipeConfigurator<ConsumeContext<TestMessage>> configurator = new PipeConfigurator<>();
+        configurator.useFilter(new ErrorTransportFilter<>(provider));
+        configurator.useFilter(new FaultingFilter<>());
+        CompletableFuture<Void> result = configurator.build().send(ctx);
+
+        assertFalse(result.isDone());
+
+        endpoint.completion.completeExceptionally(new IllegalStateException("broker unavailable"));
+
+        java.util.concurrent.CompletionException failure = assertThrows(
+                java.util.concurrent.CompletionException.class, result::join);
+        assertEquals("boom", failure.getCause().getMessage());
+        assertEquals("broker unavailable", failure.getCause().getSuppressed()[0].getMessage());
+    }
+
+    @Test
+    void movesOriginalBytesAndTransportHeaders() throws Exception {
+        ServiceProvider provider = ServiceCollection.create().buildServiceProvider();
+        CaptureProvider sendProvider = new CaptureProvider();
+        byte[] body = "{\"message\":{\"text\":\"hi\"}}".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        TransportMessage transportMessage = new TransportMessage(body,
+                Map.of("content_type", "application/json", "custom", "value"));
+        ConsumeContext<TestMessage> ctx = new ConsumeContext<>(
+                new TestMessage("hi"), Map.of(), null, null, "error-queue", CancellationToken.none(),
+                sendProvider, URI.create("rabbitmq://localhost/"), exchange -> exchange, null, null, null, null,
+                transportMessage);
+
+        PipeConfigurator<ConsumeContext<TestMessage>> configurator = new PipeConfigurator<>();
+        configurator.useFilter(new ErrorTransportFilter<>(provider));
+        configurator.useFilter(new FaultingFilter<>());
+
+        assertThrows(RuntimeException.class, () -> configurator.build().send(ctx).join());
+        SendContext sent = sendProvider.endpoint.sentCtx;
+        assertSame(transportMessage, sent.getOriginalMessage());
+        assertSame(body, sent.serialize(null));
+        assertEquals("application/json", sent.getHeaders().get("content_type"));
+        assertEquals("value", sent.getHeaders().get("custom"));
+        assertEquals(RuntimeException.class.getName(), sent.getHeaders().get(MessageHeaders.EXCEPTION_TYPE));
+    }
 }
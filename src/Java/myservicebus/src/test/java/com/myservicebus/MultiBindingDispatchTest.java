@@ -0,0 +1,138 @@
+package com.myservicebus;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.di.ServiceCollection;
+import com.myservicebus.di.ServiceProvider;
+import com.myservicebus.serialization.EnvelopeMessageSerializer;
+import com.myservicebus.serialization.MessageSerializationContext;
+import com.myservicebus.serialization.MessageSerializer;
+import com.myservicebus.tasks.CancellationToken;
+import com.myservicebus.topology.ConsumerTopology;
+import com.myservicebus.topology.MessageBinding;
+import com.myservicebus.topology.ReceiveEndpointTransportTopology;
+
+class MultiBindingDispatchTest {
+    public static class OrderEvent {
+        public String orderId;
+    }
+
+    public static class OrderPlaced extends OrderEvent {
+    }
+
+    public static class OrderShipped extends OrderEvent {
+    }
+
+    static class OrderConsumer implements Consumer<OrderEvent> {
+        static final AtomicReference<Object> received = new AtomicReference<>();
+
+        @Override
+        public CompletableFuture<Void> consume(ConsumeContext<OrderEvent> context) {
+            received.set(context.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    static class StubTransportFactory implements TransportFactory {
+        Function<TransportMessage, CompletableFuture<Void>> handler;
+        Function<String, Boolean> isRegistered;
+
+        @Override
+        public SendTransport getSendTransport(URI address) {
+            return (data, headers, contentType) -> { };
+        }
+
+        @Override
+        public ReceiveTransport createReceiveTransport(ReceiveEndpointTransportTopology topology,
+                Function<TransportMessage, CompletableFuture<Void>> handler,
+                Function<String, Boolean> isMessageTypeRegistered) {
+            this.handler = handler;
+            this.isRegistered = isMessageTypeRegistered;
+            return new ReceiveTransport() {
+                @Override public void start() { }
+                @Override public void stop() { }
+            };
+        }
+
+        @Override public String getPublishAddress(String exchange) { return exchange; }
+        @Override public String getSendAddress(String queue) { return queue; }
+    }
+
+    @Test
+    void dispatchesEachBindingToItsOwnMessageType() throws Exception {
+        StubTransportFactory factory = new StubTransportFactory();
+        ServiceCollection services = ServiceCollection.create();
+        services.addSingleton(TransportFactory.class, sp -> () -> factory);
+        services.addSingleton(TransportSendEndpointProvider.class, sp -> () -> new NoopEndpointProvider());
+        services.addSingleton(PublishPipe.class, sp -> () -> new PublishPipe(ctx -> CompletableFuture.completedFuture(null)));
+        services.addScoped(OrderConsumer.class);
+        ServiceProvider provider = services.buildServiceProvider();
+
+        MessageBusImpl bus = new MessageBusImpl(provider);
+        ConsumerTopology consumer = new ConsumerTopology();
+        consumer.setConsumerType(OrderConsumer.class);
+        consumer.setQueueName("orders");
+        consumer.setBindings(List.of(binding(OrderPlaced.class), binding(OrderShipped.class)));
+        bus.addConsumer(consumer);
+
+        assertTrue(factory.isRegistered.apply(MessageUrn.forClass(OrderShipped.class)));
+        assertFalse(factory.isRegistered.apply("urn:message:Unknown"));
+
+        OrderConsumer.received.set(null);
+        factory.handler.apply(message(MessageUrn.forClass(OrderShipped.class))).join();
+        assertInstanceOf(OrderShipped.class, OrderConsumer.received.get());
+
+        factory.handler.apply(message(MessageUrn.forClass(OrderPlaced.class))).join();
+        assertInstanceOf(OrderPlaced.class, OrderConsumer.received.get());
+
+        OrderConsumer.received.set(null);
+        factory.handler.apply(message("urn:message:Unknown")).join();
+        assertNull(OrderConsumer.received.get());
+    }
+
+    private static MessageBinding binding(Class<?> messageType) {
+        MessageBinding binding = new MessageBinding();
+        binding.setMessageType(messageType);
+        binding.setEntityName(messageType.getSimpleName());
+        return binding;
+    }
+
+    private static TransportMessage message(String messageType) throws Exception {
+        MessageSerializationContext<Object> ctx = new MessageSerializationContext<>(Map.of("orderId", "1"));
+        ctx.setMessageId(UUID.randomUUID());
+        ctx.setMessageType(List.of(messageType));
+        ctx.setHeaders(new HashMap<>());
+        return new TransportMessage(new EnvelopeMessageSerializer().serialize(ctx), new HashMap<>());
+    }
+
+    static class NoopEndpointProvider implements TransportSendEndpointProvider {
+        @Override
+        public SendEndpoint getSendEndpoint(String uri) {
+            return new SendEndpoint() {
+                @Override
+                public <T> CompletableFuture<Void> send(T message, CancellationToken cancellationToken) {
+                    return CompletableFuture.completedFuture(null);
+                }
+            };
+        }
+
+        @Override
+        public TransportSendEndpointProvider withSerializer(MessageSerializer serializer) {
+            return this;
+        }
+    }
+}
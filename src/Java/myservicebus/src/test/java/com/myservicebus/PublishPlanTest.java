@@ -0,0 +1,124 @@
+package com.myservicebus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.di.ServiceCollection;
+import com.myservicebus.di.ServiceProvider;
+import com.myservicebus.serialization.MessageSerializer;
+import com.myservicebus.tasks.CancellationToken;
+import com.myservicebus.topology.TopologyRegistry;
+
+class PublishPlanTest {
+    static class OrderPlaced {
+    }
+
+    static class CountingTransportFactory implements TransportFactory {
+        final AtomicInteger addressLookups = new AtomicInteger();
+
+        @Override
+        public SendTransport getSendTransport(URI address) {
+            return (data, headers, contentType) -> { };
+        }
+
+        @Override
+        public String getPublishAddress(String exchange) {
+            addressLookups.incrementAndGet();
+            return "loopback://localhost/exchange/" + exchange;
+        }
+
+        @Override
+        public String getSendAddress(String queue) {
+            return "loopback://localhost/" + queue;
+        }
+    }
+
+    private static SendEndpoint recordingEndpoint(List<URI> destinations) {
+        return new SendEndpoint() {
+            @Override
+            public <T> CompletableFuture<Void> send(T message, CancellationToken cancellationToken) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public CompletableFuture<Void> send(SendContext context) {
+                destinations.add(context.getDestinationAddress());
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+    }
+
+    private static MessageBusImpl createBus(CountingTransportFactory factory, SendEndpoint endpoint,
+            AtomicInteger endpointLookups) {
+        ServiceCollection services = ServiceCollection.create();
+        services.addSingleton(TransportFactory.class, sp -> () -> factory);
+        services.addSingleton(TopologyRegistry.class, sp -> () -> new TopologyRegistry());
+        services.addSingleton(TransportSendEndpointProvider.class, sp -> () -> new TransportSendEndpointProvider() {
+            @Override
+            public SendEndpoint getSendEndpoint(String uri) {
+                return endpoint;
+            }
+
+            @Override
+            public TransportSendEndpointProvider withSerializer(MessageSerializer serializer) {
+                return this;
+            }
+        });
+        services.addSingleton(SendEndpointProvider.class, sp -> () -> uri -> {
+            endpointLookups.incrementAndGet();
+            return endpoint;
+        });
+        services.addSingleton(PublishPipe.class, sp -> () -> new PublishPipe(ctx -> CompletableFuture.completedFuture(null)));
+        ServiceProvider provider = services.buildServiceProvider();
+        return new MessageBusImpl(provider);
+    }
+
+    @Test
+    void resolvesDestinationAndEndpointOncePerMessageType() throws Exception {
+        CountingTransportFactory factory = new CountingTransportFactory();
+        AtomicInteger endpointLookups = new AtomicInteger();
+        List<URI> destinations = new CopyOnWriteArrayList<>();
+
+        MessageBusImpl bus = createBus(factory, recordingEndpoint(destinations), endpointLookups);
+        bus.start();
+        try {
+            bus.publish(new OrderPlaced()).join();
+            bus.publish(new OrderPlaced()).join();
+        } finally {
+            bus.stop();
+        }
+
+        assertEquals(1, factory.addressLookups.get());
+        assertEquals(1, endpointLookups.get());
+        URI expected = URI.create("loopback://localhost/exchange/" + EntityNameFormatter.format(OrderPlaced.class));
+        assertEquals(List.of(expected, expected), destinations);
+    }
+
+    @Test
+    void resolvesDestinationAgainWhenEntityNameFormatterChanges() throws Exception {
+        CountingTransportFactory factory = new CountingTransportFactory();
+        List<URI> destinations = new CopyOnWriteArrayList<>();
+        MessageEntityNameFormatter original = EntityNameFormatter.getFormatter();
+
+        MessageBusImpl bus = createBus(factory, recordingEndpoint(destinations), new AtomicInteger());
+        bus.start();
+        try {
+            bus.publish(new OrderPlaced()).join();
+            EntityNameFormatter.setFormatter(type -> "renamed-" + type.getSimpleName());
+            bus.publish(new OrderPlaced()).join();
+        } finally {
+            EntityNameFormatter.setFormatter(original);
+            bus.stop();
+        }
+
+        assertEquals(2, factory.addressLookups.get());
+        assertEquals(URI.create("loopback://localhost/exchange/renamed-OrderPlaced"), destinations.get(1));
+    }
+}
@@ -10,6 +10,9 @@ import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Test;
 
+import com.myservicebus.serialization.CompressingMessageSerializer;
+import com.myservicebus.serialization.MessageCompressionSettings;
+import com.myservicebus.serialization.MessageCompressor;
 import com.myservicebus.serialization.MessageSerializer;
 import com.myservicebus.serialization.MessageEnvelopeMode;
 import com.myservicebus.serialization.MessageSerializationContext;
@@ -87,17 +90,21 @@ class ReceiveEndpointSerializerTest {
         @Override public String getSendAddress(String queue) { return "loopback://" + queue; }
     }
 
-    @Test
-    void handler_uses_custom_serializer() throws Exception {
+    private static ServiceCollection services(StubTransportFactory factory, StubProvider provider) {
         ServiceCollection services = ServiceCollection.create();
-        StubTransportFactory factory = new StubTransportFactory();
-        StubProvider provider = new StubProvider();
         services.addSingleton(TransportFactory.class, sp -> () -> factory);
         services.addSingleton(TransportSendEndpointProvider.class, sp -> () -> provider);
         services.addSingleton(PublishPipe.class, sp -> () -> new PublishPipe(ctx -> CompletableFuture.completedFuture(null)));
         services.addSingleton(ConsumeContextProvider.class, sp -> () -> new ConsumeContextProvider());
         services.addSingleton(SendEndpointProvider.class, sp -> () -> new SendEndpointProviderImpl(sp.getService(ConsumeContextProvider.class), sp.getService(TransportSendEndpointProvider.class)));
-        ServiceProvider sp = services.buildServiceProvider();
+        return services;
+    }
+
+    @Test
+    void handler_uses_custom_serializer() throws Exception {
+        StubTransportFactory factory = new StubTransportFactory();
+        StubProvider provider = new StubProvider();
+        ServiceProvider sp = services(factory, provider).buildServiceProvider();
         MessageBusImpl bus = new MessageBusImpl(sp);
 
         bus.addHandler("input", InputMessage.class, "input", ctx -> {
@@ -113,4 +120,21 @@ class ReceiveEndpointSerializerTest {
 
         assertEquals("application/custom", provider.contentType);
     }
+
+    @Test
+    void handler_serializer_is_compressed_when_configured() throws Exception {
+        StubTransportFactory factory = new StubTransportFactory();
+        StubProvider provider = new StubProvider();
+        ServiceCollection services = services(factory, provider);
+        services.addSingleton(MessageCompressionSettings.class,
+                sp -> () -> new MessageCompressionSettings(MessageCompressor.GZIP, 1024));
+        MessageBusImpl bus = new MessageBusImpl(services.buildServiceProvider());
+
+        HandlerOptions options = new HandlerOptions();
+        options.setSerializer(new CustomSerializer());
+        bus.addHandler("input", InputMessage.class, "input", ctx -> CompletableFuture.completedFuture(null), options);
+
+        assertInstanceOf(CompressingMessageSerializer.class, provider.serializer);
+        assertEquals("application/custom", provider.serializer.getContentType());
+    }
 }
@@ -20,7 +20,7 @@ class TransportCapabilityTest {
         assertEquals("rabbitmq", descriptor.transport());
         assertEquals(TransportCapabilitySupport.NATIVE, descriptor.get(TransportCapabilities.DIRECTED_SEND));
         assertEquals(TransportCapabilitySupport.EMULATED, descriptor.get(TransportCapabilities.RETRY));
-        assertEquals(TransportCapabilitySupport.UNSUPPORTED, descriptor.get(TransportCapabilities.REDELIVERY));
+        assertEquals(TransportCapabilitySupport.EMULATED, descriptor.get(TransportCapabilities.REDELIVERY));
         assertEquals(TransportCapabilitySupport.UNSUPPORTED, descriptor.get(TransportCapabilities.REPLAY));
         assertEquals(TransportCapabilitySupport.UNSUPPORTED, descriptor.get("unknownCapability"));
     }
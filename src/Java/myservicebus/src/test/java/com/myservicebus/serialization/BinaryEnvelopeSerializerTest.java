@@ -0,0 +1,70 @@
+package com.myservicebus.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.HostInfoProvider;
+import com.myservicebus.TransportMessage;
+
+public class BinaryEnvelopeSerializerTest {
+    public static class TestMessage {
+        public String text;
+    }
+
+    private static void assertRoundTrip(MessageSerializer serializer) throws Exception {
+        TestMessage message = new TestMessage();
+        message.text = "hi";
+        MessageSerializationContext<TestMessage> context = new MessageSerializationContext<>(message);
+        context.setHeaders(new HashMap<>());
+        context.setMessageId(UUID.randomUUID());
+        context.setCorrelationId(UUID.randomUUID());
+        context.setMessageType(List.of("urn:message:Test"));
+        context.setSentTime(OffsetDateTime.now());
+        context.setHostInfo(HostInfoProvider.capture());
+
+        byte[] body = serializer.serialize(context);
+        assertEquals(serializer.getContentType(), context.getHeaders().get("content_type"));
+
+        Map<String, Object> headers = new HashMap<>(context.getHeaders());
+        InboundMessage inbound = new DefaultInboundMessageResolver(new EnvelopeMessageDeserializer())
+                .resolve(new TransportMessage(body, headers));
+
+        assertEquals(serializer.getContentType(), inbound.getContentType());
+        assertEquals("urn:message:Test", inbound.getMessageType());
+        assertEquals(context.getCorrelationId(), inbound.getCorrelationId());
+        TestMessage result = inbound.getMessage(TestMessage.class);
+        assertEquals("hi", result.text);
+    }
+
+    @Test
+    public void cborRoundTrips() throws Exception {
+        assertRoundTrip(new CborMessageSerializer());
+    }
+
+    @Test
+    public void smileRoundTrips() throws Exception {
+        assertRoundTrip(new SmileMessageSerializer());
+    }
+
+    @Test
+    public void messagePackRoundTrips() throws Exception {
+        assertRoundTrip(new MessagePackMessageSerializer());
+    }
+
+    @Test
+    public void unknownContentTypeIsRejected() {
+        DefaultInboundMessageResolver resolver = new DefaultInboundMessageResolver(new EnvelopeMessageDeserializer());
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("content_type", "application/xml");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> resolver.resolve(new TransportMessage(new byte[0], headers)));
+    }
+}
@@ -0,0 +1,103 @@
+package com.myservicebus.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.myservicebus.HostInfoProvider;
+import com.myservicebus.TransportMessage;
+
+public class CompressingMessageSerializerTest {
+    public static class TestMessage {
+        public String text;
+    }
+
+    private static MessageSerializationContext<TestMessage> context(String text) {
+        TestMessage message = new TestMessage();
+        message.text = text;
+        MessageSerializationContext<TestMessage> context = new MessageSerializationContext<>(message);
+        context.setHeaders(new HashMap<>());
+        context.setMessageId(UUID.randomUUID());
+        context.setMessageType(List.of("urn:message:Test"));
+        context.setSentTime(OffsetDateTime.now());
+        context.setHostInfo(HostInfoProvider.capture());
+        return context;
+    }
+
+    private static TestMessage receive(byte[] body, Map<String, Object> headers) throws Exception {
+        InboundMessage inbound = new DefaultInboundMessageResolver(new EnvelopeMessageDeserializer())
+                .resolve(new TransportMessage(body, new HashMap<>(headers)));
+        return inbound.getMessage(TestMessage.class);
+    }
+
+    @Test
+    public void smallBodiesAreNotCompressed() throws Exception {
+        MessageSerializer serializer = new CompressingMessageSerializer(new EnvelopeMessageSerializer(),
+                MessageCompressor.GZIP, 64 * 1024);
+        MessageSerializationContext<TestMessage> context = context("hi");
+        context.getHeaders().put("content_encoding", "gzip");
+
+        byte[] body = serializer.serialize(context);
+
+        assertFalse(context.getHeaders().containsKey("content_encoding"));
+        assertEquals('{', body[0]);
+        assertEquals("hi", receive(body, context.getHeaders()).text);
+    }
+
+    @Test
+    public void largeBodiesRoundTripWithGzip() throws Exception {
+        MessageSerializer serializer = new CompressingMessageSerializer(new EnvelopeMessageSerializer(),
+                MessageCompressor.GZIP, 1024);
+        String text = "x".repeat(32 * 1024);
+        MessageSerializationContext<TestMessage> context = context(text);
+
+        byte[] body = serializer.serialize(context);
+
+        assertEquals("gzip", context.getHeaders().get("content_encoding"));
+        assertEquals(DefaultInboundMessageResolver.ENVELOPE_CONTENT_TYPE, context.getHeaders().get("content_type"));
+        assertTrue(body.length < text.length());
+        assertEquals(text, receive(body, context.getHeaders()).text);
+    }
+
+    @Test
+    public void largeBodiesRoundTripWithDeflate() throws Exception {
+        MessageSerializer serializer = new CompressingMessageSerializer(new RawJsonMessageSerializer(),
+                MessageCompressor.DEFLATE, 0);
+        MessageSerializationContext<TestMessage> context = context("y".repeat(4096));
+
+        byte[] body = serializer.serialize(context);
+
+        assertEquals("deflate", context.getHeaders().get("content_encoding"));
+        assertEquals("y".repeat(4096), receive(body, context.getHeaders()).text);
+    }
+
+    @Test
+    public void unknownEncodingIsRejected() {
+        Map<String, Object> headers = Map.of("content_type", DefaultInboundMessageResolver.ENVELOPE_CONTENT_TYPE,
+                "content_encoding", "br");
+
+        assertThrows(IllegalArgumentException.class, () -> receive(new byte[] { 1 }, headers));
+    }
+
+    @Test
+    public void bodiesInflatingBeyondTheLimitAreRejected() throws Exception {
+        MessageSerializer serializer = new CompressingMessageSerializer(new EnvelopeMessageSerializer(),
+                MessageCompressor.GZIP, 0);
+        MessageSerializationContext<TestMessage> context = context("z".repeat(256 * 1024));
+        byte[] body = serializer.serialize(context);
+        MessageDeserializerRegistry registry = MessageDeserializerRegistry.createDefault(new EnvelopeMessageDeserializer())
+                .setMaxDecompressedBytes(64 * 1024);
+        DefaultInboundMessageResolver resolver = new DefaultInboundMessageResolver(registry,
+                MassTransitHeaderConvention.INSTANCE, SerializationRuntime.shared());
+
+        assertTrue(body.length < 64 * 1024);
+        assertThrows(IllegalArgumentException.class,
+                () -> resolver.resolve(new TransportMessage(body, new HashMap<>(context.getHeaders()))));
+    }
+}
@@ -0,0 +1,29 @@
+package com.myservicebus.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class EnvelopeMessageTypeReaderTest {
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void readsFirstMessageTypeAfterNestedFields() throws Exception {
+        byte[] body = json("{\"messageId\":\"1\",\"message\":{\"messageType\":[\"urn:message:Inner\"]},"
+                + "\"messageType\":[\"urn:message:Tests:Outer\",\"urn:message:Tests:Base\"]}");
+
+        assertEquals("urn:message:Tests:Outer", EnvelopeMessageTypeReader.readMessageType(body));
+    }
+
+    @Test
+    void returnsNullWhenTypeIsMissing() throws Exception {
+        assertNull(EnvelopeMessageTypeReader.readMessageType(json("{\"message\":{}}")));
+        assertNull(EnvelopeMessageTypeReader.readMessageType(json("{\"messageType\":[]}")));
+        assertNull(EnvelopeMessageTypeReader.readMessageType(json("[]")));
+        assertNull(EnvelopeMessageTypeReader.readMessageType(new byte[0]));
+    }
+}
@@ -0,0 +1,45 @@
+package com.myservicebus.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myservicebus.HostInfo;
+import com.myservicebus.HostInfoProvider;
+
+class HostInfoModuleTest {
+    static class TestMessage {
+        public String text;
+    }
+
+    @Test
+    void envelopeHostMatchesPlainSerialization() throws Exception {
+        EnvelopeMessageSerializer serializer = new EnvelopeMessageSerializer();
+        TestMessage message = new TestMessage();
+        message.text = "hi";
+        MessageSerializationContext<TestMessage> context = new MessageSerializationContext<>(message);
+        context.setHeaders(new HashMap<>());
+        context.setHostInfo(HostInfoProvider.capture());
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode envelope = mapper.readTree(serializer.serialize(context));
+
+        assertEquals(mapper.valueToTree(HostInfoProvider.capture()), envelope.get("host"));
+        assertEquals("hi", envelope.get("message").get("text").asText());
+    }
+
+    @Test
+    void otherHostInfoIsSerializedNormally() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new HostInfoModule());
+        HostInfo host = new HostInfo("remote", "proc", 7, "app", "1.0", "17", "1.0", "linux");
+
+        JsonNode json = mapper.readTree(mapper.writeValueAsBytes(host));
+
+        assertEquals("remote", json.get("machineName").asText());
+        assertEquals(7, json.get("processId").asInt());
+    }
+}
@@ -24,4 +24,18 @@ public class RawJsonMessageSerializerTest {
         assertTrue(json.contains("\"text\":\"hi\""));
         assertEquals("application/json", context.getHeaders().get("content_type"));
     }
+
+    @Test
+    public void removesStaleContentEncoding() throws Exception {
+        RawJsonMessageSerializer serializer = new RawJsonMessageSerializer();
+        TestMessage message = new TestMessage();
+        message.text = "hi";
+        MessageSerializationContext<TestMessage> context = new MessageSerializationContext<>(message);
+        context.setHeaders(new HashMap<>());
+        context.getHeaders().put("content_encoding", "gzip");
+
+        serializer.serialize(context);
+
+        assertFalse(context.getHeaders().containsKey("content_encoding"));
+    }
 }
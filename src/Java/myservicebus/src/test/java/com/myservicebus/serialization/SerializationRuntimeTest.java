@@ -0,0 +1,40 @@
+package com.myservicebus.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.myservicebus.Envelope;
+
+public class SerializationRuntimeTest {
+    public static class TestMessage {
+        public String text;
+    }
+
+    @Test
+    public void cachesReadersAndWritersPerType() {
+        SerializationRuntime runtime = new SerializationRuntime(SerializationRuntime.createMapper());
+
+        assertSame(runtime.reader(TestMessage.class), runtime.reader(TestMessage.class));
+        assertSame(runtime.envelopeReader(TestMessage.class), runtime.envelopeReader(TestMessage.class));
+        assertSame(runtime.writer(Envelope.class), runtime.writer(Envelope.class));
+        assertSame(runtime.envelopeType(new TypeReference<List<TestMessage>>() {}.getType()),
+                runtime.envelopeType(new TypeReference<List<TestMessage>>() {}.getType()));
+    }
+
+    @Test
+    public void envelopeReaderBindsTypedMessage() throws Exception {
+        SerializationRuntime runtime = SerializationRuntime.shared();
+        byte[] json = "{\"messageType\":[\"urn:message:Test\"],\"message\":{\"text\":\"hi\"}}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        Envelope<TestMessage> envelope = runtime.envelopeReader(TestMessage.class).readValue(json);
+
+        assertEquals("hi", envelope.getMessage().text);
+        assertEquals(List.of("urn:message:Test"), envelope.getMessageType());
+    }
+}